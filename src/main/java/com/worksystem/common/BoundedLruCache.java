@@ -0,0 +1,176 @@
+package com.worksystem.common;
+
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.BiFunction;
+import java.util.function.Predicate;
+import java.util.function.UnaryOperator;
+
+/**
+ * 최대 건수 LRU 캐시 (노드별 근거리 캐시 공용) — access-order LinkedHashMap + 인스턴스 잠금
+ *
+ * - maxSize 이하로 유지하고 넘치면 가장 오래 안 쓴 항목을 버린다. maxSize <= 0이면 캐시 끔(put 무시).
+ * - 적중/미스/용량 초과 제거/무효화 수를 LongAdder로 집계해 getStats()로 내보낸다.
+ * - 만료(TTL)·버전 같은 유효성은 값 쪽에서 판단해 get(key, valid)로 넘긴다 — 무효면 제거 후 미스.
+ * - invalidate*: 지금 제거하고, 트랜잭션 안이면 커밋 직후 한 번 더 제거한다
+ *   (커밋 전에 다른 스레드가 옛 값을 다시 적재하는 경합 방지).
+ * 잠금 구간은 맵 조작뿐이다 — DB 조회 등은 호출자가 잠금 밖에서 하고 결과만 put한다.
+ */
+public class BoundedLruCache<K, V> {
+
+    private final int maxSize;
+    private final Map<K, V> entries;
+
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+    private final LongAdder invalidations = new LongAdder();
+
+    public BoundedLruCache(int maxSize) {
+        this.maxSize = maxSize;
+        this.entries = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<K, V> eldest) {
+                if (size() > BoundedLruCache.this.maxSize) {
+                    evictions.increment();
+                    return true;
+                }
+                return false;
+            }
+        };
+    }
+
+    public boolean isEnabled() {
+        return maxSize > 0;
+    }
+
+    /** 조회 + 적중/미스 집계 */
+    public V get(K key) {
+        return get(key, v -> true);
+    }
+
+    /** 조회 + 적중/미스 집계 — valid가 false인 항목은 제거하고 미스로 본다 */
+    public V get(K key, Predicate<? super V> valid) {
+        V value;
+        synchronized (this) {
+            value = entries.get(key);
+            if (value != null && !valid.test(value)) {
+                entries.remove(key);
+                value = null;
+            }
+        }
+        if (value == null) {
+            misses.increment();
+        } else {
+            hits.increment();
+        }
+        return value;
+    }
+
+    /** 집계 없이 조회 — 호출자가 추가 검증 후 recordHit/recordMiss로 직접 집계할 때 */
+    public synchronized V peek(K key) {
+        return entries.get(key);
+    }
+
+    public void recordHit() {
+        hits.increment();
+    }
+
+    public void recordMiss() {
+        misses.increment();
+    }
+
+    public void put(K key, V value) {
+        if (!isEnabled()) {
+            return;
+        }
+        synchronized (this) {
+            entries.put(key, value);
+        }
+    }
+
+    /** 있을 때만 값 교체 — 교체 전 값 반환 (없으면 아무것도 안 하고 null) */
+    public synchronized V replace(K key, UnaryOperator<V> update) {
+        V value = entries.get(key);
+        if (value != null) {
+            entries.put(key, update.apply(value));
+        }
+        return value;
+    }
+
+    /** 전체 값 교체 (LRU 순서 유지) */
+    public synchronized void replaceAll(BiFunction<? super K, ? super V, ? extends V> update) {
+        entries.replaceAll(update);
+    }
+
+    /** 제거 (집계 없음 — 갱신/만료에 따른 내부 정리용) */
+    public synchronized V remove(K key) {
+        return entries.remove(key);
+    }
+
+    /** 무효화 — 지금 제거하고 트랜잭션 안이면 커밋 직후 한 번 더 */
+    public void invalidate(K key) {
+        removeCounted(key);
+        afterCommit(() -> removeCounted(key));
+    }
+
+    /** 조건 무효화 — invalidate와 같이 커밋 직후 한 번 더 */
+    public void invalidateIf(Predicate<? super V> filter) {
+        removeIfCounted(filter);
+        afterCommit(() -> removeIfCounted(filter));
+    }
+
+    /** 전체 무효화 — invalidate와 같이 커밋 직후 한 번 더 */
+    public void invalidateAll() {
+        removeIfCounted(v -> true);
+        afterCommit(() -> removeIfCounted(v -> true));
+    }
+
+    public synchronized int size() {
+        return entries.size();
+    }
+
+    /** 모니터링용 통계 (size/maxSize/hits/misses/hitRatio/evictions/invalidations) */
+    public Map<String, Object> getStats() {
+        int size = size();
+        long hitCount = hits.sum();
+        long missCount = misses.sum();
+        long total = hitCount + missCount;
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("size", size);
+        stats.put("maxSize", maxSize);
+        stats.put("hits", hitCount);
+        stats.put("misses", missCount);
+        stats.put("hitRatio", total == 0 ? 0.0 : (double) hitCount / total);
+        stats.put("evictions", evictions.sum());
+        stats.put("invalidations", invalidations.sum());
+        return stats;
+    }
+
+    private synchronized void removeCounted(K key) {
+        if (entries.remove(key) != null) {
+            invalidations.increment();
+        }
+    }
+
+    private synchronized void removeIfCounted(Predicate<? super V> filter) {
+        int before = entries.size();
+        entries.values().removeIf(filter);
+        invalidations.add(before - entries.size());
+    }
+
+    private static void afterCommit(Runnable action) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    action.run();
+                }
+            });
+        }
+    }
+}
@@ -0,0 +1,48 @@
+package com.worksystem.common;
+
+import java.io.IOException;
+import java.io.Writer;
+
+/**
+ * CSV 출력 유틸 (RFC 4180 — 이력 내보내기용)
+ */
+public final class CsvUtils {
+
+    private CsvUtils() {
+    }
+
+    /**
+     * 한 행 기록 — 구분자/따옴표/줄바꿈이 있는 값은 따옴표로 감싸고, 값 안의 따옴표는 두 번 쓴다.
+     *
+     * 수식 주입 방지: =, +, -, @, 탭, CR로 시작하는 값은 앞에 작은따옴표를 붙인다
+     * (실패 이력의 사용자 ID/User-Agent는 공격자 입력이라 엑셀에서 열면 수식으로 실행될 수 있음).
+     */
+    public static void writeRow(Writer out, Object... values) throws IOException {
+        for (int i = 0; i < values.length; i++) {
+            if (i > 0) {
+                out.write(',');
+            }
+            writeValue(out, values[i]);
+        }
+        out.write("\r\n");
+    }
+
+    private static void writeValue(Writer out, Object value) throws IOException {
+        if (value == null) {
+            return;
+        }
+        String text = value.toString();
+        if (!text.isEmpty() && "=+-@\t\r".indexOf(text.charAt(0)) >= 0) {
+            text = "'" + text;
+        }
+        boolean quote = text.indexOf(',') >= 0 || text.indexOf('"') >= 0
+                || text.indexOf('\n') >= 0 || text.indexOf('\r') >= 0;
+        if (!quote) {
+            out.write(text);
+            return;
+        }
+        out.write('"');
+        out.write(text.replace("\"", "\"\""));
+        out.write('"');
+    }
+}
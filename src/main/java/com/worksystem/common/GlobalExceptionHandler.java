@@ -19,6 +19,7 @@ import java.util.NoSuchElementException;
  * - NoSuchElementException    → 404 (대상 없음)
  * - IllegalStateException     → 500 (처리 실패. 메시지 그대로 노출)
  * - MethodArgumentNotValidException → 400 (@Valid 검증 실패. 첫 필드 오류 메시지)
+ * - PasswordHashingBusyException → 503 (해시 풀 포화. 잠시 후 재시도)
  * - 그 외 Exception           → 500 (내부 메시지 노출하지 않음)
  *
  * @RestController 가 붙은 컨트롤러만 대상 (Thymeleaf 페이지 컨트롤러는 제외).
@@ -114,6 +115,16 @@ public class GlobalExceptionHandler {
         return ApiResponse.error(e.getMessage() != null ? e.getMessage() : "접근 권한이 없습니다.");
     }
 
+    /**
+     * 비밀번호 해시 풀 포화 (503) — 비밀번호 변경/초기화가 로그인 폭주와 겹친 경우. 재시도 가능한 일시 오류.
+     */
+    @ExceptionHandler(com.worksystem.config.PasswordHashingBusyException.class)
+    @ResponseStatus(HttpStatus.SERVICE_UNAVAILABLE)
+    public ApiResponse<Void> handlePasswordHashingBusy(com.worksystem.config.PasswordHashingBusyException e) {
+        log.warn("비밀번호 해시 풀 포화: {}", e.getMessage());
+        return ApiResponse.error(e.getMessage());
+    }
+
     @ExceptionHandler(Exception.class)
     @ResponseStatus(HttpStatus.INTERNAL_SERVER_ERROR)
     public ApiResponse<Void> handleException(Exception e) {
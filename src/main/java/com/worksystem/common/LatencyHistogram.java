@@ -0,0 +1,79 @@
+package com.worksystem.common;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 고정 버킷 지연시간 히스토그램 (락 없음, 할당 없음 — 인증 경로 같은 핫패스 계측용)
+ *
+ * 버킷 경계는 ms 단위 1-2-5 계열. 백분위수는 해당 버킷의 상한값으로 근사한다
+ * (정확한 값이 아니라 "어느 구간인지"를 보는 운영 지표 용도).
+ */
+public class LatencyHistogram {
+
+    /** 버킷 상한 (ms) — 마지막 버킷은 그 이상 전부 */
+    private static final long[] BOUNDS_MS = {1, 2, 5, 10, 20, 50, 100, 200, 500, 1000, 2000, 5000, 10000};
+
+    private final LongAdder[] buckets = new LongAdder[BOUNDS_MS.length + 1];
+    private final LongAdder count = new LongAdder();
+    private final LongAdder totalNanos = new LongAdder();
+    private final AtomicLong maxNanos = new AtomicLong();
+
+    public LatencyHistogram() {
+        for (int i = 0; i < buckets.length; i++) {
+            buckets[i] = new LongAdder();
+        }
+    }
+
+    /** 경과시간 기록 (System.nanoTime() 차이) */
+    public void record(long nanos) {
+        if (nanos < 0) {
+            return;
+        }
+        long millis = nanos / 1_000_000L;
+        int idx = 0;
+        while (idx < BOUNDS_MS.length && millis >= BOUNDS_MS[idx]) {
+            idx++;
+        }
+        buckets[idx].increment();
+        count.increment();
+        totalNanos.add(nanos);
+        maxNanos.accumulateAndGet(nanos, Math::max);
+    }
+
+    public long getCount() {
+        return count.sum();
+    }
+
+    /** 백분위수 근사값 (ms, 버킷 상한) — 표본 없으면 0 */
+    public long percentileMillis(double percentile) {
+        long total = count.sum();
+        if (total == 0) {
+            return 0;
+        }
+        long threshold = (long) Math.ceil(total * percentile / 100.0);
+        long seen = 0;
+        for (int i = 0; i < buckets.length; i++) {
+            seen += buckets[i].sum();
+            if (seen >= threshold) {
+                return i < BOUNDS_MS.length ? BOUNDS_MS[i] : maxNanos.get() / 1_000_000L;
+            }
+        }
+        return maxNanos.get() / 1_000_000L;
+    }
+
+    /** 모니터링 응답용 요약 (count/avg/p50/p95/p99/max, ms) */
+    public Map<String, Object> snapshot() {
+        long total = count.sum();
+        Map<String, Object> result = new LinkedHashMap<>();
+        result.put("count", total);
+        result.put("avgMs", total == 0 ? 0.0 : totalNanos.sum() / 1_000_000.0 / total);
+        result.put("p50Ms", percentileMillis(50));
+        result.put("p95Ms", percentileMillis(95));
+        result.put("p99Ms", percentileMillis(99));
+        result.put("maxMs", maxNanos.get() / 1_000_000.0);
+        return result;
+    }
+}
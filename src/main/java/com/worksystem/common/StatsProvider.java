@@ -0,0 +1,16 @@
+package com.worksystem.common;
+
+import java.util.Map;
+
+/**
+ * 모니터링 통계 제공자 — MonitorController가 빈 목록을 모아 GET /api/monitor/{이름}으로 노출한다.
+ * 통계를 내는 컴포넌트는 이 인터페이스만 구현하면 되고 컨트롤러에 엔드포인트를 추가하지 않는다.
+ */
+public interface StatsProvider {
+
+    /** URL 경로에 쓰는 이름 (kebab-case, 노드 안에서 유일) */
+    String getStatsName();
+
+    /** 프로세스(노드) 단위 카운터/상태 */
+    Map<String, Object> getStats();
+}
@@ -0,0 +1,453 @@
+package com.worksystem.config;
+
+import com.worksystem.common.BoundedLruCache;
+import com.worksystem.mapper.SessionCacheMapper;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.session.FindByIndexNameSessionRepository;
+import org.springframework.session.MapSession;
+import org.springframework.session.Session;
+import org.springframework.session.events.SessionCreatedEvent;
+import org.springframework.session.events.SessionDeletedEvent;
+import org.springframework.session.events.SessionExpiredEvent;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 세션 저장소 데코레이터 — JDBC 세션(SPRING_SESSION + SPRING_SESSION_ATTRIBUTES) 앞의 노드별 근거리 캐시
+ *
+ * 기본 JDBC 저장소는 인증된 요청마다 세션 행 + 속성 BLOB을 읽고(역직렬화 포함) LAST_ACCESS_TIME을 다시 쓴다.
+ * 이 데코레이터는
+ * - 읽기: 최근 세션의 스냅샷을 최대 건수 LRU로 보관하고, 적중 시 SESSION_VERSION 한 컬럼만
+ *   조회해 재검증한다. 행이 없으면(만료/강제 만료) 즉시 무효 — 다른 노드의 deleteById도 다음 요청에 바로 반영.
+ *   버전이 다르면(다른 노드가 속성 변경) 캐시를 버리고 원 저장소에서 다시 읽는다.
+ *   스냅샷의 속성은 SessionAttributeSerializer로 직렬화한 바이트로 보관하고 요청마다 역직렬화한다 —
+ *   같은 세션의 동시 요청이 SecurityContextImpl 같은 가변 객체를 공유하지 않도록 (JDBC 저장소와 같은 격리).
+ *   쓰기 시 바뀌지 않은 속성은 기존 바이트를 재사용한다.
+ * - 쓰기: 속성/만료 간격 변경, 세션 ID 변경, 신규 세션만 원 저장소로 즉시 저장하고 버전을 갱신한다.
+ *   접근 시각만 바뀐 요청은 메모리에만 반영하고, 마지막으로 DB에 쓴 뒤 access-write-interval이 지난 경우에만
+ *   버퍼에 올려 flush 주기마다 UPDATE 한 문장으로 일괄 반영한다 (세션당 최대 interval당 1회 쓰기).
+ *
+ * 세션 이벤트: 생성(SessionCreatedEvent), 속성/ID 변경·접근 시각 반영(SessionChangedEvent),
+ * 삭제(SessionDeletedEvent — 다른 노드 삭제를 재검증에서 발견한 경우 포함), 만료 발견(SessionExpiredEvent)을 발행한다.
+ * JDBC 저장소 자체는 이벤트를 내지 않으므로, 캐시를 끄면(session-cache.enabled=false) 이벤트도 없다.
+ *
+ * 트레이드오프: DB의 EXPIRY_TIME이 실제보다 최대 (access-write-interval + flush 주기)만큼 이를 수 있다.
+ * 만료 정리 배치가 그만큼 일찍 세션을 지울 수 있으므로 interval은 세션 타임아웃보다 충분히 짧게 둘 것.
+ */
+@Slf4j
+public class CachingSessionRepository<S extends Session>
+        implements FindByIndexNameSessionRepository<CachingSessionRepository<S>.CachedSession> {
+
+    private static final int FLUSH_CHUNK_SIZE = 500;
+
+    private final FindByIndexNameSessionRepository<S> delegate;
+    private final SessionCacheMapper sessionCacheMapper;
+    private final SessionAttributeSerializer serializer;
+    private final ApplicationEventPublisher eventPublisher;
+    private final long accessWriteIntervalMillis;
+    private final BoundedLruCache<String, Entry> cache;
+
+    // sessionId → 반영 대기 중인 접근 시각
+    private final Map<String, Touch> pendingTouches = new ConcurrentHashMap<>();
+
+    private final LongAdder staleVersions = new LongAdder();
+    private final LongAdder removedElsewhere = new LongAdder();
+    private final LongAdder attributeWrites = new LongAdder();
+    private final LongAdder touchesFlushed = new LongAdder();
+    private final LongAdder touchesCoalesced = new LongAdder();
+    private final LongAdder attributesEncoded = new LongAdder();
+    private final LongAdder attributesReused = new LongAdder();
+    private final LongAdder decodeFailures = new LongAdder();
+
+    public CachingSessionRepository(FindByIndexNameSessionRepository<S> delegate, SessionCacheMapper sessionCacheMapper,
+                                    SessionAttributeSerializer serializer, ApplicationEventPublisher eventPublisher,
+                                    int maxSize, long accessWriteIntervalMillis) {
+        this.delegate = delegate;
+        this.sessionCacheMapper = sessionCacheMapper;
+        this.serializer = serializer;
+        this.eventPublisher = eventPublisher;
+        this.accessWriteIntervalMillis = accessWriteIntervalMillis;
+        this.cache = new BoundedLruCache<>(maxSize);
+    }
+
+    @Override
+    public CachedSession createSession() {
+        S created = delegate.createSession();
+        CachedSession session = new CachedSession(new MapSession(created), created, null);
+        session.dirty = true;
+        session.created = true;
+        return session;
+    }
+
+    @Override
+    public void save(CachedSession session) {
+        String id = session.getId();
+        if (session.gone) {
+            evict(session.originalId);
+            return;
+        }
+
+        if (session.dirty) {
+            // 속성/ID/만료 간격 변경 또는 신규 — 원 저장소로 즉시 저장 후 버전 갱신
+            S target = session.delegateSession;
+            target.setLastAccessedTime(session.snapshot.getLastAccessedTime());
+            delegate.save(target);
+            long version = ThreadLocalRandom.current().nextLong();
+            sessionCacheMapper.updateVersion(id, version);
+            attributeWrites.increment();
+
+            String previousId = session.originalId;
+            if (!id.equals(previousId)) {
+                evict(previousId);
+            }
+            pendingTouches.remove(id);
+            Entry stored = encode(session, version, session.snapshot.getLastAccessedTime().toEpochMilli());
+            cache.put(id, stored);
+            if (session.created) {
+                eventPublisher.publishEvent(new SessionCreatedEvent(this, new MapSession(session.snapshot)));
+            } else {
+                eventPublisher.publishEvent(new SessionChangedEvent(this, new MapSession(session.snapshot),
+                        id.equals(previousId) ? null : previousId));
+            }
+            session.dirty = false;
+            session.created = false;
+            session.originalId = id;
+            session.source = stored;
+            session.changedAttributes.clear();
+            return;
+        }
+
+        // 접근 시각만 변경 — 메모리 반영, interval 경과 시에만 버퍼 적재
+        long lastAccess = session.snapshot.getLastAccessedTime().toEpochMilli();
+        Entry previous = cache.replace(id, entry -> entry.withLastAccessedTime(session.snapshot.getLastAccessedTime()));
+        long persistedAccess = previous == null ? 0L : previous.persistedAccess;
+        if (lastAccess - persistedAccess >= accessWriteIntervalMillis) {
+            long expiry = lastAccess + session.snapshot.getMaxInactiveInterval().toMillis();
+            pendingTouches.put(id, new Touch(lastAccess, expiry));
+            eventPublisher.publishEvent(new SessionChangedEvent(this, new MapSession(session.snapshot), null));
+        } else {
+            touchesCoalesced.increment();
+        }
+    }
+
+    @Override
+    public CachedSession findById(String id) {
+        // 적중 여부는 버전 재검증 뒤에 판단하므로 집계 없이 조회
+        Entry entry = cache.peek(id);
+        if (entry != null) {
+            Long version = sessionCacheMapper.findVersion(id);
+            if (version == null) {
+                // 다른 노드에서 만료/강제 만료 — 즉시 무효
+                removedElsewhere.increment();
+                evict(id);
+                eventPublisher.publishEvent(new SessionDeletedEvent(this, new MapSession(id)));
+                return null;
+            }
+            if (version == entry.version) {
+                if (entry.meta.isExpired()) {
+                    evict(id);
+                    delegate.deleteById(id);
+                    MapSession expired = decode(entry);
+                    eventPublisher.publishEvent(new SessionExpiredEvent(this,
+                            expired != null ? expired : new MapSession(entry.meta)));
+                    return null;
+                }
+                MapSession snapshot = decode(entry);
+                if (snapshot != null) {
+                    cache.recordHit();
+                    return new CachedSession(snapshot, null, entry);
+                }
+                // 역직렬화 실패 — 캐시를 버리고 원 저장소에서 다시 읽음
+            } else {
+                staleVersions.increment();
+            }
+            evict(id);
+        }
+
+        cache.recordMiss();
+        S loaded = delegate.findById(id);
+        if (loaded == null) {
+            return null;
+        }
+        Long version = sessionCacheMapper.findVersion(id);
+        if (version == null) {
+            return null;
+        }
+        CachedSession session = new CachedSession(new MapSession(loaded), loaded, null);
+        Entry stored = encode(session, version, loaded.getLastAccessedTime().toEpochMilli());
+        cache.put(id, stored);
+        session.source = stored;
+        return session;
+    }
+
+    /** 강제 만료/로그아웃 — 이 노드 캐시·버퍼 제거 후 원 저장소 삭제 (다른 노드는 다음 재검증에서 행 부재로 무효) */
+    @Override
+    public void deleteById(String id) {
+        evict(id);
+        delegate.deleteById(id);
+        eventPublisher.publishEvent(new SessionDeletedEvent(this, new MapSession(id)));
+    }
+
+    @Override
+    public Map<String, CachedSession> findByIndexNameAndIndexValue(String indexName, String indexValue) {
+        Map<String, S> found = delegate.findByIndexNameAndIndexValue(indexName, indexValue);
+        Map<String, CachedSession> result = new LinkedHashMap<>();
+        for (Map.Entry<String, S> e : found.entrySet()) {
+            MapSession snapshot = new MapSession(e.getValue());
+            // DB의 접근 시각은 쓰기 지연으로 늦을 수 있으므로 이 노드가 아는 최신 값을 반영
+            Entry cached = cache.peek(e.getKey());
+            if (cached != null && cached.meta.getLastAccessedTime().isAfter(snapshot.getLastAccessedTime())) {
+                snapshot.setLastAccessedTime(cached.meta.getLastAccessedTime());
+            }
+            result.put(e.getKey(), new CachedSession(snapshot, e.getValue(), null));
+        }
+        return result;
+    }
+
+    /** 버퍼에 모인 접근 시각을 일괄 반영 (SessionCacheConfig가 주기 호출, 종료 시 1회) */
+    public void flushTouches() {
+        if (pendingTouches.isEmpty()) {
+            return;
+        }
+        List<Map<String, Object>> batch = new ArrayList<>();
+        Iterator<Map.Entry<String, Touch>> it = pendingTouches.entrySet().iterator();
+        while (it.hasNext()) {
+            Map.Entry<String, Touch> e = it.next();
+            if (pendingTouches.remove(e.getKey(), e.getValue())) {
+                batch.add(Map.of(
+                        "sessionId", e.getKey(),
+                        "lastAccessTime", e.getValue().lastAccess,
+                        "expiryTime", e.getValue().expiry));
+            }
+            if (batch.size() >= FLUSH_CHUNK_SIZE) {
+                writeTouches(batch);
+                batch = new ArrayList<>();
+            }
+        }
+        if (!batch.isEmpty()) {
+            writeTouches(batch);
+        }
+    }
+
+    /** 모니터링용 통계 */
+    public Map<String, Object> getStats() {
+        Map<String, Object> stats = cache.getStats();
+        stats.put("accessWriteIntervalMs", accessWriteIntervalMillis);
+        stats.put("staleVersions", staleVersions.sum());
+        stats.put("removedElsewhere", removedElsewhere.sum());
+        stats.put("attributeWrites", attributeWrites.sum());
+        stats.put("pendingTouches", pendingTouches.size());
+        stats.put("touchesFlushed", touchesFlushed.sum());
+        stats.put("touchesCoalesced", touchesCoalesced.sum());
+        stats.put("attributesEncoded", attributesEncoded.sum());
+        stats.put("attributesReused", attributesReused.sum());
+        stats.put("decodeFailures", decodeFailures.sum());
+        return stats;
+    }
+
+    private void writeTouches(List<Map<String, Object>> batch) {
+        try {
+            sessionCacheMapper.updateAccessTimes(batch);
+            touchesFlushed.add(batch.size());
+            for (Map<String, Object> t : batch) {
+                long persisted = (Long) t.get("lastAccessTime");
+                cache.replace((String) t.get("sessionId"), entry -> entry.withPersistedAccess(persisted));
+            }
+        } catch (Exception e) {
+            // 재시도를 위해 되돌림 (그 사이 더 새 값이 들어왔으면 그 값 유지)
+            for (Map<String, Object> t : batch) {
+                pendingTouches.putIfAbsent((String) t.get("sessionId"),
+                        new Touch((Long) t.get("lastAccessTime"), (Long) t.get("expiryTime")));
+            }
+            log.warn("세션 접근 시각 일괄 반영 실패 - count: {}, error: {}", batch.size(), e.getMessage());
+        }
+    }
+
+    private void evict(String id) {
+        pendingTouches.remove(id);
+        cache.remove(id);
+    }
+
+    /** 세션 → 캐시 엔트리. 이 요청에서 바뀌지 않은 속성은 읽어 온 엔트리의 바이트를 재사용 */
+    private Entry encode(CachedSession session, long version, long persistedAccess) {
+        MapSession source = session.snapshot;
+        MapSession meta = new MapSession(source.getId());
+        meta.setCreationTime(source.getCreationTime());
+        meta.setLastAccessedTime(source.getLastAccessedTime());
+        meta.setMaxInactiveInterval(source.getMaxInactiveInterval());
+        Map<String, byte[]> attributes = new HashMap<>();
+        for (String name : source.getAttributeNames()) {
+            byte[] reused = session.source == null || session.changedAttributes.contains(name)
+                    ? null : session.source.attributes.get(name);
+            if (reused != null) {
+                attributesReused.increment();
+                attributes.put(name, reused);
+            } else {
+                attributesEncoded.increment();
+                attributes.put(name, serializer.serialize(source.getAttribute(name)));
+            }
+        }
+        return new Entry(meta, Map.copyOf(attributes), version, persistedAccess);
+    }
+
+    /** 캐시 엔트리 → 요청 전용 세션 사본. 역직렬화 실패(배포 후 클래스 변경 등)면 null — 호출자가 원 저장소에서 다시 읽음 */
+    private MapSession decode(Entry entry) {
+        MapSession session = new MapSession(entry.meta);
+        try {
+            for (Map.Entry<String, byte[]> attribute : entry.attributes.entrySet()) {
+                session.setAttribute(attribute.getKey(), serializer.deserialize(attribute.getValue()));
+            }
+        } catch (Exception e) {
+            decodeFailures.increment();
+            log.warn("세션 캐시 속성 역직렬화 실패 - sessionId: {}, error: {}", entry.meta.getId(), e.getMessage());
+            return null;
+        }
+        return session;
+    }
+
+    /**
+     * 캐시 엔트리 — 넣은 뒤 변경하지 않는다 (접근 시각 갱신도 새 엔트리로 교체).
+     * meta는 속성 없는 MapSession(ID/시각/만료 간격), 속성은 직렬화 바이트로만 보관한다.
+     */
+    private record Entry(MapSession meta, Map<String, byte[]> attributes, long version, long persistedAccess) {
+
+        Entry withLastAccessedTime(Instant lastAccessedTime) {
+            MapSession updated = new MapSession(meta);
+            updated.setLastAccessedTime(lastAccessedTime);
+            return new Entry(updated, attributes, version, persistedAccess);
+        }
+
+        Entry withPersistedAccess(long persisted) {
+            return new Entry(meta, attributes, version, persisted);
+        }
+    }
+
+    private record Touch(long lastAccess, long expiry) {
+    }
+
+    /**
+     * 요청 단위 세션 — 읽기는 스냅샷, 쓰기(속성/ID/만료 간격)는 원 저장소 세션에도 즉시 반영.
+     * 캐시 적중으로 만들어진 경우 원 저장소 세션은 첫 쓰기 시점에 로드한다(대부분의 요청은 로드 없음).
+     */
+    public final class CachedSession implements Session {
+
+        private final MapSession snapshot;
+        private final Set<String> changedAttributes = new HashSet<>();
+        private S delegateSession;
+        private Entry source;   // 읽어 온 캐시 엔트리 — 바뀌지 않은 속성의 바이트 재사용 (없으면 전부 직렬화)
+        private String originalId;
+        private boolean dirty;
+        private boolean created;
+        private boolean gone;
+
+        CachedSession(MapSession snapshot, S delegateSession, Entry source) {
+            this.snapshot = snapshot;
+            this.delegateSession = delegateSession;
+            this.source = source;
+            this.originalId = snapshot.getId();
+        }
+
+        private S materialize() {
+            if (delegateSession == null && !gone) {
+                delegateSession = delegate.findById(originalId);
+                gone = delegateSession == null;
+            }
+            return delegateSession;
+        }
+
+        @Override
+        public String getId() {
+            return snapshot.getId();
+        }
+
+        @Override
+        public String changeSessionId() {
+            S target = materialize();
+            String newId = target != null ? target.changeSessionId() : UUID.randomUUID().toString();
+            snapshot.setId(newId);
+            dirty = true;
+            return newId;
+        }
+
+        @Override
+        public <T> T getAttribute(String attributeName) {
+            return snapshot.getAttribute(attributeName);
+        }
+
+        @Override
+        public Set<String> getAttributeNames() {
+            return snapshot.getAttributeNames();
+        }
+
+        @Override
+        public void setAttribute(String attributeName, Object attributeValue) {
+            snapshot.setAttribute(attributeName, attributeValue);
+            changedAttributes.add(attributeName);
+            S target = materialize();
+            if (target != null) {
+                target.setAttribute(attributeName, attributeValue);
+            }
+            dirty = true;
+        }
+
+        @Override
+        public void removeAttribute(String attributeName) {
+            snapshot.removeAttribute(attributeName);
+            changedAttributes.add(attributeName);
+            S target = materialize();
+            if (target != null) {
+                target.removeAttribute(attributeName);
+            }
+            dirty = true;
+        }
+
+        @Override
+        public Instant getCreationTime() {
+            return snapshot.getCreationTime();
+        }
+
+        @Override
+        public void setLastAccessedTime(Instant lastAccessedTime) {
+            snapshot.setLastAccessedTime(lastAccessedTime);
+        }
+
+        @Override
+        public Instant getLastAccessedTime() {
+            return snapshot.getLastAccessedTime();
+        }
+
+        @Override
+        public void setMaxInactiveInterval(Duration interval) {
+            snapshot.setMaxInactiveInterval(interval);
+            S target = materialize();
+            if (target != null) {
+                target.setMaxInactiveInterval(interval);
+            }
+            dirty = true;
+        }
+
+        @Override
+        public Duration getMaxInactiveInterval() {
+            return snapshot.getMaxInactiveInterval();
+        }
+
+        @Override
+        public boolean isExpired() {
+            return snapshot.isExpired();
+        }
+    }
+}
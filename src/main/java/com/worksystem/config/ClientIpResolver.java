@@ -0,0 +1,82 @@
+package com.worksystem.config;
+
+import com.worksystem.common.RequestUtils;
+import jakarta.servlet.http.HttpServletRequest;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.web.util.matcher.IpAddressMatcher;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.regex.Pattern;
+
+/**
+ * 클라이언트 IP 판별 — 로그인 시도 제한/이상 징후 차단/접속 이력에 쓰는 위조 불가한 주소
+ *
+ * X-Forwarded-For는 클라이언트가 마음대로 채울 수 있으므로, 직전 홉(remoteAddr)이 신뢰 프록시일 때만 읽는다.
+ * - trusted-proxies 미설정(기본): remoteAddr만 사용 — 헤더는 무시
+ * - 설정 시: remoteAddr가 신뢰 프록시면 XFF를 오른쪽(가까운 홉)부터 훑어 신뢰 프록시가 아닌 첫 주소를 클라이언트로 본다.
+ *   신뢰 프록시가 붙인 항목만 믿으므로 클라이언트가 앞쪽에 넣은 값은 쓰이지 않는다.
+ * 리버스 프록시 뒤에서 운영하면 프록시 주소를 등록할 것 — 안 하면 모든 요청이 프록시 IP 하나로 집계된다.
+ */
+@Slf4j
+@Component
+public class ClientIpResolver {
+
+    private static final Pattern IP_LITERAL = Pattern.compile("[0-9a-fA-F:.]+");
+    private static final int MAX_LENGTH = 45;   // login_history.ip_address
+
+    private final List<IpAddressMatcher> trustedProxies = new ArrayList<>();
+
+    public ClientIpResolver(@Value("${worksystem.security.trusted-proxies:}") String trustedProxies) {
+        for (String proxy : trustedProxies.split(",")) {
+            if (!proxy.isBlank()) {
+                // 잘못된 주소/CIDR은 기동 시 IllegalArgumentException
+                this.trustedProxies.add(new IpAddressMatcher(proxy.trim()));
+            }
+        }
+        log.info("클라이언트 IP 판별 - 신뢰 프록시: {}", this.trustedProxies.isEmpty() ? "없음 (remoteAddr만 사용)" : trustedProxies);
+    }
+
+    public String resolve(HttpServletRequest request) {
+        String remoteAddr = request.getRemoteAddr();
+        if (!isTrusted(remoteAddr)) {
+            return RequestUtils.truncate(remoteAddr, MAX_LENGTH);
+        }
+        String forwarded = request.getHeader("X-Forwarded-For");
+        if (forwarded == null || forwarded.isBlank()) {
+            return RequestUtils.truncate(remoteAddr, MAX_LENGTH);
+        }
+        String[] hops = forwarded.split(",");
+        String client = remoteAddr;
+        for (int i = hops.length - 1; i >= 0; i--) {
+            String hop = hops[i].trim();
+            if (hop.isEmpty()) {
+                continue;
+            }
+            client = hop;
+            if (!isTrusted(hop)) {
+                break;
+            }
+        }
+        return RequestUtils.truncate(client, MAX_LENGTH);
+    }
+
+    private boolean isTrusted(String address) {
+        // IP 리터럴만 비교 (호스트명이면 DNS 조회가 일어나므로 신뢰하지 않음)
+        if (address == null || trustedProxies.isEmpty() || !IP_LITERAL.matcher(address).matches()) {
+            return false;
+        }
+        try {
+            for (IpAddressMatcher matcher : trustedProxies) {
+                if (matcher.matches(address)) {
+                    return true;
+                }
+            }
+        } catch (IllegalArgumentException e) {
+            // 형식만 비슷한 잘못된 주소
+        }
+        return false;
+    }
+}
@@ -0,0 +1,178 @@
+package com.worksystem.config;
+
+import com.worksystem.common.BoundedLruCache;
+import com.worksystem.common.StatsProvider;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.security.core.AuthenticatedPrincipal;
+import org.springframework.security.core.session.SessionInformation;
+import org.springframework.security.core.session.SessionRegistry;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.session.FindByIndexNameSessionRepository;
+import org.springframework.session.Session;
+
+import java.security.Principal;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Date;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 클러스터 공용 세션 레지스트리 — SPRING_SESSION(PRINCIPAL_NAME, SPRING_SESSION_IX3) 기반
+ *
+ * SessionRegistryImpl(메모리)은 노드별이라 maximumSessions(1)이 노드마다 따로 적용된다.
+ * 이 구현은 동시 세션 판단을 FindByIndexNameSessionRepository.findByPrincipalName(인덱스 조회 1회)으로 한다.
+ *
+ * - 조회 비용: 로그인 시점의 getAllSessions만 DB를 본다. 결과는 cache-ttl-ms 동안 사용자별로 보관하고
+ *   이 노드의 세션 등록/만료는 캐시에 바로 반영 — 이중 클릭 등 짧은 연속 로그인은 추가 조회 없음.
+ * - 요청마다의 검사 없음: 초과 세션 만료를 "만료 표시"가 아닌 저장소 삭제(deleteById)로 처리하므로
+ *   (접속 로그 강제 만료와 같은 방식) ConcurrentSessionFilter가 매 요청 레지스트리를 조회할 필요가 없다.
+ *   getSessionInformation은 항상 null — 밀려난 세션은 다음 요청에서 세션 부재로 로그인 화면으로 이동한다.
+ * - getAllPrincipals는 지원하지 않음(빈 목록) — 전체 세션 조회는 SessionLogService의 SPRING_SESSION 직조회 사용.
+ */
+@Slf4j
+public class ClusterSessionRegistry implements SessionRegistry, StatsProvider {
+
+    private final FindByIndexNameSessionRepository<? extends Session> sessionRepository;
+    private final long cacheTtlMillis;
+    private final BoundedLruCache<String, CachedSessions> cache;
+
+    private final LongAdder lookups = new LongAdder();
+    private final LongAdder expiredByLimit = new LongAdder();
+
+    public ClusterSessionRegistry(FindByIndexNameSessionRepository<? extends Session> sessionRepository,
+                                  long cacheTtlMillis, int maxCacheSize) {
+        this.sessionRepository = sessionRepository;
+        this.cacheTtlMillis = cacheTtlMillis;
+        this.cache = new BoundedLruCache<>(maxCacheSize);
+    }
+
+    @Override
+    public List<Object> getAllPrincipals() {
+        return Collections.emptyList();
+    }
+
+    @Override
+    public List<SessionInformation> getAllSessions(Object principal, boolean includeExpiredSessions) {
+        String name = resolvePrincipalName(principal);
+        if (name == null) {
+            return Collections.emptyList();
+        }
+        long now = System.currentTimeMillis();
+        CachedSessions cached = cache.get(name, c -> c.expiresAt >= now);
+        if (cached != null) {
+            return toInformation(principal, cached.sessions);
+        }
+
+        lookups.increment();
+        Map<String, ? extends Session> found = sessionRepository.findByPrincipalName(name);
+        List<SessionEntry> sessions = new ArrayList<>(found.size());
+        for (Session session : found.values()) {
+            if (!session.isExpired()) {
+                sessions.add(new SessionEntry(session.getId(), Date.from(session.getLastAccessedTime())));
+            }
+        }
+        cache.put(name, new CachedSessions(sessions, now + cacheTtlMillis));
+        return toInformation(principal, sessions);
+    }
+
+    /** 매 요청 검사 불필요 — 위 클래스 설명 참조 */
+    @Override
+    public SessionInformation getSessionInformation(String sessionId) {
+        return null;
+    }
+
+    /** 마지막 접근 시각은 Spring Session이 SPRING_SESSION에 직접 갱신 */
+    @Override
+    public void refreshLastRequest(String sessionId) {
+    }
+
+    @Override
+    public void registerNewSession(String sessionId, Object principal) {
+        String name = resolvePrincipalName(principal);
+        if (name == null) {
+            return;
+        }
+        cache.replace(name, cached -> {
+            List<SessionEntry> sessions = new ArrayList<>(cached.sessions);
+            sessions.add(new SessionEntry(sessionId, new Date()));
+            return new CachedSessions(sessions, cached.expiresAt);
+        });
+    }
+
+    @Override
+    public void removeSessionInformation(String sessionId) {
+        cache.replaceAll((name, cached) -> cached.without(sessionId));
+    }
+
+    @Override
+    public String getStatsName() {
+        return "session-registry";
+    }
+
+    /** 모니터링용 통계 (cache: 사용자별 세션 목록 캐시) */
+    @Override
+    public Map<String, Object> getStats() {
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("cache", cache.getStats());
+        stats.put("cacheTtlMs", cacheTtlMillis);
+        stats.put("lookups", lookups.sum());
+        stats.put("expiredByLimit", expiredByLimit.sum());
+        return stats;
+    }
+
+    private List<SessionInformation> toInformation(Object principal, List<SessionEntry> sessions) {
+        List<SessionInformation> result = new ArrayList<>(sessions.size());
+        for (SessionEntry entry : sessions) {
+            result.add(new ClusterSessionInformation(principal, entry.sessionId, entry.lastRequest));
+        }
+        return result;
+    }
+
+    // FindByIndexNameSessionRepository가 PRINCIPAL_NAME에 저장하는 값과 같은 규칙
+    private static String resolvePrincipalName(Object principal) {
+        if (principal instanceof UserDetails userDetails) {
+            return userDetails.getUsername();
+        }
+        if (principal instanceof AuthenticatedPrincipal authenticatedPrincipal) {
+            return authenticatedPrincipal.getName();
+        }
+        if (principal instanceof Principal p) {
+            return p.getName();
+        }
+        return principal != null ? principal.toString() : null;
+    }
+
+    /**
+     * 세션 정보 — expireNow()가 저장소에서 세션을 삭제한다 (모든 노드에 즉시 적용)
+     */
+    private final class ClusterSessionInformation extends SessionInformation {
+
+        ClusterSessionInformation(Object principal, String sessionId, Date lastRequest) {
+            super(principal, sessionId, lastRequest);
+        }
+
+        @Override
+        public void expireNow() {
+            super.expireNow();
+            sessionRepository.deleteById(getSessionId());
+            removeSessionInformation(getSessionId());
+            expiredByLimit.increment();
+            log.info("동시 세션 제한으로 기존 세션 만료 - sessionId: {}", getSessionId());
+        }
+    }
+
+    private record SessionEntry(String sessionId, Date lastRequest) {
+    }
+
+    private record CachedSessions(List<SessionEntry> sessions, long expiresAt) {
+
+        CachedSessions without(String sessionId) {
+            List<SessionEntry> remaining = new ArrayList<>(sessions);
+            remaining.removeIf(e -> e.sessionId.equals(sessionId));
+            return new CachedSessions(remaining, expiresAt);
+        }
+    }
+}
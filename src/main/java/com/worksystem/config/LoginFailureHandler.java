@@ -1,5 +1,8 @@
 package com.worksystem.config;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.worksystem.common.ApiResponse;
+import com.worksystem.common.RequestUtils;
 import com.worksystem.service.SessionLogService;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
@@ -18,6 +21,8 @@ import java.io.IOException;
  *
  * 미존재 ID는 DaoAuthenticationProvider의 hideUserNotFoundExceptions=true(기본값,
  * 사용자 열거 방어)로 BadCredentialsException에 통합되어 BAD_CREDENTIALS로 기록된다 (설계 §6).
+ *
+ * AJAX(JSON) 로그인은 리다이렉트 대신 ApiResponse 형태로 응답 — 401(자격 증명/비활성), 503(해시 풀 포화).
  */
 @Component
 public class LoginFailureHandler extends SimpleUrlAuthenticationFailureHandler {
@@ -25,6 +30,9 @@ public class LoginFailureHandler extends SimpleUrlAuthenticationFailureHandler {
     @Autowired
     private SessionLogService sessionLogService;
 
+    @Autowired
+    private ObjectMapper objectMapper;
+
     public LoginFailureHandler() {
         // 기존 .failureUrl("/login.html?error=true") 동작 유지
         setDefaultFailureUrl("/login.html?error=true");
@@ -36,6 +44,21 @@ public class LoginFailureHandler extends SimpleUrlAuthenticationFailureHandler {
         String attemptedUserId = request.getParameter("userId");
         sessionLogService.recordLoginFail(attemptedUserId, resolveFailReason(exception), request);
 
+        if (RequestUtils.isJsonRequest(request)) {
+            boolean busy = exception instanceof PasswordHashingBusyException;
+            response.setStatus(busy ? HttpServletResponse.SC_SERVICE_UNAVAILABLE : HttpServletResponse.SC_UNAUTHORIZED);
+            response.setContentType("application/json;charset=UTF-8");
+            objectMapper.writeValue(response.getWriter(), ApiResponse.error(busy
+                    ? "접속자가 많아 처리할 수 없습니다. 잠시 후 다시 시도해주세요."
+                    : "아이디 또는 비밀번호가 올바르지 않습니다."));
+            return;
+        }
+
+        // 해시 풀 포화 — 자격 증명 오류와 구분해 "잠시 후 다시 시도" 안내
+        if (exception instanceof PasswordHashingBusyException) {
+            getRedirectStrategy().sendRedirect(request, response, "/login.html?error=busy");
+            return;
+        }
         super.onAuthenticationFailure(request, response, exception);
     }
 
@@ -43,6 +66,9 @@ public class LoginFailureHandler extends SimpleUrlAuthenticationFailureHandler {
         if (exception instanceof DisabledException || exception instanceof LockedException) {
             return "DISABLED";
         }
+        if (exception instanceof PasswordHashingBusyException) {
+            return "BUSY";
+        }
         // BadCredentials(비밀번호 불일치 + 미존재 ID 통합) 및 기타
         return "BAD_CREDENTIALS";
     }
@@ -0,0 +1,131 @@
+package com.worksystem.config;
+
+import com.worksystem.common.LatencyHistogram;
+import com.worksystem.common.StatsProvider;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * 로그인 단계별 소요 시간 계측 — 단계마다 히스토그램(p50/p95/p99) + 느린 로그인 분해 로그
+ *
+ * LoginTimingFilter가 로그인 요청 1건의 범위를 열고(begin) 닫는다(end). 그 사이 각 계측 지점
+ * (UserService 조회, 비밀번호 해시, last_login_at 갱신, 이력 INSERT 등)이 record(phase, nanos)를 호출하면
+ * 스레드 로컬 누적값과 전역 히스토그램에 함께 기록된다.
+ * 범위 밖(Remember-Me 자동 로그인, 관리 화면의 사용자 조회 등)의 호출은 기록하지 않는다.
+ *
+ * 비밀번호 해시는 전용 풀에서 돌지만 요청 스레드가 결과를 기다리는 시간(대기열 대기 포함)으로 잰다.
+ */
+@Slf4j
+@Component
+public class LoginPhaseMetrics implements StatsProvider {
+
+    /** 계측 단계 */
+    public enum Phase {
+        USER_LOOKUP("userLookup"),          // users 조회 (findByUserId)
+        GROUP_LOOKUP("groupLookup"),        // 그룹 권한 조회 (findGroupIdsByUserId)
+        PASSWORD_VERIFY("passwordVerify"),  // BCrypt 검증 (해시 풀 대기 포함)
+        PASSWORD_REHASH("passwordRehash"),  // 강도 변경 재해시 (발생 시)
+        LAST_LOGIN_UPDATE("lastLoginUpdate"),
+        HISTORY_INSERT("historyInsert"),    // login_history 기록 (비동기 큐 적재)
+        BOOTSTRAP("bootstrap");             // JSON 로그인 부트스트랩 구성
+
+        private final String key;
+
+        Phase(String key) {
+            this.key = key;
+        }
+    }
+
+    private static final ThreadLocal<long[]> CURRENT = new ThreadLocal<>();
+
+    private final long slowThresholdNanos;
+    private final LatencyHistogram total = new LatencyHistogram();
+    private final LatencyHistogram[] phases = new LatencyHistogram[Phase.values().length];
+
+    public LoginPhaseMetrics(@Value("${worksystem.login-metrics.slow-threshold-ms:1000}") long slowThresholdMillis) {
+        this.slowThresholdNanos = slowThresholdMillis * 1_000_000L;
+        for (int i = 0; i < phases.length; i++) {
+            phases[i] = new LatencyHistogram();
+        }
+    }
+
+    /** 로그인 요청 범위 시작 */
+    public void begin() {
+        CURRENT.set(new long[Phase.values().length]);
+    }
+
+    /**
+     * 단계 소요 시간 기록 — 로그인 범위 안에서만 유효 (같은 단계가 여러 번이면 합산)
+     */
+    public void record(Phase phase, long nanos) {
+        long[] current = CURRENT.get();
+        if (current == null) {
+            return;
+        }
+        current[phase.ordinal()] += nanos;
+        phases[phase.ordinal()].record(nanos);
+    }
+
+    /**
+     * 로그인 요청 범위 종료 — 전체 시간 기록, 임계값 초과 시 단계별 분해를 WARN 로그로 남김.
+     * 인증까지 가지 않은 요청(시도 제한으로 거절 등)은 전체 시간 집계에서 제외한다.
+     */
+    public void end(String userId, long totalNanos) {
+        long[] current = CURRENT.get();
+        CURRENT.remove();
+        if (current == null || !anyRecorded(current)) {
+            return;
+        }
+        total.record(totalNanos);
+
+        if (slowThresholdNanos > 0 && totalNanos >= slowThresholdNanos) {
+            StringBuilder breakdown = new StringBuilder();
+            long accounted = 0;
+            for (Phase phase : Phase.values()) {
+                long nanos = current[phase.ordinal()];
+                if (nanos > 0) {
+                    breakdown.append(", ").append(phase.key).append('=').append(toMillis(nanos)).append("ms");
+                    accounted += nanos;
+                }
+            }
+            breakdown.append(", other=").append(toMillis(Math.max(0, totalNanos - accounted))).append("ms");
+            log.warn("느린 로그인 - userId: {}, total={}ms{}", userId, toMillis(totalNanos), breakdown);
+        }
+    }
+
+    @Override
+    public String getStatsName() {
+        return "login-latency";
+    }
+
+    /** 모니터링용 통계 — 전체 + 단계별 분포 */
+    @Override
+    public Map<String, Object> getStats() {
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("slowThresholdMs", slowThresholdNanos / 1_000_000L);
+        stats.put("total", total.snapshot());
+        Map<String, Object> byPhase = new LinkedHashMap<>();
+        for (Phase phase : Phase.values()) {
+            byPhase.put(phase.key, phases[phase.ordinal()].snapshot());
+        }
+        stats.put("phases", byPhase);
+        return stats;
+    }
+
+    private static boolean anyRecorded(long[] current) {
+        for (long nanos : current) {
+            if (nanos > 0) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static long toMillis(long nanos) {
+        return nanos / 1_000_000L;
+    }
+}
@@ -1,5 +1,9 @@
 package com.worksystem.config;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.worksystem.common.ApiResponse;
+import com.worksystem.common.RequestUtils;
+import com.worksystem.service.LoginBootstrapService;
 import com.worksystem.service.SessionLogService;
 import com.worksystem.service.UserService;
 import lombok.extern.slf4j.Slf4j;
@@ -12,9 +16,17 @@ import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
 import java.io.IOException;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
 
 /**
  * 로그인 성공 시 처리하는 핸들러 — last_login_at 갱신 + 접속 이력(LOGIN) 기록
+ *
+ * 일반 폼 요청은 메인 페이지로 리다이렉트한다.
+ * AJAX(JSON) 요청은 리다이렉트 대신 부트스트랩 페이로드(사용자/메뉴/요청 enum)를 ApiResponse로 바로 응답 —
+ * enum 그룹은 enums 파라미터(콤마 구분, 예: enums=POST_TYPE,USE_YN)로 지정.
  */
 @Slf4j
 @Component
@@ -26,6 +38,18 @@ public class LoginSuccessHandler extends SavedRequestAwareAuthenticationSuccessH
     @Autowired
     private SessionLogService sessionLogService;
 
+    @Autowired
+    private LoginThrottle loginThrottle;
+
+    @Autowired
+    private LoginBootstrapService loginBootstrapService;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private LoginPhaseMetrics loginPhaseMetrics;
+
     @Override
     public void onAuthenticationSuccess(HttpServletRequest request, HttpServletResponse response,
                                       Authentication authentication) throws ServletException, IOException {
@@ -33,18 +57,60 @@ public class LoginSuccessHandler extends SavedRequestAwareAuthenticationSuccessH
         String userId = authentication.getName();
         log.info("로그인 성공 - userId: {}", userId);
 
+        // 시도 제한 userId 버킷 초기화 (오타 몇 번 후 성공한 정상 사용자가 묶이지 않도록)
+        loginThrottle.onSuccess(userId);
+
         // 마지막 로그인 시간 갱신 (실패해도 로그인 흐름은 진행)
+        long start = System.nanoTime();
         try {
             userService.updateLastLoginAt(userId);
         } catch (Exception e) {
             log.error("로그인 시간 업데이트 중 오류 - userId: {}", userId, e);
+        } finally {
+            loginPhaseMetrics.record(LoginPhaseMetrics.Phase.LAST_LOGIN_UPDATE, System.nanoTime() - start);
         }
 
         // 접속 이력 기록 (SessionLogService 내부에서 fail-open 처리)
         jakarta.servlet.http.HttpSession session = request.getSession(false);
         sessionLogService.recordLogin(userId, request, session != null ? session.getId() : null);
 
+        if (RequestUtils.isJsonRequest(request)) {
+            writeBootstrap(request, response, authentication);
+            return;
+        }
+
         // 메인 페이지로 리다이렉트
         response.sendRedirect("/");
     }
+
+    /**
+     * JSON 로그인 응답 — 부트스트랩 구성 실패 시에도 로그인은 성공이므로 redirect만 담아 응답
+     * (클라이언트는 기존처럼 개별 API로 폴백)
+     */
+    private void writeBootstrap(HttpServletRequest request, HttpServletResponse response,
+                                Authentication authentication) throws IOException {
+        Map<String, Object> data;
+        long start = System.nanoTime();
+        try {
+            data = loginBootstrapService.buildBootstrap(authentication, parseEnumGroups(request));
+        } catch (Exception e) {
+            log.error("로그인 부트스트랩 구성 실패 - userId: {}", authentication.getName(), e);
+            data = new LinkedHashMap<>();
+        } finally {
+            loginPhaseMetrics.record(LoginPhaseMetrics.Phase.BOOTSTRAP, System.nanoTime() - start);
+        }
+        data.put("redirect", "/");
+
+        response.setStatus(HttpServletResponse.SC_OK);
+        response.setContentType("application/json;charset=UTF-8");
+        objectMapper.writeValue(response.getWriter(), ApiResponse.ok("로그인되었습니다.", data));
+    }
+
+    private List<String> parseEnumGroups(HttpServletRequest request) {
+        String enums = request.getParameter("enums");
+        if (enums == null || enums.isBlank()) {
+            return List.of();
+        }
+        return Arrays.stream(enums.split(",")).map(String::trim).filter(v -> !v.isEmpty()).toList();
+    }
 }
@@ -0,0 +1,235 @@
+package com.worksystem.config;
+
+import com.worksystem.common.StatsProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.LinkedHashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 로그인 시도 제한기 — 클라이언트 IP별 / 시도 userId별 토큰 버킷 (노드별 인메모리)
+ *
+ * LoginThrottleFilter가 인증 필터보다 먼저 호출한다. 한도를 넘은 시도는 BCrypt 검증과
+ * login_history INSERT 없이 즉시 거절되므로, 크리덴셜 스터핑 폭주의 비용이 카운터 증가 1회로 줄어든다.
+ *
+ * - 버킷: capacity개 토큰, window-seconds 동안 capacity개가 선형 보충 (시도 1회 = 토큰 1개)
+ * - 로그인 성공 시 해당 userId 버킷은 초기화 (정상 사용자가 오타 몇 번으로 묶이지 않도록)
+ * - 메모리 상한: 스트라이프(락 분할)별 LRU — 전체 max-entries 초과 시 가장 오래 안 쓰인 키부터 제거.
+ *   제거된 키는 가득 찬 버킷으로 다시 시작하므로, 상한은 정상 부하보다 넉넉하게 둘 것.
+ * - IP는 사무실 NAT 뒤 다수 사용자가 공유하므로 userId보다 한도를 크게 잡는다.
+ * - block(): 이상 징후 탐지(LoginAnomalyDetector) 경보 시 IP 버킷을 음수로 내려 일정 시간 차단.
+ */
+@Component
+public class LoginThrottle implements StatsProvider {
+
+    private static final int STRIPES = 64;
+
+    private final boolean enabled;
+    private final Limiter ipLimiter;
+    private final Limiter userLimiter;
+
+    private final LongAdder allowed = new LongAdder();
+    private final LongAdder throttledByIp = new LongAdder();
+    private final LongAdder throttledByUser = new LongAdder();
+    private final LongAdder blocks = new LongAdder();
+
+    public LoginThrottle(@Value("${worksystem.login-throttle.enabled:true}") boolean enabled,
+                         @Value("${worksystem.login-throttle.ip.capacity:300}") int ipCapacity,
+                         @Value("${worksystem.login-throttle.ip.window-seconds:60}") long ipWindowSeconds,
+                         @Value("${worksystem.login-throttle.user.capacity:10}") int userCapacity,
+                         @Value("${worksystem.login-throttle.user.window-seconds:300}") long userWindowSeconds,
+                         @Value("${worksystem.login-throttle.max-entries:100000}") int maxEntries) {
+        this.enabled = enabled;
+        this.ipLimiter = new Limiter(ipCapacity, ipWindowSeconds, maxEntries);
+        this.userLimiter = new Limiter(userCapacity, userWindowSeconds, maxEntries);
+    }
+
+    /** 거절 사유 — null이면 허용 */
+    public enum Rejection { IP, USER }
+
+    /**
+     * 시도 1회 허용 여부 판단 (토큰 소비). IP를 먼저 보고, 통과한 경우에만 userId 토큰을 소비한다.
+     */
+    public Rejection tryAcquire(String clientIp, String userId) {
+        if (!enabled) {
+            return null;
+        }
+        long now = System.nanoTime();
+        if (clientIp != null && !ipLimiter.tryAcquire(clientIp, now)) {
+            throttledByIp.increment();
+            return Rejection.IP;
+        }
+        String userKey = normalizeUserId(userId);
+        if (userKey != null && !userLimiter.tryAcquire(userKey, now)) {
+            throttledByUser.increment();
+            return Rejection.USER;
+        }
+        allowed.increment();
+        return null;
+    }
+
+    /** 로그인 성공 — userId 버킷 초기화 */
+    public void onSuccess(String userId) {
+        String userKey = normalizeUserId(userId);
+        if (enabled && userKey != null) {
+            userLimiter.reset(userKey);
+        }
+    }
+
+    /**
+     * IP 차단 — 버킷을 음수 토큰으로 만들어 seconds 동안 시도를 거절한다 (LoginAnomalyDetector 경보).
+     * 별도 차단 목록 없이 같은 버킷/LRU 상한을 쓰며, 시간이 지나면 보충으로 자연 해제된다.
+     */
+    public void block(String clientIp, long seconds) {
+        if (enabled && clientIp != null && seconds > 0) {
+            ipLimiter.block(clientIp, System.nanoTime(), seconds);
+            blocks.increment();
+        }
+    }
+
+    @Override
+    public String getStatsName() {
+        return "login-throttle";
+    }
+
+    /** 모니터링용 통계 */
+    @Override
+    public Map<String, Object> getStats() {
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("enabled", enabled);
+        stats.put("allowed", allowed.sum());
+        stats.put("throttledByIp", throttledByIp.sum());
+        stats.put("throttledByUser", throttledByUser.sum());
+        stats.put("blocks", blocks.sum());
+        stats.put("ipKeys", ipLimiter.size());
+        stats.put("userKeys", userLimiter.size());
+        stats.put("evictions", ipLimiter.evictions.sum() + userLimiter.evictions.sum());
+        return stats;
+    }
+
+    // 공격자 입력 — 대소문자 무시(DB collation ci) + 길이 절단으로 키 크기 상한
+    private String normalizeUserId(String userId) {
+        if (userId == null || userId.isBlank()) {
+            return null;
+        }
+        String trimmed = userId.trim();
+        if (trimmed.length() > 50) {
+            trimmed = trimmed.substring(0, 50);
+        }
+        return trimmed.toLowerCase(Locale.ROOT);
+    }
+
+    /**
+     * 락 분할 토큰 버킷 테이블 — 키 해시로 스트라이프를 골라 그 스트라이프만 잠근다.
+     * 버킷은 가변 객체 1개로 재사용 (시도마다 할당 없음).
+     */
+    private static final class Limiter {
+
+        private final double capacity;
+        private final double tokensPerNano;
+        private final Stripe[] stripes = new Stripe[STRIPES];
+        final LongAdder evictions = new LongAdder();
+
+        Limiter(int capacity, long windowSeconds, int maxEntries) {
+            this.capacity = capacity;
+            this.tokensPerNano = capacity / (windowSeconds * 1_000_000_000.0);
+            int perStripe = Math.max(1, maxEntries / STRIPES);
+            for (int i = 0; i < STRIPES; i++) {
+                stripes[i] = new Stripe(perStripe, evictions);
+            }
+        }
+
+        boolean tryAcquire(String key, long now) {
+            Stripe stripe = stripeFor(key);
+            synchronized (stripe) {
+                Bucket bucket = stripe.get(key);
+                if (bucket == null) {
+                    bucket = new Bucket(capacity, now);
+                    stripe.put(key, bucket);
+                } else {
+                    bucket.tokens = Math.min(capacity, bucket.tokens + (now - bucket.updatedAt) * tokensPerNano);
+                    bucket.updatedAt = now;
+                }
+                if (bucket.tokens < 1.0) {
+                    return false;
+                }
+                bucket.tokens -= 1.0;
+                return true;
+            }
+        }
+
+        /** seconds 뒤에야 토큰 1개가 생기도록 음수로 설정 */
+        void block(String key, long now, long seconds) {
+            double tokens = 1.0 - seconds * 1_000_000_000.0 * tokensPerNano;
+            Stripe stripe = stripeFor(key);
+            synchronized (stripe) {
+                Bucket bucket = stripe.get(key);
+                if (bucket == null) {
+                    stripe.put(key, new Bucket(tokens, now));
+                } else {
+                    double refilled = Math.min(capacity, bucket.tokens + (now - bucket.updatedAt) * tokensPerNano);
+                    bucket.tokens = Math.min(refilled, tokens);
+                    bucket.updatedAt = now;
+                }
+            }
+        }
+
+        void reset(String key) {
+            Stripe stripe = stripeFor(key);
+            synchronized (stripe) {
+                stripe.remove(key);
+            }
+        }
+
+        int size() {
+            int total = 0;
+            for (Stripe stripe : stripes) {
+                synchronized (stripe) {
+                    total += stripe.size();
+                }
+            }
+            return total;
+        }
+
+        private Stripe stripeFor(String key) {
+            int h = key.hashCode();
+            h ^= (h >>> 16);
+            return stripes[h & (STRIPES - 1)];
+        }
+    }
+
+    /** 스트라이프 — access-order LRU (상한 초과 시 eldest 제거) */
+    private static final class Stripe extends LinkedHashMap<String, Bucket> {
+
+        private final int maxEntries;
+        private final LongAdder evictions;
+
+        Stripe(int maxEntries, LongAdder evictions) {
+            super(16, 0.75f, true);
+            this.maxEntries = maxEntries;
+            this.evictions = evictions;
+        }
+
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<String, Bucket> eldest) {
+            if (size() > maxEntries) {
+                evictions.increment();
+                return true;
+            }
+            return false;
+        }
+    }
+
+    private static final class Bucket {
+        double tokens;
+        long updatedAt;
+
+        Bucket(double tokens, long updatedAt) {
+            this.tokens = tokens;
+            this.updatedAt = updatedAt;
+        }
+    }
+}
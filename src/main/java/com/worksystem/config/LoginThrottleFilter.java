@@ -0,0 +1,68 @@
+package com.worksystem.config;
+
+import com.worksystem.common.RequestUtils;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+
+/**
+ * 로그인 시도 제한 필터 — UsernamePasswordAuthenticationFilter 앞에서 LoginThrottle 검사
+ *
+ * 한도 초과 시 인증(=BCrypt)과 실패 이력 기록 없이 즉시 응답한다.
+ * - AJAX(JSON) 요청: 429 + 표준 ApiResponse 형태 JSON
+ * - 일반 폼 요청: /login.html?error=throttled 리다이렉트 (기존 실패 리다이렉트와 같은 방식)
+ *
+ * 주의: @Component로 등록하지 않는다 — 서블릿 필터로 자동 등록되어 모든 요청에 이중 적용되는 것을 방지.
+ * SecurityConfig에서 직접 생성해 보안 필터 체인에만 넣는다.
+ */
+@Slf4j
+public class LoginThrottleFilter extends OncePerRequestFilter {
+
+    private final LoginThrottle loginThrottle;
+    private final ClientIpResolver clientIpResolver;
+    private final String loginProcessingUrl;
+
+    public LoginThrottleFilter(LoginThrottle loginThrottle, ClientIpResolver clientIpResolver,
+                               String loginProcessingUrl) {
+        this.loginThrottle = loginThrottle;
+        this.clientIpResolver = clientIpResolver;
+        this.loginProcessingUrl = loginProcessingUrl;
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return !"POST".equals(request.getMethod())
+                || !loginProcessingUrl.equals(request.getServletPath());
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response,
+                                    FilterChain filterChain) throws ServletException, IOException {
+        String clientIp = clientIpResolver.resolve(request);
+        String userId = request.getParameter("userId");
+
+        LoginThrottle.Rejection rejection = loginThrottle.tryAcquire(clientIp, userId);
+        if (rejection == null) {
+            filterChain.doFilter(request, response);
+            return;
+        }
+
+        log.warn("로그인 시도 제한 - by: {}, ip: {}, userId: {}", rejection, clientIp,
+                RequestUtils.truncate(userId, 20));
+
+        if (RequestUtils.isJsonRequest(request)) {
+            response.setStatus(429);
+            response.setContentType("application/json;charset=UTF-8");
+            response.getWriter().write(
+                "{\"success\": false, \"message\": \"로그인 시도가 너무 많습니다. 잠시 후 다시 시도해주세요.\", \"data\": null}"
+            );
+        } else {
+            response.sendRedirect("/login.html?error=throttled");
+        }
+    }
+}
@@ -0,0 +1,45 @@
+package com.worksystem.config;
+
+import com.worksystem.common.RequestUtils;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+
+/**
+ * 로그인 요청 1건의 계측 범위를 여닫는 필터 (LoginPhaseMetrics)
+ *
+ * 주의: @Component로 등록하지 않는다 — LoginThrottleFilter와 같은 이유로 SecurityConfig에서 직접 생성.
+ */
+public class LoginTimingFilter extends OncePerRequestFilter {
+
+    private final LoginPhaseMetrics loginPhaseMetrics;
+    private final String loginProcessingUrl;
+
+    public LoginTimingFilter(LoginPhaseMetrics loginPhaseMetrics, String loginProcessingUrl) {
+        this.loginPhaseMetrics = loginPhaseMetrics;
+        this.loginProcessingUrl = loginProcessingUrl;
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return !"POST".equals(request.getMethod())
+                || !loginProcessingUrl.equals(request.getServletPath());
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response,
+                                    FilterChain filterChain) throws ServletException, IOException {
+        long start = System.nanoTime();
+        loginPhaseMetrics.begin();
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            loginPhaseMetrics.end(RequestUtils.truncate(request.getParameter("userId"), 20),
+                    System.nanoTime() - start);
+        }
+    }
+}
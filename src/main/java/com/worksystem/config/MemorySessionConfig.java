@@ -0,0 +1,40 @@
+package com.worksystem.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.session.config.annotation.web.http.EnableSpringHttpSession;
+
+import java.nio.file.Paths;
+import java.time.Duration;
+
+/**
+ * 단일 노드용 메모리 세션 저장소 설정 — worksystem.session-store.type=memory일 때만 적용
+ *
+ * SessionRepository 빈을 직접 선언하므로 Boot의 JDBC 세션 자동 설정(@ConditionalOnMissingBean)이 물러나고,
+ * SessionRepositoryFilter는 @EnableSpringHttpSession이 만든다. 쿠키 설정(server.servlet.session.cookie.*)은
+ * Boot가 만든 CookieSerializer를 그대로 쓴다.
+ * 다중 노드에서는 쓰지 말 것 — 노드 간 세션 공유/강제 만료 전파가 없다 (기본값 jdbc).
+ */
+@Configuration
+@EnableSpringHttpSession
+@ConditionalOnProperty(name = "worksystem.session-store.type", havingValue = "memory")
+public class MemorySessionConfig {
+
+    @Value("${worksystem.session-store.snapshot-dir:./data/session}")
+    private String snapshotDir;
+
+    @Value("${server.servlet.session.timeout:30m}")
+    private Duration sessionTimeout;
+
+    @Bean
+    public MemorySessionRepository sessionRepository(SessionAttributeSerializer sessionAttributeSerializer,
+                                                     ApplicationEventPublisher eventPublisher) {
+        MemorySessionRepository repository = new MemorySessionRepository(sessionAttributeSerializer, sessionTimeout,
+                new MemorySessionSnapshot(Paths.get(snapshotDir)), eventPublisher);
+        repository.restore();
+        return repository;
+    }
+}
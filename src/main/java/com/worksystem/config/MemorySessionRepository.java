@@ -0,0 +1,501 @@
+package com.worksystem.config;
+
+import com.worksystem.dto.SessionRowDTO;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.session.FindByIndexNameSessionRepository;
+import org.springframework.session.MapSession;
+import org.springframework.session.PrincipalNameIndexResolver;
+import org.springframework.session.Session;
+import org.springframework.session.events.SessionCreatedEvent;
+import org.springframework.session.events.SessionDeletedEvent;
+import org.springframework.session.events.SessionExpiredEvent;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Predicate;
+
+/**
+ * 단일 노드용 메모리 세션 저장소 — worksystem.session-store.type=memory (MemorySessionConfig가 등록)
+ *
+ * 세션은 압축 레이아웃(StoredSession: 시각은 long, 속성은 SessionAttributeSerializer로 직렬화한 바이트)으로 보관한다.
+ * - 요청 간 격리: 조회마다 바이트에서 새 객체를 만들므로 save 없이 바꾼 속성이 저장본에 새지 않는다 (JDBC와 같은 의미).
+ * - 저장 시 바뀐 속성만 다시 직렬화하고 나머지는 기존 바이트를 재사용한다. 접근 시각만 바뀐 요청은 직렬화 없음.
+ * - PRINCIPAL_NAME 색인을 메모리에 유지 — findByPrincipalName(동시 세션 제어) 지원.
+ * - 세션 이벤트(생성/변경/삭제/만료)를 발행한다 — 활성 세션 레지스트리가 구독.
+ * - 다른 요청이 강제 만료한 세션은 save로 되살리지 않는다 (JDBC의 UPDATE 0건과 같은 동작).
+ *
+ * 재시작 대비: 변경이 있을 때만 snapshot-interval-ms마다 전체를 메모리 매핑 파일(MemorySessionSnapshot)에 쓰고,
+ * 기동 시 restore()로 복원한다. 마지막 스냅샷 이후 변경분은 비정상 종료 시 잃는다 (정상 종료 시에는 한 번 더 기록).
+ */
+@Slf4j
+public class MemorySessionRepository implements FindByIndexNameSessionRepository<MemorySessionRepository.MemorySession> {
+
+    private final SessionAttributeSerializer serializer;
+    private final Duration defaultMaxInactiveInterval;
+    private final MemorySessionSnapshot snapshot;
+    private final ApplicationEventPublisher eventPublisher;
+    private final PrincipalNameIndexResolver<Session> principalNameResolver = new PrincipalNameIndexResolver<>();
+
+    private final Map<String, StoredSession> sessions = new ConcurrentHashMap<>();
+    // PRINCIPAL_NAME → 세션 ID
+    private final Map<String, Set<String>> principalIndex = new ConcurrentHashMap<>();
+
+    private final AtomicLong modifications = new AtomicLong();
+    private volatile long snapshotModifications;
+
+    private final LongAdder attributeWrites = new LongAdder();
+    private final LongAdder accessOnlyWrites = new LongAdder();
+    private final LongAdder attributesEncoded = new LongAdder();
+    private final LongAdder attributesReused = new LongAdder();
+    private final LongAdder expiredRemoved = new LongAdder();
+    private final LongAdder decodeFailures = new LongAdder();
+
+    public MemorySessionRepository(SessionAttributeSerializer serializer, Duration defaultMaxInactiveInterval,
+                                   MemorySessionSnapshot snapshot, ApplicationEventPublisher eventPublisher) {
+        this.serializer = serializer;
+        this.defaultMaxInactiveInterval = defaultMaxInactiveInterval;
+        this.snapshot = snapshot;
+        this.eventPublisher = eventPublisher;
+    }
+
+    /** 기동 시 마지막 스냅샷 복원 — 만료된 세션은 건너뜀. 읽기 실패 시 빈 저장소로 시작 (fail-open) */
+    public void restore() {
+        try {
+            long now = System.currentTimeMillis();
+            int restored = 0;
+            for (StoredSession stored : snapshot.load()) {
+                if (!stored.isExpired(now)) {
+                    sessions.put(stored.id(), stored);
+                    index(stored.principalName(), stored.id());
+                    restored++;
+                }
+            }
+            snapshotModifications = modifications.get();
+            log.info("세션 스냅샷 복원 - {}건", restored);
+        } catch (Exception e) {
+            log.warn("세션 스냅샷 복원 실패 - 빈 세션 저장소로 시작합니다. error: {}", e.getMessage());
+        }
+    }
+
+    @Override
+    public MemorySession createSession() {
+        MapSession session = new MapSession();
+        session.setMaxInactiveInterval(defaultMaxInactiveInterval);
+        return new MemorySession(session, null);
+    }
+
+    @Override
+    public void save(MemorySession session) {
+        String id = session.getId();
+        if (session.stored != null && !session.changed && id.equals(session.originalId)) {
+            // 접근 시각만 변경 — 속성 바이트는 그대로
+            long lastAccess = session.delegate.getLastAccessedTime().toEpochMilli();
+            if (sessions.computeIfPresent(id, (key, stored) -> stored.withLastAccessedTime(lastAccess)) != null) {
+                accessOnlyWrites.increment();
+                modifications.incrementAndGet();
+                eventPublisher.publishEvent(new SessionChangedEvent(this, session.delegate, null));
+            }
+            return;
+        }
+
+        StoredSession encoded = encode(session);
+        if (session.stored == null) {
+            sessions.put(id, encoded);
+            index(encoded.principalName(), id);
+        } else if (id.equals(session.originalId)) {
+            StoredSession previous = sessions.replace(id, encoded);
+            if (previous == null) {
+                return;  // 그 사이 만료/강제 만료됨
+            }
+            if (!Objects.equals(previous.principalName(), encoded.principalName())) {
+                unindex(previous.principalName(), id);
+            }
+            index(encoded.principalName(), id);
+        } else {
+            // 세션 ID 변경 (로그인 시 세션 고정 방지)
+            StoredSession previous = sessions.remove(session.originalId);
+            if (previous == null) {
+                return;
+            }
+            unindex(previous.principalName(), session.originalId);
+            sessions.put(id, encoded);
+            index(encoded.principalName(), id);
+        }
+        attributeWrites.increment();
+        modifications.incrementAndGet();
+        if (session.stored == null) {
+            eventPublisher.publishEvent(new SessionCreatedEvent(this, session.delegate));
+        } else {
+            eventPublisher.publishEvent(new SessionChangedEvent(this, session.delegate,
+                    id.equals(session.originalId) ? null : session.originalId));
+        }
+        session.stored = encoded;
+        session.originalId = id;
+        session.changed = false;
+        session.changedAttributes.clear();
+    }
+
+    @Override
+    public MemorySession findById(String id) {
+        StoredSession stored = sessions.get(id);
+        if (stored == null) {
+            return null;
+        }
+        if (stored.isExpired(System.currentTimeMillis())) {
+            if (sessions.remove(id, stored)) {
+                unindex(stored.principalName(), id);
+                modifications.incrementAndGet();
+                eventPublisher.publishEvent(new SessionExpiredEvent(this, new MapSession(id)));
+            }
+            return null;
+        }
+        return decode(stored);
+    }
+
+    @Override
+    public void deleteById(String id) {
+        StoredSession removed = sessions.remove(id);
+        if (removed != null) {
+            unindex(removed.principalName(), id);
+            modifications.incrementAndGet();
+            eventPublisher.publishEvent(new SessionDeletedEvent(this, new MapSession(id)));
+        }
+    }
+
+    @Override
+    public Map<String, MemorySession> findByIndexNameAndIndexValue(String indexName, String indexValue) {
+        if (!PRINCIPAL_NAME_INDEX_NAME.equals(indexName)) {
+            return Collections.emptyMap();
+        }
+        Set<String> ids = principalIndex.get(indexValue);
+        if (ids == null) {
+            return Collections.emptyMap();
+        }
+        long now = System.currentTimeMillis();
+        Map<String, MemorySession> result = new LinkedHashMap<>();
+        for (String id : ids) {
+            StoredSession stored = sessions.get(id);
+            if (stored != null && !stored.isExpired(now)) {
+                MemorySession session = decode(stored);
+                if (session != null) {
+                    result.put(id, session);
+                }
+            }
+        }
+        return result;
+    }
+
+    /** 로그인한 활성 세션의 원시 행 — 활성 세션 레지스트리 대사용 (SessionLogMapper.findSessionRows와 같은 조건) */
+    public List<SessionRowDTO> findSessionRows(long now) {
+        List<SessionRowDTO> rows = new ArrayList<>();
+        for (StoredSession stored : sessions.values()) {
+            if (stored.principalName() != null && !stored.isExpired(now)) {
+                rows.add(toRow(stored));
+            }
+        }
+        return rows;
+    }
+
+    /**
+     * 조건에 맞는 로그인 세션 일괄 삭제 (세션 일괄 강제 만료 — JDBC의 집합 DELETE에 대응) — 삭제 건수 반환
+     */
+    public int deleteIf(Predicate<SessionRowDTO> condition) {
+        int deleted = 0;
+        for (StoredSession stored : sessions.values()) {
+            if (stored.principalName() != null && condition.test(toRow(stored))
+                    && sessions.remove(stored.id(), stored)) {
+                unindex(stored.principalName(), stored.id());
+                eventPublisher.publishEvent(new SessionDeletedEvent(this, new MapSession(stored.id())));
+                deleted++;
+            }
+        }
+        if (deleted > 0) {
+            modifications.incrementAndGet();
+        }
+        return deleted;
+    }
+
+    /** 세션별 직렬화 크기 요약 — SessionLogMapper.findSessionSizeStats와 같은 키 */
+    public Map<String, Object> getSizeStats() {
+        long count = 0;
+        long totalBytes = 0;
+        long maxBytes = 0;
+        long attributes = 0;
+        long jdkAttributes = 0;
+        for (StoredSession stored : sessions.values()) {
+            long bytes = 0;
+            for (byte[] value : stored.values()) {
+                bytes += value.length;
+                if (value.length >= 2 && value[0] == (byte) 0xAC && value[1] == (byte) 0xED) {
+                    jdkAttributes++;
+                }
+            }
+            attributes += stored.values().length;
+            totalBytes += bytes;
+            maxBytes = Math.max(maxBytes, bytes);
+            count++;
+        }
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("sessions", count);
+        stats.put("avgBytes", count == 0 ? 0 : Math.round((double) totalBytes / count));
+        stats.put("maxBytes", maxBytes);
+        stats.put("jdkAttributes", jdkAttributes);
+        stats.put("attributes", attributes);
+        return stats;
+    }
+
+    /** 만료 세션 정리 (메모리 — 전체 순회, 잠금 없음) */
+    @Scheduled(fixedDelayString = "${worksystem.session-store.cleanup-interval-ms:60000}")
+    public void removeExpiredSessions() {
+        long now = System.currentTimeMillis();
+        int removed = 0;
+        for (StoredSession stored : sessions.values()) {
+            if (stored.isExpired(now) && sessions.remove(stored.id(), stored)) {
+                unindex(stored.principalName(), stored.id());
+                eventPublisher.publishEvent(new SessionExpiredEvent(this, new MapSession(stored.id())));
+                removed++;
+            }
+        }
+        if (removed > 0) {
+            expiredRemoved.add(removed);
+            modifications.incrementAndGet();
+            log.debug("만료 세션 정리 - {}건", removed);
+        }
+    }
+
+    /** 변경이 있을 때만 스냅샷 기록 (주기 호출 + 종료 시 1회) */
+    @Scheduled(fixedDelayString = "${worksystem.session-store.snapshot-interval-ms:10000}")
+    public void writeSnapshot() {
+        long current = modifications.get();
+        if (current == snapshotModifications) {
+            return;
+        }
+        try {
+            snapshot.write(sessions.values());
+            snapshotModifications = current;
+        } catch (Exception e) {
+            log.error("세션 스냅샷 기록 실패 - 다음 주기에 재시도", e);
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        writeSnapshot();
+    }
+
+    /** 모니터링용 통계 */
+    public Map<String, Object> getStats() {
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("sessions", sessions.size());
+        stats.put("principals", principalIndex.size());
+        stats.put("attributeWrites", attributeWrites.sum());
+        stats.put("accessOnlyWrites", accessOnlyWrites.sum());
+        stats.put("attributesEncoded", attributesEncoded.sum());
+        stats.put("attributesReused", attributesReused.sum());
+        stats.put("expiredRemoved", expiredRemoved.sum());
+        stats.put("decodeFailures", decodeFailures.sum());
+        stats.put("pendingSnapshot", modifications.get() != snapshotModifications);
+        stats.put("snapshot", snapshot.getStats());
+        return stats;
+    }
+
+    private StoredSession encode(MemorySession session) {
+        MapSession source = session.delegate;
+        Set<String> names = source.getAttributeNames();
+        String[] attributeNames = new String[names.size()];
+        byte[][] values = new byte[names.size()][];
+        int i = 0;
+        for (String name : names) {
+            byte[] reused = session.changedAttributes.contains(name) || session.stored == null
+                    ? null : session.stored.attribute(name);
+            if (reused != null) {
+                attributesReused.increment();
+                values[i] = reused;
+            } else {
+                attributesEncoded.increment();
+                values[i] = serializer.serialize(source.getAttribute(name));
+            }
+            attributeNames[i++] = name;
+        }
+        return new StoredSession(source.getId(),
+                source.getCreationTime().toEpochMilli(),
+                source.getLastAccessedTime().toEpochMilli(),
+                source.getMaxInactiveInterval().toMillis(),
+                principalNameResolver.resolveIndexValueFor(source),
+                attributeNames, values);
+    }
+
+    /** 바이트 → 세션. 역직렬화 실패(배포 후 클래스 변경 등) 세션은 버린다 — 해당 사용자만 재로그인 */
+    private MemorySession decode(StoredSession stored) {
+        MapSession session = new MapSession(stored.id());
+        session.setCreationTime(Instant.ofEpochMilli(stored.creationTime()));
+        session.setLastAccessedTime(Instant.ofEpochMilli(stored.lastAccessedTime()));
+        session.setMaxInactiveInterval(Duration.ofMillis(stored.maxInactiveMillis()));
+        try {
+            for (int i = 0; i < stored.names().length; i++) {
+                session.setAttribute(stored.names()[i], serializer.deserialize(stored.values()[i]));
+            }
+        } catch (Exception e) {
+            decodeFailures.increment();
+            log.warn("세션 속성 역직렬화 실패 - 세션 폐기. sessionId: {}, error: {}", stored.id(), e.getMessage());
+            deleteById(stored.id());
+            return null;
+        }
+        return new MemorySession(session, stored);
+    }
+
+    private static SessionRowDTO toRow(StoredSession stored) {
+        return SessionRowDTO.builder()
+                .sessionId(stored.id())
+                .userId(stored.principalName())
+                .creationTime(stored.creationTime())
+                .lastAccessTime(stored.lastAccessedTime())
+                .expiryTime(stored.lastAccessedTime() + stored.maxInactiveMillis())
+                .build();
+    }
+
+    private void index(String principalName, String id) {
+        if (principalName == null) {
+            return;
+        }
+        principalIndex.compute(principalName, (key, ids) -> {
+            Set<String> target = ids != null ? ids : ConcurrentHashMap.newKeySet();
+            target.add(id);
+            return target;
+        });
+    }
+
+    private void unindex(String principalName, String id) {
+        if (principalName == null) {
+            return;
+        }
+        principalIndex.computeIfPresent(principalName, (key, ids) -> {
+            ids.remove(id);
+            return ids.isEmpty() ? null : ids;
+        });
+    }
+
+    /**
+     * 보관 형식 — 넣은 뒤 변경하지 않는다 (접근 시각 갱신도 새 인스턴스, 속성 바이트 배열은 공유)
+     */
+    record StoredSession(String id, long creationTime, long lastAccessedTime, long maxInactiveMillis,
+                         String principalName, String[] names, byte[][] values) {
+
+        /** MapSession.isExpired와 같은 기준 (음수 = 만료 없음) */
+        boolean isExpired(long now) {
+            return maxInactiveMillis >= 0 && now - maxInactiveMillis >= lastAccessedTime;
+        }
+
+        StoredSession withLastAccessedTime(long lastAccess) {
+            return new StoredSession(id, creationTime, lastAccess, maxInactiveMillis, principalName, names, values);
+        }
+
+        byte[] attribute(String name) {
+            for (int i = 0; i < names.length; i++) {
+                if (names[i].equals(name)) {
+                    return values[i];
+                }
+            }
+            return null;
+        }
+    }
+
+    /**
+     * 요청 단위 세션 — MapSession에 위임하고 바뀐 속성 이름만 추적한다 (저장 시 그 속성만 재직렬화).
+     */
+    public static final class MemorySession implements Session {
+
+        private final MapSession delegate;
+        private final Set<String> changedAttributes = new HashSet<>();
+        private StoredSession stored;   // null = 신규
+        private String originalId;
+        private boolean changed;
+
+        MemorySession(MapSession delegate, StoredSession stored) {
+            this.delegate = delegate;
+            this.stored = stored;
+            this.originalId = delegate.getId();
+            this.changed = stored == null;
+        }
+
+        @Override
+        public String getId() {
+            return delegate.getId();
+        }
+
+        @Override
+        public String changeSessionId() {
+            changed = true;
+            return delegate.changeSessionId();
+        }
+
+        @Override
+        public <T> T getAttribute(String attributeName) {
+            return delegate.getAttribute(attributeName);
+        }
+
+        @Override
+        public Set<String> getAttributeNames() {
+            return delegate.getAttributeNames();
+        }
+
+        @Override
+        public void setAttribute(String attributeName, Object attributeValue) {
+            delegate.setAttribute(attributeName, attributeValue);
+            changedAttributes.add(attributeName);
+            changed = true;
+        }
+
+        @Override
+        public void removeAttribute(String attributeName) {
+            delegate.removeAttribute(attributeName);
+            changedAttributes.add(attributeName);
+            changed = true;
+        }
+
+        @Override
+        public Instant getCreationTime() {
+            return delegate.getCreationTime();
+        }
+
+        @Override
+        public void setLastAccessedTime(Instant lastAccessedTime) {
+            delegate.setLastAccessedTime(lastAccessedTime);
+        }
+
+        @Override
+        public Instant getLastAccessedTime() {
+            return delegate.getLastAccessedTime();
+        }
+
+        @Override
+        public void setMaxInactiveInterval(Duration interval) {
+            delegate.setMaxInactiveInterval(interval);
+            changed = true;
+        }
+
+        @Override
+        public Duration getMaxInactiveInterval() {
+            return delegate.getMaxInactiveInterval();
+        }
+
+        @Override
+        public boolean isExpired() {
+            return delegate.isExpired();
+        }
+    }
+}
@@ -0,0 +1,252 @@
+package com.worksystem.config;
+
+import com.worksystem.common.LatencyHistogram;
+import com.worksystem.config.MemorySessionRepository.StoredSession;
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.zip.CRC32;
+
+/**
+ * 메모리 세션 스냅샷 — 메모리 매핑 파일 2개(sessions-0.snap, sessions-1.snap)를 번갈아 쓴다.
+ *
+ * 파일 형식: [헤더 32바이트: MAGIC, FORMAT_VERSION, 일련번호, 세션 수, 본문 길이, 본문 CRC32][본문]
+ * - 쓰기: 직전에 쓰지 않은 쪽 파일의 헤더를 먼저 무효화 → 본문 기록 → force → 헤더 기록 → force.
+ *   도중에 프로세스가 죽어도 다른 쪽 파일(직전 스냅샷)은 온전하다.
+ * - 읽기: 두 파일 중 헤더/CRC가 유효하고 일련번호가 큰 쪽을 쓴다.
+ * 파일은 줄이거나 지우거나 이동하지 않는다 (매핑이 살아 있는 파일은 Windows에서 잘리거나 교체되지 않음).
+ * 본문이 이전보다 짧으면 뒷부분은 그대로 두고 헤더의 본문 길이로만 구분한다.
+ */
+@Slf4j
+public class MemorySessionSnapshot {
+
+    private static final int MAGIC = 0x57534E50;   // "WSNP"
+    private static final int FORMAT_VERSION = 1;
+    private static final int HEADER_SIZE = 32;
+    private static final int MIN_MAPPING_SIZE = 64 * 1024;
+
+    private final Path[] files;
+    private final MappedByteBuffer[] mappings = new MappedByteBuffer[2];
+
+    private long sequence;
+    private int lastSlot = 1;   // 첫 기록은 0번 파일
+
+    private final AtomicLong writes = new AtomicLong();
+    private final AtomicLong lastSessions = new AtomicLong();
+    private final AtomicLong lastBytes = new AtomicLong();
+    private final LatencyHistogram writeTime = new LatencyHistogram();
+
+    public MemorySessionSnapshot(Path directory) {
+        this.files = new Path[] {
+                directory.resolve("sessions-0.snap"),
+                directory.resolve("sessions-1.snap")
+        };
+    }
+
+    /** 가장 최근의 유효한 스냅샷 읽기 — 없으면 빈 목록 */
+    public synchronized List<StoredSession> load() throws IOException {
+        int bestSlot = -1;
+        long bestSequence = -1;
+        MappedByteBuffer best = null;
+        for (int slot = 0; slot < files.length; slot++) {
+            MappedByteBuffer buffer = mapForRead(files[slot]);
+            long seq = buffer == null ? -1 : validSequence(buffer);
+            if (seq > bestSequence) {
+                bestSequence = seq;
+                bestSlot = slot;
+                best = buffer;
+            }
+        }
+        if (best == null) {
+            return List.of();
+        }
+        sequence = bestSequence;
+        lastSlot = bestSlot;
+
+        int count = best.getInt(16);
+        ByteBuffer body = best.duplicate().position(HEADER_SIZE).limit(HEADER_SIZE + best.getInt(20)).slice();
+        List<StoredSession> sessions = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            sessions.add(readSession(body));
+        }
+        log.info("세션 스냅샷 읽음 - file: {}, sequence: {}, sessions: {}", files[bestSlot], bestSequence, count);
+        return sessions;
+    }
+
+    /** 전체 세션 기록 (MemorySessionRepository.writeSnapshot에서 호출 — 동시 호출은 직렬화) */
+    public synchronized void write(Collection<StoredSession> sessions) throws IOException {
+        long start = System.nanoTime();
+        // 값 컬렉션은 약한 일관성 — 크기 계산과 기록 사이의 변경을 피하려고 목록으로 고정
+        List<StoredSession> fixed = new ArrayList<>(sessions);
+        long bodySize = 0;
+        for (StoredSession session : fixed) {
+            bodySize += sizeOf(session);
+        }
+        if (HEADER_SIZE + bodySize > Integer.MAX_VALUE) {
+            throw new IllegalStateException("세션 스냅샷 크기 초과: " + bodySize);
+        }
+
+        int slot = 1 - lastSlot;
+        MappedByteBuffer buffer = mapForWrite(slot, HEADER_SIZE + (int) bodySize);
+        buffer.putInt(0, 0);    // 헤더 무효화 — 기록 도중 중단되면 이 파일은 읽지 않음
+        buffer.force();
+
+        ByteBuffer body = buffer.duplicate().position(HEADER_SIZE).limit(HEADER_SIZE + (int) bodySize).slice();
+        for (StoredSession session : fixed) {
+            writeSession(session, body);
+        }
+        body.flip();
+        CRC32 crc = new CRC32();
+        crc.update(body);
+
+        long nextSequence = sequence + 1;
+        buffer.putInt(4, FORMAT_VERSION);
+        buffer.putLong(8, nextSequence);
+        buffer.putInt(16, fixed.size());
+        buffer.putInt(20, (int) bodySize);
+        buffer.putInt(24, (int) crc.getValue());
+        buffer.force();
+        buffer.putInt(0, MAGIC);
+        buffer.force();
+
+        sequence = nextSequence;
+        lastSlot = slot;
+        writes.incrementAndGet();
+        lastSessions.set(fixed.size());
+        lastBytes.set(HEADER_SIZE + bodySize);
+        writeTime.record(System.nanoTime() - start);
+    }
+
+    /** 모니터링용 통계 */
+    public Map<String, Object> getStats() {
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("directory", files[0].getParent().toString());
+        stats.put("sequence", sequence);
+        stats.put("writes", writes.get());
+        stats.put("lastSessions", lastSessions.get());
+        stats.put("lastBytes", lastBytes.get());
+        stats.put("writeTime", writeTime.snapshot());
+        return stats;
+    }
+
+    // ===== 매핑 =====
+
+    private static MappedByteBuffer mapForRead(Path file) throws IOException {
+        if (!Files.isRegularFile(file) || Files.size(file) < HEADER_SIZE) {
+            return null;
+        }
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            return channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+        }
+    }
+
+    /** 슬롯 매핑 재사용 — 부족할 때만 1.5배로 늘려 다시 매핑 (파일은 커지기만 함) */
+    private MappedByteBuffer mapForWrite(int slot, int required) throws IOException {
+        MappedByteBuffer mapping = mappings[slot];
+        if (mapping != null && mapping.capacity() >= required) {
+            return mapping;
+        }
+        long size = Math.max(MIN_MAPPING_SIZE, Math.min(Integer.MAX_VALUE, required + (long) required / 2));
+        Files.createDirectories(files[slot].getParent());
+        try (FileChannel channel = FileChannel.open(files[slot],
+                StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+            size = Math.max(size, channel.size());
+            mapping = channel.map(FileChannel.MapMode.READ_WRITE, 0, size);
+        }
+        mappings[slot] = mapping;
+        return mapping;
+    }
+
+    /** 헤더/CRC 검증 — 유효하면 일련번호, 아니면 -1 */
+    private static long validSequence(MappedByteBuffer buffer) {
+        if (buffer.getInt(0) != MAGIC || buffer.getInt(4) != FORMAT_VERSION) {
+            return -1;
+        }
+        int bodySize = buffer.getInt(20);
+        if (bodySize < 0 || bodySize > buffer.capacity() - HEADER_SIZE) {
+            return -1;
+        }
+        CRC32 crc = new CRC32();
+        crc.update(buffer.duplicate().position(HEADER_SIZE).limit(HEADER_SIZE + bodySize));
+        return (int) crc.getValue() == buffer.getInt(24) ? buffer.getLong(8) : -1;
+    }
+
+    // ===== 세션 인코딩: [ID][생성][접근][만료간격][PRINCIPAL][속성 수]([이름][길이][바이트])* =====
+
+    private static long sizeOf(StoredSession session) {
+        long size = stringSize(session.id()) + 8 + 8 + 8 + stringSize(session.principalName()) + 4;
+        for (int i = 0; i < session.names().length; i++) {
+            size += stringSize(session.names()[i]) + 4 + session.values()[i].length;
+        }
+        return size;
+    }
+
+    private static void writeSession(StoredSession session, ByteBuffer out) {
+        writeString(session.id(), out);
+        out.putLong(session.creationTime());
+        out.putLong(session.lastAccessedTime());
+        out.putLong(session.maxInactiveMillis());
+        writeString(session.principalName(), out);
+        out.putInt(session.names().length);
+        for (int i = 0; i < session.names().length; i++) {
+            writeString(session.names()[i], out);
+            out.putInt(session.values()[i].length);
+            out.put(session.values()[i]);
+        }
+    }
+
+    private static StoredSession readSession(ByteBuffer in) {
+        String id = readString(in);
+        long creationTime = in.getLong();
+        long lastAccessedTime = in.getLong();
+        long maxInactiveMillis = in.getLong();
+        String principalName = readString(in);
+        int attributeCount = in.getInt();
+        String[] names = new String[attributeCount];
+        byte[][] values = new byte[attributeCount][];
+        for (int i = 0; i < attributeCount; i++) {
+            names[i] = readString(in);
+            values[i] = new byte[in.getInt()];
+            in.get(values[i]);
+        }
+        return new StoredSession(id, creationTime, lastAccessedTime, maxInactiveMillis, principalName, names, values);
+    }
+
+    private static int stringSize(String value) {
+        return 4 + (value == null ? 0 : value.getBytes(StandardCharsets.UTF_8).length);
+    }
+
+    /** [길이(-1 = null)][UTF-8] */
+    private static void writeString(String value, ByteBuffer out) {
+        if (value == null) {
+            out.putInt(-1);
+            return;
+        }
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        out.putInt(bytes.length);
+        out.put(bytes);
+    }
+
+    private static String readString(ByteBuffer in) {
+        int length = in.getInt();
+        if (length < 0) {
+            return null;
+        }
+        byte[] bytes = new byte[length];
+        in.get(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+}
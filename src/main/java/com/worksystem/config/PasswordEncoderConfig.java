@@ -0,0 +1,149 @@
+package com.worksystem.config;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.util.Arrays;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * 비밀번호 인코더 설정
+ *
+ * SecurityConfig가 아닌 별도 설정으로 분리 — UserService가 인코더를 주입받으므로
+ * SecurityConfig(→UserService)에 두면 순환 참조가 된다.
+ *
+ * BCrypt 강도(cost)는 고정값 또는 기동 시 보정(calibrate=true) 중 선택한다.
+ * 보정 모드는 이 노드에서 해시 1회가 target-ms에 가장 가까운 강도를 골라, 사양이 다른 노드에서도
+ * 로그인 CPU 비용을 일정하게 맞춘다. 저장된 해시의 강도가 목표보다 낮으면 로그인 성공 시
+ * RehashingAuthenticationProvider가 UserService.updatePassword로 재해시한다 (일괄 마이그레이션 불필요,
+ * 해시 풀이 바쁘면 다음 로그인으로 미룸).
+ * 높은 강도는 낮추지 않는다 — 보정 강도가 다른 노드끼리 같은 계정을 번갈아 재해시하지 않도록.
+ */
+@Slf4j
+@Configuration
+public class PasswordEncoderConfig {
+
+    @Value("${worksystem.password-hashing.bcrypt-strength:10}")
+    private int bcryptStrength;
+
+    @Value("${worksystem.password-hashing.calibrate:false}")
+    private boolean calibrate;
+
+    @Value("${worksystem.password-hashing.target-ms:80}")
+    private long targetMillis;
+
+    @Value("${worksystem.password-hashing.min-strength:10}")
+    private int minStrength;
+
+    @Value("${worksystem.password-hashing.max-strength:14}")
+    private int maxStrength;
+
+    /**
+     * 비밀번호 인코더 - BCrypt 사용 (해시/검증은 전용 유한 풀에서 실행)
+     */
+    @Bean
+    public PasswordEncoder passwordEncoder(PasswordHashingExecutor passwordHashingExecutor,
+                                           LoginPhaseMetrics loginPhaseMetrics) {
+        int strength = calibrate ? calibrateStrength() : bcryptStrength;
+        return new BoundedPasswordEncoder(new BCryptPasswordEncoder(strength), strength,
+                passwordHashingExecutor, loginPhaseMetrics);
+    }
+
+    /**
+     * 기동 시 강도 보정 — 기준 강도(10)의 해시 시간을 3회 측정한 중앙값으로 강도별 시간을 외삽
+     * (강도 +1 = 시간 2배) 후 target-ms에 가장 가까운 값을 [min, max] 범위에서 선택.
+     * 하한(min-strength)은 보안 하한이므로 빠른 CPU에서도 그 아래로 내려가지 않는다.
+     */
+    private int calibrateStrength() {
+        final int baseStrength = 10;
+        BCryptPasswordEncoder probe = new BCryptPasswordEncoder(baseStrength);
+        probe.encode("warm-up");  // JIT/SecureRandom 초기화 비용을 측정에서 제외
+
+        long[] samples = new long[3];
+        for (int i = 0; i < samples.length; i++) {
+            long start = System.nanoTime();
+            probe.encode("calibration-" + i);
+            samples[i] = System.nanoTime() - start;
+        }
+        Arrays.sort(samples);
+        double baseMillis = samples[1] / 1_000_000.0;
+
+        int best = minStrength;
+        double bestDistance = Double.MAX_VALUE;
+        for (int s = minStrength; s <= maxStrength; s++) {
+            double estimated = baseMillis * Math.pow(2, s - baseStrength);
+            double distance = Math.abs(Math.log(estimated / targetMillis));
+            if (distance < bestDistance) {
+                bestDistance = distance;
+                best = s;
+            }
+        }
+        log.info("BCrypt 강도 보정 완료 - 기준(강도 {}) {}ms, 목표 {}ms → 강도 {} (예상 {}ms)",
+                baseStrength, String.format("%.1f", baseMillis), targetMillis, best,
+                String.format("%.1f", baseMillis * Math.pow(2, best - baseStrength)));
+        return best;
+    }
+
+    /**
+     * 해시/검증을 PasswordHashingExecutor에 위임하는 데코레이터
+     */
+    static class BoundedPasswordEncoder implements PasswordEncoder {
+
+        private static final Pattern BCRYPT_COST = Pattern.compile("^\\$2[abxy]?\\$(\\d{2})\\$");
+
+        private final PasswordEncoder delegate;
+        private final int strength;
+        private final PasswordHashingExecutor executor;
+        private final LoginPhaseMetrics metrics;
+
+        BoundedPasswordEncoder(PasswordEncoder delegate, int strength, PasswordHashingExecutor executor,
+                               LoginPhaseMetrics metrics) {
+            this.delegate = delegate;
+            this.strength = strength;
+            this.executor = executor;
+            this.metrics = metrics;
+        }
+
+        // 로그인 중 encode = 강도 변경 재해시 (로그인 범위 밖 호출은 LoginPhaseMetrics가 무시)
+        @Override
+        public String encode(CharSequence rawPassword) {
+            long start = System.nanoTime();
+            try {
+                return executor.execute(() -> delegate.encode(rawPassword));
+            } finally {
+                metrics.record(LoginPhaseMetrics.Phase.PASSWORD_REHASH, System.nanoTime() - start);
+            }
+        }
+
+        @Override
+        public boolean matches(CharSequence rawPassword, String encodedPassword) {
+            long start = System.nanoTime();
+            try {
+                return executor.execute(() -> delegate.matches(rawPassword, encodedPassword));
+            } finally {
+                metrics.record(LoginPhaseMetrics.Phase.PASSWORD_VERIFY, System.nanoTime() - start);
+            }
+        }
+
+        /**
+         * 저장된 해시의 강도가 목표보다 낮을 때만 재해시 대상 (높은 강도는 그대로 둠).
+         * 해시 풀 상태는 보지 않는다 — 혼잡 시 건너뛰기는 RehashingAuthenticationProvider가 encode 실패까지 포함해 처리.
+         */
+        @Override
+        public boolean upgradeEncoding(String encodedPassword) {
+            if (encodedPassword == null) {
+                return false;
+            }
+            Matcher m = BCRYPT_COST.matcher(encodedPassword);
+            if (!m.find()) {
+                return false;
+            }
+            return Integer.parseInt(m.group(1)) < strength;
+        }
+    }
+}
@@ -0,0 +1,16 @@
+package com.worksystem.config;
+
+import org.springframework.security.authentication.AuthenticationServiceException;
+
+/**
+ * 비밀번호 해시 전용 풀이 포화되어 요청을 받지 못한 경우 (즉시 실패 — "잠시 후 다시 시도")
+ *
+ * AuthenticationException 계열이라 로그인 경로에서는 LoginFailureHandler(BUSY)로,
+ * 비밀번호 변경/초기화 REST 경로에서는 GlobalExceptionHandler(503)로 처리된다.
+ */
+public class PasswordHashingBusyException extends AuthenticationServiceException {
+
+    public PasswordHashingBusyException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,133 @@
+package com.worksystem.config;
+
+import com.worksystem.common.LatencyHistogram;
+import com.worksystem.common.StatsProvider;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 비밀번호 해시(BCrypt) 전용 유한 풀 — 로그인 폭주 시 해시 연산이 CPU/요청 스레드를 독점하지 않도록 격리
+ *
+ * - 동시 해시 수 = pool-size, 대기열 = queue-capacity. 대기열이 차면 즉시 PasswordHashingBusyException
+ *   (요청 스레드를 무한정 붙잡지 않고 "잠시 후 다시 시도"로 빠르게 돌려보냄 — 일반 페이지/API 요청이 스레드를 확보)
+ * - 대기열에 들어간 요청도 wait-timeout-ms 안에 끝나지 않으면 취소 후 같은 예외
+ * - 대기시간/해시시간 히스토그램과 대기열 깊이를 /api/monitor 로 노출
+ */
+@Slf4j
+@Component
+public class PasswordHashingExecutor implements StatsProvider {
+
+    private final ThreadPoolExecutor executor;
+    private final long waitTimeoutMillis;
+
+    private final LatencyHistogram queueWait = new LatencyHistogram();
+    private final LatencyHistogram hashTime = new LatencyHistogram();
+    private final LongAdder rejected = new LongAdder();
+    private final LongAdder timedOut = new LongAdder();
+
+    public PasswordHashingExecutor(@Value("${worksystem.password-hashing.pool-size:4}") int poolSize,
+                                   @Value("${worksystem.password-hashing.queue-capacity:64}") int queueCapacity,
+                                   @Value("${worksystem.password-hashing.wait-timeout-ms:5000}") long waitTimeoutMillis) {
+        AtomicInteger seq = new AtomicInteger();
+        this.executor = new ThreadPoolExecutor(poolSize, poolSize, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity),
+                r -> {
+                    Thread t = new Thread(r, "pwd-hash-" + seq.incrementAndGet());
+                    t.setDaemon(true);
+                    return t;
+                },
+                new ThreadPoolExecutor.AbortPolicy());
+        this.waitTimeoutMillis = waitTimeoutMillis;
+        log.info("비밀번호 해시 풀 초기화 - poolSize: {}, queueCapacity: {}, waitTimeoutMs: {}",
+                poolSize, queueCapacity, waitTimeoutMillis);
+    }
+
+    /**
+     * 해시 작업을 전용 풀에서 실행하고 결과를 기다린다.
+     * 포화(대기열 가득)/대기 초과 시 PasswordHashingBusyException.
+     */
+    public <T> T execute(Callable<T> task) {
+        long submittedAt = System.nanoTime();
+        Future<T> future;
+        try {
+            future = executor.submit(() -> {
+                long startedAt = System.nanoTime();
+                queueWait.record(startedAt - submittedAt);
+                try {
+                    return task.call();
+                } finally {
+                    hashTime.record(System.nanoTime() - startedAt);
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            rejected.increment();
+            log.warn("비밀번호 해시 풀 포화 — 요청 거절 (queue: {})", executor.getQueue().size());
+            throw new PasswordHashingBusyException("접속자가 많아 처리할 수 없습니다. 잠시 후 다시 시도해주세요.");
+        }
+
+        try {
+            return future.get(waitTimeoutMillis, TimeUnit.MILLISECONDS);
+        } catch (TimeoutException e) {
+            future.cancel(true);
+            timedOut.increment();
+            log.warn("비밀번호 해시 대기 시간 초과 - {}ms", waitTimeoutMillis);
+            throw new PasswordHashingBusyException("접속자가 많아 처리할 수 없습니다. 잠시 후 다시 시도해주세요.");
+        } catch (InterruptedException e) {
+            future.cancel(true);
+            Thread.currentThread().interrupt();
+            throw new PasswordHashingBusyException("비밀번호 처리가 중단되었습니다. 다시 시도해주세요.");
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof RuntimeException re) {
+                throw re;
+            }
+            throw new IllegalStateException("비밀번호 처리 중 오류가 발생했습니다.", cause);
+        }
+    }
+
+    /** 대기열이 비어 있는지 — 부가 해시(로그인 시 재해시 등)를 지금 수행해도 되는지 판단용 */
+    public boolean isIdle() {
+        return executor.getQueue().isEmpty();
+    }
+
+    @Override
+    public String getStatsName() {
+        return "password-hashing";
+    }
+
+    /** 모니터링용 통계 — 대기열 깊이, 처리량, 대기/해시 시간 분포 */
+    @Override
+    public Map<String, Object> getStats() {
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("poolSize", executor.getMaximumPoolSize());
+        stats.put("active", executor.getActiveCount());
+        stats.put("queueDepth", executor.getQueue().size());
+        stats.put("queueRemaining", executor.getQueue().remainingCapacity());
+        stats.put("completed", executor.getCompletedTaskCount());
+        stats.put("rejected", rejected.sum());
+        stats.put("timedOut", timedOut.sum());
+        stats.put("queueWait", queueWait.snapshot());
+        stats.put("hashTime", hashTime.snapshot());
+        return stats;
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdown();
+    }
+}
@@ -0,0 +1,134 @@
+package com.worksystem.config;
+
+import com.worksystem.entity.RememberMeToken;
+import com.worksystem.service.RememberMeTokenStore;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.core.userdetails.UserDetailsService;
+import org.springframework.security.web.authentication.rememberme.AbstractRememberMeServices;
+import org.springframework.security.web.authentication.rememberme.InvalidCookieException;
+import org.springframework.security.web.authentication.rememberme.RememberMeAuthenticationException;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.security.SecureRandom;
+import java.time.LocalDateTime;
+import java.util.Base64;
+
+/**
+ * Remember-Me 서비스 — 영속 토큰(persistent_logins) 방식
+ *
+ * 쿠키 = series:token (둘 다 임의값). DB에는 token의 SHA-256만 저장하므로 테이블이 유출돼도 쿠키를 만들 수 없다.
+ * 서버에 행이 있어야 자동 로그인이 되므로 즉시 폐기할 수 있다 — 로그아웃은 그 브라우저의 series만,
+ * 비밀번호 변경/사용자 삭제/관리자 조치는 사용자 단위 전체.
+ *
+ * Spring 기본 PersistentTokenBasedRememberMeServices와 달리 자동 로그인마다 token을 교체하지 않는다.
+ * 교체하면 매 사용이 즉시 DB 쓰기가 되고(노드 간 일관성 때문에 지연 불가) 근거리 캐시도 무의미해진다.
+ * 대신 토큰 탈취 감지(교체 불일치)는 없다 — 폐기는 로그아웃/비밀번호 변경/관리자 조치로 한다.
+ *
+ * 만료: last_used + tokenValiditySeconds (DB 기준 슬라이딩). 쿠키 자체는 발급 시점부터 tokenValiditySeconds.
+ */
+@Slf4j
+public class PersistentRememberMeServices extends AbstractRememberMeServices {
+
+    private static final int SERIES_LENGTH = 16;
+    private static final int TOKEN_LENGTH = 32;
+
+    private final RememberMeTokenStore tokenStore;
+    private final SecureRandom random = new SecureRandom();
+
+    public PersistentRememberMeServices(String key, UserDetailsService userDetailsService,
+                                        RememberMeTokenStore tokenStore) {
+        super(key, userDetailsService);
+        this.tokenStore = tokenStore;
+    }
+
+    @Override
+    protected void onLoginSuccess(HttpServletRequest request, HttpServletResponse response,
+                                  Authentication successfulAuthentication) {
+        String username = successfulAuthentication.getName();
+        String series = generateValue(SERIES_LENGTH);
+        String token = generateValue(TOKEN_LENGTH);
+        try {
+            tokenStore.createToken(RememberMeToken.builder()
+                    .series(series)
+                    .username(username)
+                    .token(hash(token))
+                    .lastUsed(LocalDateTime.now())
+                    .build());
+            setCookie(new String[] { series, token }, getTokenValiditySeconds(), request, response);
+        } catch (Exception e) {
+            // 로그인 자체는 성공 — 자동 로그인 쿠키만 발급하지 않음
+            log.error("Remember-Me 토큰 발급 실패 - username: {}", username, e);
+        }
+    }
+
+    @Override
+    protected UserDetails processAutoLoginCookie(String[] cookieTokens, HttpServletRequest request,
+                                                 HttpServletResponse response) {
+        if (cookieTokens.length != 2) {
+            throw new InvalidCookieException("Remember-Me 쿠키 형식이 올바르지 않습니다.");
+        }
+        String series = cookieTokens[0];
+        String presented = cookieTokens[1];
+
+        RememberMeToken stored = tokenStore.findBySeries(series);
+        if (stored == null) {
+            throw new RememberMeAuthenticationException("Remember-Me 토큰이 존재하지 않습니다.");
+        }
+        byte[] expected = stored.getToken().getBytes(StandardCharsets.US_ASCII);
+        byte[] actual = hash(presented).getBytes(StandardCharsets.US_ASCII);
+        if (!MessageDigest.isEqual(expected, actual)) {
+            throw new RememberMeAuthenticationException("Remember-Me 토큰이 일치하지 않습니다.");
+        }
+        if (stored.getLastUsed().plusSeconds(getTokenValiditySeconds()).isBefore(LocalDateTime.now())) {
+            tokenStore.removeSeries(series);
+            throw new RememberMeAuthenticationException("Remember-Me 토큰이 만료되었습니다.");
+        }
+
+        tokenStore.touch(stored);
+        return getUserDetailsService().loadUserByUsername(stored.getUsername());
+    }
+
+    /**
+     * 로그아웃 — 쿠키 삭제(상위 구현) + 이 브라우저가 제시한 쿠키의 series만 폐기
+     * (다른 기기의 자동 로그인은 유지 — 사용자 단위 일괄 폐기는 비밀번호 변경/삭제/관리자 조치 경로의 removeUserTokens)
+     */
+    @Override
+    public void logout(HttpServletRequest request, HttpServletResponse response, Authentication authentication) {
+        String cookie = extractRememberMeCookie(request);
+        super.logout(request, response, authentication);
+        if (cookie == null || cookie.isEmpty()) {
+            return;
+        }
+        try {
+            String[] cookieTokens = decodeCookie(cookie);
+            if (cookieTokens.length == 2) {
+                tokenStore.removeSeries(cookieTokens[0]);
+            }
+        } catch (InvalidCookieException e) {
+            // 형식이 깨진 쿠키 — 폐기할 series 없음 (쿠키는 상위 구현이 이미 삭제)
+        } catch (Exception e) {
+            log.warn("로그아웃 시 Remember-Me 토큰 폐기 실패", e);
+        }
+    }
+
+    private String generateValue(int length) {
+        byte[] bytes = new byte[length];
+        random.nextBytes(bytes);
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(bytes);
+    }
+
+    private static String hash(String value) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            return Base64.getEncoder().encodeToString(digest.digest(value.getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256을 사용할 수 없습니다.", e);
+        }
+    }
+}
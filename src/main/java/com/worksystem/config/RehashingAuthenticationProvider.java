@@ -0,0 +1,55 @@
+package com.worksystem.config;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.security.authentication.dao.DaoAuthenticationProvider;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.core.userdetails.UserDetailsPasswordService;
+
+/**
+ * 로그인 성공 시 저장 해시의 BCrypt 강도가 목표보다 낮으면 재해시 — 최선 노력(best-effort)
+ *
+ * DaoAuthenticationProvider 기본 재해시(setUserDetailsPasswordService)는 upgradeEncoding 확인 뒤
+ * encode를 해시 풀에 따로 넣으므로, 그 사이 풀이 차면 PasswordHashingBusyException이 나서
+ * 비밀번호가 이미 검증된 로그인이 실패한다. 여기서는 재해시를 로그인과 분리한다:
+ * - 해시 풀 대기열에 작업이 있으면 건너뜀 (재해시가 로그인 검증의 자리를 빼앗지 않도록)
+ * - 그래도 encode가 포화/대기 초과로 거절되거나 저장이 실패하면 로그만 남기고 기존 사용자로 성공 처리
+ * 건너뛴 계정은 다음 로그인에서 다시 시도된다 (일괄 마이그레이션 불필요).
+ */
+@Slf4j
+public class RehashingAuthenticationProvider extends DaoAuthenticationProvider {
+
+    private final UserDetailsPasswordService passwordService;
+    private final PasswordHashingExecutor hashingExecutor;
+
+    public RehashingAuthenticationProvider(UserDetailsPasswordService passwordService,
+                                           PasswordHashingExecutor hashingExecutor) {
+        this.passwordService = passwordService;
+        this.hashingExecutor = hashingExecutor;
+    }
+
+    @Override
+    protected Authentication createSuccessAuthentication(Object principal, Authentication authentication,
+                                                         UserDetails user) {
+        return super.createSuccessAuthentication(principal, authentication, rehashIfNeeded(authentication, user));
+    }
+
+    private UserDetails rehashIfNeeded(Authentication authentication, UserDetails user) {
+        if (authentication.getCredentials() == null || !getPasswordEncoder().upgradeEncoding(user.getPassword())) {
+            return user;
+        }
+        if (!hashingExecutor.isIdle()) {
+            log.debug("해시 풀 대기 중 — 재해시 건너뜀 - userId: {}", user.getUsername());
+            return user;
+        }
+        try {
+            String newPassword = getPasswordEncoder().encode(authentication.getCredentials().toString());
+            return passwordService.updatePassword(user, newPassword);
+        } catch (PasswordHashingBusyException e) {
+            log.debug("해시 풀 포화 — 재해시 건너뜀 - userId: {}", user.getUsername());
+        } catch (RuntimeException e) {
+            log.warn("비밀번호 재해시 실패 — 기존 해시 유지 - userId: {}", user.getUsername(), e);
+        }
+        return user;
+    }
+}
@@ -0,0 +1,12 @@
+package com.worksystem.config;
+
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
+
+/**
+ * 스케줄링 설정 — 인메모리 버퍼의 주기적 DB 반영(@Scheduled) 등 백그라운드 작업용
+ */
+@Configuration
+@EnableScheduling
+public class SchedulingConfig {
+}
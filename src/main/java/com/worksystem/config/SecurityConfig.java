@@ -1,7 +1,10 @@
 package com.worksystem.config;
 
+import com.worksystem.service.RememberMeTokenStore;
 import com.worksystem.service.UserService;
+import jakarta.servlet.DispatcherType;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.security.authentication.AuthenticationProvider;
@@ -9,12 +12,13 @@ import org.springframework.security.authentication.dao.DaoAuthenticationProvider
 import org.springframework.security.config.annotation.web.builders.HttpSecurity;
 import org.springframework.security.config.annotation.web.configuration.EnableWebSecurity;
 import org.springframework.security.config.annotation.web.configuration.WebSecurityCustomizer;
-import org.springframework.security.core.session.SessionRegistry;
-import org.springframework.security.core.session.SessionRegistryImpl;
-import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.security.web.SecurityFilterChain;
+import org.springframework.security.web.authentication.RememberMeServices;
+import org.springframework.security.web.authentication.UsernamePasswordAuthenticationFilter;
 import org.springframework.security.web.util.matcher.AntPathRequestMatcher;
+import org.springframework.session.FindByIndexNameSessionRepository;
+import org.springframework.session.Session;
 
 /**
  * Spring Security 설정
@@ -22,6 +26,9 @@ import org.springframework.security.web.util.matcher.AntPathRequestMatcher;
 @Configuration
 @EnableWebSecurity
 public class SecurityConfig {
+
+    private static final String REMEMBER_ME_KEY = "worksystem-remember-me-key";
+    private static final String LOGIN_PROCESSING_URL = "/api/auth/login";
     
     @Autowired
     private UserService userService;
@@ -34,32 +41,71 @@ public class SecurityConfig {
 
     @Autowired
     private LogoutHistoryHandler logoutHistoryHandler;
+
+    @Autowired
+    private LoginThrottle loginThrottle;
+
+    @Autowired
+    private ClientIpResolver clientIpResolver;
+
+    @Autowired
+    private LoginPhaseMetrics loginPhaseMetrics;
+
+    @Autowired
+    private PasswordHashingExecutor passwordHashingExecutor;
+
+    @Autowired
+    private RememberMeTokenStore rememberMeTokenStore;
+
+    // Spring Boot가 등록한 JdbcIndexedSessionRepository (SPRING_SESSION)
+    @Autowired
+    private FindByIndexNameSessionRepository<? extends Session> sessionRepository;
+
+    @Value("${worksystem.session-registry.cache-ttl-ms:5000}")
+    private long sessionRegistryCacheTtlMillis;
+
+    @Value("${worksystem.session-registry.cache-max-size:10000}")
+    private int sessionRegistryCacheMaxSize;
+
+    // 기본 7일 — RememberMeTokenStore의 만료 정리 기준과 같은 속성
+    @Value("${worksystem.remember-me.validity-seconds:604800}")
+    private int rememberMeValiditySeconds;
+
+    // BCrypt + 전용 해시 풀 — PasswordEncoderConfig (UserService와의 순환 참조 회피로 분리)
+    @Autowired
+    private PasswordEncoder passwordEncoder;
     
     /**
-     * 비밀번호 인코더 - BCrypt 사용
+     * 세션 레지스트리 - 동시 세션 제한(maximumSessions)을 SPRING_SESSION 기준으로 전 노드에 적용
      */
     @Bean
-    public PasswordEncoder passwordEncoder() {
-        return new BCryptPasswordEncoder();
+    public ClusterSessionRegistry sessionRegistry() {
+        return new ClusterSessionRegistry(sessionRepository, sessionRegistryCacheTtlMillis, sessionRegistryCacheMaxSize);
     }
     
     /**
-     * 세션 레지스트리 - 세션 관리를 위한 Bean
+     * DaoAuthenticationProvider 설정
+     * BCrypt 강도가 목표보다 낮은 저장 해시는 로그인 성공 시 재해시 — 해시 풀이 바쁘면 건너뛰어
+     * 로그인을 실패시키지 않는다 (RehashingAuthenticationProvider, 기본 setUserDetailsPasswordService 미사용)
      */
     @Bean
-    public SessionRegistry sessionRegistry() {
-        return new SessionRegistryImpl();
+    public AuthenticationProvider authenticationProvider() {
+        DaoAuthenticationProvider authProvider = new RehashingAuthenticationProvider(userService, passwordHashingExecutor);
+        authProvider.setUserDetailsService(userService);
+        authProvider.setPasswordEncoder(passwordEncoder);
+        return authProvider;
     }
     
     /**
-     * DaoAuthenticationProvider 설정
+     * Remember-Me 서비스 - 영속 토큰(persistent_logins) + 근거리 캐시
      */
     @Bean
-    public AuthenticationProvider authenticationProvider() {
-        DaoAuthenticationProvider authProvider = new DaoAuthenticationProvider();
-        authProvider.setUserDetailsService(userService);
-        authProvider.setPasswordEncoder(passwordEncoder());
-        return authProvider;
+    public RememberMeServices rememberMeServices() {
+        PersistentRememberMeServices services =
+                new PersistentRememberMeServices(REMEMBER_ME_KEY, userService, rememberMeTokenStore);
+        services.setTokenValiditySeconds(rememberMeValiditySeconds);
+        services.setParameter("remember-me");
+        return services;
     }
     
     /**
@@ -95,6 +141,9 @@ public class SecurityConfig {
         
         // 요청 권한 설정
         .authorizeHttpRequests(auth -> auth
+            // 0. 비동기 디스패치(SSE 세션 이벤트 스트림 완료 등)는 최초 요청에서 이미 인가됨
+            .dispatcherTypeMatchers(DispatcherType.ASYNC).permitAll()
+
             // 1. 정적 리소스를 가장 먼저 허용
             .requestMatchers("/js/**").permitAll()
             .requestMatchers("/css/**").permitAll()
@@ -109,7 +158,7 @@ public class SecurityConfig {
             
             // 2. 로그인 관련 페이지와 API 허용
             .requestMatchers("/login.html", "/login").permitAll()
-            .requestMatchers("/api/auth/login").permitAll()
+            .requestMatchers(LOGIN_PROCESSING_URL).permitAll()
             .requestMatchers("/error").permitAll()
             
             // 3. 인증된 사용자만 접근 가능한 API
@@ -124,6 +173,9 @@ public class SecurityConfig {
             // 접속 로그: ADMIN 전용
             .requestMatchers("/api/session-logs/**").hasRole("ADMIN")
 
+            // 운영 모니터링(캐시/큐 카운터): ADMIN 전용
+            .requestMatchers("/api/monitor/**").hasRole("ADMIN")
+
             // 게시판: 게시글/헤더는 인증 사용자, 정의 관리는 ADMIN (선선언 우선)
             .requestMatchers("/api/boards/*/posts/**").authenticated()
             .requestMatchers("/api/boards/*/info").authenticated()
@@ -142,7 +194,7 @@ public class SecurityConfig {
         // 폼 로그인 설정
         .formLogin(form -> form
             .loginPage("/login.html")
-            .loginProcessingUrl("/api/auth/login")
+            .loginProcessingUrl(LOGIN_PROCESSING_URL)
             .usernameParameter("userId")
             .passwordParameter("password")
             .successHandler(loginSuccessHandler)
@@ -151,12 +203,10 @@ public class SecurityConfig {
             .permitAll()
         )
 
-        // Remember-Me 기능 추가
+        // Remember-Me 기능 추가 (영속 토큰 — 로그아웃/비밀번호 변경 시 서버에서 폐기 가능)
         .rememberMe(remember -> remember
-            .key("worksystem-remember-me-key")
-            .tokenValiditySeconds(86400 * 7)
-            .userDetailsService(userService)
-            .rememberMeParameter("remember-me")
+            .key(REMEMBER_ME_KEY)
+            .rememberMeServices(rememberMeServices())
         )
 
         // 로그아웃 설정 (logoutSuccessUrl과 핸들러는 상호배타 — 핸들러가 LOGOUT 기록 후 직접 리다이렉트)
@@ -216,6 +266,14 @@ public class SecurityConfig {
         
         // 인증 제공자 설정
         .authenticationProvider(authenticationProvider())
+
+        // 로그인 시도 제한 — 인증 필터(=BCrypt 검증) 앞에서 IP/userId 토큰 버킷 검사
+        .addFilterBefore(new LoginThrottleFilter(loginThrottle, clientIpResolver, LOGIN_PROCESSING_URL),
+                UsernamePasswordAuthenticationFilter.class)
+
+        // 로그인 단계별 소요 시간 계측 범위 (시도 제한보다 바깥 — 거절된 요청은 집계에서 제외됨)
+        .addFilterBefore(new LoginTimingFilter(loginPhaseMetrics, LOGIN_PROCESSING_URL),
+                LoginThrottleFilter.class)
         
         .build();
     }
@@ -0,0 +1,293 @@
+package com.worksystem.config;
+
+import com.worksystem.common.LatencyHistogram;
+import org.springframework.core.serializer.support.DeserializingConverter;
+import org.springframework.core.serializer.support.SerializingConverter;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.core.context.SecurityContext;
+import org.springframework.security.core.context.SecurityContextImpl;
+import org.springframework.security.core.userdetails.User;
+import org.springframework.security.web.authentication.WebAuthenticationDetails;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 세션 속성 직렬화기 — SPRING_SESSION_ATTRIBUTES.ATTRIBUTE_BYTES 형식 (SessionSerializationConfig가 등록)
+ *
+ * 압축 형식: [MAGIC 0x57][FORMAT_VERSION][타입 ID][본문] — 타입 ID별 코덱이 필드를 직접 쓰고 읽는다.
+ * 등록된 타입(SecurityContext, String)만 압축 형식으로 쓰고, 그 밖의 값은 기존 JDK 직렬화 그대로 쓴다.
+ * SecurityContext의 JDK 직렬화는 클래스 기술자만 수 KB라, 매 요청 읽기/쓰기 비용의 대부분을 차지한다.
+ *
+ * 읽기는 첫 바이트로 판별한다 — JDK 스트림(0xAC 0xED)은 기존 방식으로 역직렬화하므로 배포 전에 만들어진
+ * 세션도 유지되고, format=jdk로 되돌려도 이미 압축 형식으로 저장된 세션을 읽을 수 있다.
+ *
+ * 압축 코덱은 예상한 구현 클래스(SecurityContextImpl + UsernamePasswordAuthenticationToken + User 등)와
+ * 정확히 일치할 때만 적용한다. 비밀번호(credentials)가 남아 있는 인증 객체는 지원하지 않는다(JDK로 폴백).
+ */
+public class SessionAttributeSerializer {
+
+    private static final byte MAGIC = 0x57;
+    private static final byte FORMAT_VERSION = 1;
+
+    private static final byte TYPE_STRING = 1;
+    private static final byte TYPE_SECURITY_CONTEXT = 2;
+
+    private static final int MAX_COMPACT_STRING_LENGTH = 16_000;
+
+    private static final byte DETAILS_NONE = 0;
+    private static final byte DETAILS_WEB = 1;
+
+    private final boolean compactEnabled;
+    private final SerializingConverter jdkSerializer = new SerializingConverter();
+    private final DeserializingConverter jdkDeserializer;
+
+    private final Stats compactStats = new Stats();
+    private final Stats jdkStats = new Stats();
+    private final LongAdder legacyReads = new LongAdder();
+    private final LatencyHistogram decodeTime = new LatencyHistogram();
+
+    public SessionAttributeSerializer(boolean compactEnabled, ClassLoader classLoader) {
+        this.compactEnabled = compactEnabled;
+        this.jdkDeserializer = new DeserializingConverter(classLoader);
+    }
+
+    /** 속성 값 → 바이트 */
+    public byte[] serialize(Object value) {
+        if (compactEnabled) {
+            byte[] compact = tryCompact(value);
+            if (compact != null) {
+                compactStats.record(compact.length);
+                return compact;
+            }
+        }
+        byte[] bytes = jdkSerializer.convert(value);
+        jdkStats.record(bytes.length);
+        return bytes;
+    }
+
+    /** 바이트 → 속성 값 (압축/JDK 형식 자동 판별) */
+    public Object deserialize(byte[] bytes) {
+        long start = System.nanoTime();
+        try {
+            if (bytes.length >= 3 && bytes[0] == MAGIC) {
+                return readCompact(bytes);
+            }
+            legacyReads.increment();
+            return jdkDeserializer.convert(bytes);
+        } finally {
+            decodeTime.record(System.nanoTime() - start);
+        }
+    }
+
+    /** 모니터링용 통계 — 형식별 건수/크기, JDK 형식 읽기 수(롤아웃 진행도), 역직렬화 시간 */
+    public Map<String, Object> getStats() {
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("format", compactEnabled ? "compact" : "jdk");
+        stats.put("compactWrites", compactStats.snapshot());
+        stats.put("jdkWrites", jdkStats.snapshot());
+        stats.put("jdkReads", legacyReads.sum());
+        stats.put("decodeTime", decodeTime.snapshot());
+        return stats;
+    }
+
+    // ===== 압축 형식 =====
+
+    private byte[] tryCompact(Object value) {
+        try {
+            // writeUTF는 65535바이트 상한 — 긴 문자열은 JDK 형식으로
+            if (value instanceof String s && s.length() <= MAX_COMPACT_STRING_LENGTH) {
+                ByteArrayOutputStream buffer = new ByteArrayOutputStream(s.length() + 8);
+                DataOutputStream out = header(buffer, TYPE_STRING);
+                out.writeUTF(s);
+                return buffer.toByteArray();
+            }
+            if (isSupportedSecurityContext(value)) {
+                ByteArrayOutputStream buffer = new ByteArrayOutputStream(256);
+                DataOutputStream out = header(buffer, TYPE_SECURITY_CONTEXT);
+                writeSecurityContext((SecurityContext) value, out);
+                return buffer.toByteArray();
+            }
+            return null;
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private Object readCompact(byte[] bytes) {
+        try (DataInputStream in = new DataInputStream(new ByteArrayInputStream(bytes))) {
+            in.readByte();  // MAGIC
+            byte version = in.readByte();
+            if (version != FORMAT_VERSION) {
+                throw new IllegalStateException("지원하지 않는 세션 속성 형식 버전: " + version);
+            }
+            byte type = in.readByte();
+            return switch (type) {
+                case TYPE_STRING -> in.readUTF();
+                case TYPE_SECURITY_CONTEXT -> readSecurityContext(in);
+                default -> throw new IllegalStateException("알 수 없는 세션 속성 타입: " + type);
+            };
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private static DataOutputStream header(ByteArrayOutputStream buffer, byte type) throws IOException {
+        DataOutputStream out = new DataOutputStream(buffer);
+        out.writeByte(MAGIC);
+        out.writeByte(FORMAT_VERSION);
+        out.writeByte(type);
+        return out;
+    }
+
+    /** 정확한 클래스 일치만 허용 — 하위 클래스의 추가 필드를 조용히 잃지 않도록 */
+    private static boolean isSupportedSecurityContext(Object value) {
+        if (value == null || value.getClass() != SecurityContextImpl.class) {
+            return false;
+        }
+        Authentication auth = ((SecurityContext) value).getAuthentication();
+        if (auth == null) {
+            return true;
+        }
+        if (auth.getClass() != UsernamePasswordAuthenticationToken.class || !auth.isAuthenticated()
+                || auth.getCredentials() != null) {
+            return false;
+        }
+        if (auth.getPrincipal() == null || auth.getPrincipal().getClass() != User.class) {
+            return false;
+        }
+        Object details = auth.getDetails();
+        if (details != null && details.getClass() != WebAuthenticationDetails.class) {
+            return false;
+        }
+        User user = (User) auth.getPrincipal();
+        return user.getPassword() == null
+                && allSimple(auth.getAuthorities()) && allSimple(user.getAuthorities());
+    }
+
+    private static boolean allSimple(Collection<? extends GrantedAuthority> authorities) {
+        for (GrantedAuthority authority : authorities) {
+            if (authority.getClass() != SimpleGrantedAuthority.class) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static void writeSecurityContext(SecurityContext context, DataOutputStream out) throws IOException {
+        Authentication auth = context.getAuthentication();
+        out.writeBoolean(auth != null);
+        if (auth == null) {
+            return;
+        }
+        User user = (User) auth.getPrincipal();
+        out.writeUTF(user.getUsername());
+        out.writeBoolean(user.isEnabled());
+        out.writeBoolean(user.isAccountNonExpired());
+        out.writeBoolean(user.isCredentialsNonExpired());
+        out.writeBoolean(user.isAccountNonLocked());
+        writeAuthorities(user.getAuthorities(), out);
+        writeAuthorities(auth.getAuthorities(), out);
+
+        Object details = auth.getDetails();
+        if (details instanceof WebAuthenticationDetails web) {
+            out.writeByte(DETAILS_WEB);
+            writeNullable(web.getRemoteAddress(), out);
+            writeNullable(web.getSessionId(), out);
+        } else {
+            out.writeByte(DETAILS_NONE);
+        }
+    }
+
+    private static SecurityContext readSecurityContext(DataInputStream in) throws IOException {
+        SecurityContextImpl context = new SecurityContextImpl();
+        if (!in.readBoolean()) {
+            return context;
+        }
+        String username = in.readUTF();
+        boolean enabled = in.readBoolean();
+        boolean accountNonExpired = in.readBoolean();
+        boolean credentialsNonExpired = in.readBoolean();
+        boolean accountNonLocked = in.readBoolean();
+        List<GrantedAuthority> userAuthorities = readAuthorities(in);
+        List<GrantedAuthority> tokenAuthorities = readAuthorities(in);
+
+        // User 생성자는 null 비밀번호를 거부하므로 빈 값으로 만든 뒤 지움 (저장 시점 상태 = 지워진 상태)
+        User user = new User(username, "", enabled, accountNonExpired, credentialsNonExpired,
+                accountNonLocked, userAuthorities);
+        user.eraseCredentials();
+
+        UsernamePasswordAuthenticationToken token =
+                UsernamePasswordAuthenticationToken.authenticated(user, null, tokenAuthorities);
+        if (in.readByte() == DETAILS_WEB) {
+            token.setDetails(new WebAuthenticationDetails(readNullable(in), readNullable(in)));
+        }
+        context.setAuthentication(token);
+        return context;
+    }
+
+    private static void writeAuthorities(Collection<? extends GrantedAuthority> authorities,
+                                         DataOutputStream out) throws IOException {
+        out.writeShort(authorities.size());
+        for (GrantedAuthority authority : authorities) {
+            out.writeUTF(authority.getAuthority());
+        }
+    }
+
+    private static List<GrantedAuthority> readAuthorities(DataInputStream in) throws IOException {
+        int size = in.readUnsignedShort();
+        List<GrantedAuthority> authorities = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            authorities.add(new SimpleGrantedAuthority(in.readUTF()));
+        }
+        return authorities;
+    }
+
+    private static void writeNullable(String value, DataOutputStream out) throws IOException {
+        out.writeBoolean(value != null);
+        if (value != null) {
+            out.writeUTF(value);
+        }
+    }
+
+    private static String readNullable(DataInputStream in) throws IOException {
+        return in.readBoolean() ? in.readUTF() : null;
+    }
+
+    /** 형식별 쓰기 건수/바이트 */
+    private static final class Stats {
+        private final LongAdder count = new LongAdder();
+        private final LongAdder bytes = new LongAdder();
+        private final AtomicLong max = new AtomicLong();
+
+        void record(int size) {
+            count.increment();
+            bytes.add(size);
+            max.accumulateAndGet(size, Math::max);
+        }
+
+        Map<String, Object> snapshot() {
+            long n = count.sum();
+            long total = bytes.sum();
+            Map<String, Object> m = new LinkedHashMap<>();
+            m.put("count", n);
+            m.put("avgBytes", n == 0 ? 0 : total / n);
+            m.put("maxBytes", max.get());
+            return m;
+        }
+    }
+}
@@ -0,0 +1,98 @@
+package com.worksystem.config;
+
+import com.worksystem.mapper.SessionCacheMapper;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.BeansException;
+import org.springframework.beans.factory.BeanFactory;
+import org.springframework.beans.factory.BeanFactoryAware;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.ApplicationEventPublisherAware;
+import org.springframework.context.EnvironmentAware;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.session.FindByIndexNameSessionRepository;
+import org.springframework.session.Session;
+import org.springframework.session.jdbc.JdbcIndexedSessionRepository;
+
+/**
+ * 세션 근거리 캐시 설정 — Spring Boot가 만든 JdbcIndexedSessionRepository를 CachingSessionRepository로 감싼다.
+ *
+ * 별도 SessionRepository 빈을 선언하면 Boot의 JDBC 세션 자동 설정이 물러나므로(@ConditionalOnMissingBean)
+ * 빈 후처리기로 기존 빈을 교체한다. SessionRepositoryFilter, SessionLogService(강제 만료),
+ * ClusterSessionRegistry 모두 같은 빈(데코레이터)을 주입받는다.
+ * worksystem.session-cache.enabled=false면 감싸지 않는다 (기존 JDBC 동작).
+ */
+@Slf4j
+@Configuration
+public class SessionCacheConfig {
+
+    @Autowired
+    private FindByIndexNameSessionRepository<? extends Session> sessionRepository;
+
+    @Bean
+    public static BeanPostProcessor cachingSessionRepositoryPostProcessor() {
+        return new CachingSessionRepositoryPostProcessor();
+    }
+
+    /** 접근 시각 쓰기 지연 버퍼 반영 */
+    @Scheduled(fixedDelayString = "${worksystem.session-cache.flush-interval-ms:5000}")
+    public void flushAccessTimes() {
+        if (sessionRepository instanceof CachingSessionRepository<?> caching) {
+            caching.flushTouches();
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        flushAccessTimes();
+    }
+
+    /**
+     * 후처리기 — 정적 @Bean이라 @Value 대신 Environment에서 설정을 읽고,
+     * 매퍼는 감쌀 시점에 BeanFactory에서 꺼낸다 (후처리기 등록 단계의 조기 초기화 방지).
+     */
+    static class CachingSessionRepositoryPostProcessor
+            implements BeanPostProcessor, BeanFactoryAware, EnvironmentAware, ApplicationEventPublisherAware {
+
+        private BeanFactory beanFactory;
+        private Environment environment;
+        private ApplicationEventPublisher eventPublisher;
+
+        @Override
+        public void setBeanFactory(BeanFactory beanFactory) {
+            this.beanFactory = beanFactory;
+        }
+
+        @Override
+        public void setEnvironment(Environment environment) {
+            this.environment = environment;
+        }
+
+        @Override
+        public void setApplicationEventPublisher(ApplicationEventPublisher eventPublisher) {
+            this.eventPublisher = eventPublisher;
+        }
+
+        @Override
+        public Object postProcessAfterInitialization(Object bean, String beanName) throws BeansException {
+            if (!(bean instanceof JdbcIndexedSessionRepository jdbcRepository)) {
+                return bean;
+            }
+            if (!environment.getProperty("worksystem.session-cache.enabled", Boolean.class, true)) {
+                return bean;
+            }
+            int maxSize = environment.getProperty("worksystem.session-cache.max-size", Integer.class, 10000);
+            long intervalSeconds = environment.getProperty(
+                    "worksystem.session-cache.access-write-interval-seconds", Long.class, 60L);
+            log.info("세션 근거리 캐시 적용 - maxSize: {}, accessWriteIntervalSeconds: {}", maxSize, intervalSeconds);
+            return new CachingSessionRepository<>(jdbcRepository, beanFactory.getBean(SessionCacheMapper.class),
+                    beanFactory.getBean(SessionAttributeSerializer.class), eventPublisher,
+                    maxSize, intervalSeconds * 1000L);
+        }
+    }
+}
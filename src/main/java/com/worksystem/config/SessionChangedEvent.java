@@ -0,0 +1,35 @@
+package com.worksystem.config;
+
+import org.springframework.context.ApplicationEvent;
+import org.springframework.session.Session;
+
+/**
+ * 세션 변경 이벤트 — 속성/ID 변경 저장 또는 접근 시각 반영 시 세션 저장소(CachingSessionRepository,
+ * MemorySessionRepository)가 발행한다. 생성/삭제/만료는 Spring Session 표준 이벤트
+ * (SessionCreatedEvent, SessionDeletedEvent, SessionExpiredEvent)를 쓴다.
+ *
+ * Spring Session의 AbstractSessionEvent는 생성자가 패키지 전용이라 ApplicationEvent를 직접 상속한다.
+ */
+public class SessionChangedEvent extends ApplicationEvent {
+
+    private final Session session;
+    private final String previousSessionId;
+
+    /**
+     * @param session           변경 후 세션 (저장 시점의 사본)
+     * @param previousSessionId ID가 바뀐 경우 이전 ID, 아니면 null
+     */
+    public SessionChangedEvent(Object source, Session session, String previousSessionId) {
+        super(source);
+        this.session = session;
+        this.previousSessionId = previousSessionId;
+    }
+
+    public Session getSession() {
+        return session;
+    }
+
+    public String getPreviousSessionId() {
+        return previousSessionId;
+    }
+}
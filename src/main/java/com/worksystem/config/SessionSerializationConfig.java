@@ -0,0 +1,34 @@
+package com.worksystem.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.convert.ConversionService;
+import org.springframework.core.convert.support.GenericConversionService;
+
+/**
+ * 세션 속성 직렬화 설정 — Spring Session JDBC가 ATTRIBUTE_BYTES 변환에 쓰는
+ * springSessionConversionService 빈을 SessionAttributeSerializer로 교체한다.
+ *
+ * worksystem.session-serialization.format: compact(기본) | jdk
+ * 어느 쪽이든 읽기는 두 형식을 모두 지원하므로 전환/롤백 중에도 기존 세션이 유지된다.
+ */
+@Configuration
+public class SessionSerializationConfig {
+
+    @Value("${worksystem.session-serialization.format:compact}")
+    private String format;
+
+    @Bean
+    public SessionAttributeSerializer sessionAttributeSerializer() {
+        return new SessionAttributeSerializer(!"jdk".equalsIgnoreCase(format), getClass().getClassLoader());
+    }
+
+    @Bean("springSessionConversionService")
+    public ConversionService springSessionConversionService(SessionAttributeSerializer sessionAttributeSerializer) {
+        GenericConversionService conversionService = new GenericConversionService();
+        conversionService.addConverter(Object.class, byte[].class, sessionAttributeSerializer::serialize);
+        conversionService.addConverter(byte[].class, Object.class, sessionAttributeSerializer::deserialize);
+        return conversionService;
+    }
+}
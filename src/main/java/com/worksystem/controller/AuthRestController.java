@@ -1,16 +1,12 @@
 package com.worksystem.controller;
 
-import com.worksystem.dto.UserDTO;
-import com.worksystem.entity.User;
-import com.worksystem.service.UserService;
+import com.worksystem.service.LoginBootstrapService;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.web.bind.annotation.*;
 
-import java.util.HashMap;
-import java.util.List;
 import java.util.Map;
 
 /**
@@ -21,7 +17,7 @@ import java.util.Map;
 public class AuthRestController {
 
     @Autowired
-    private UserService userService;
+    private LoginBootstrapService loginBootstrapService;
 
     /**
      * 현재 로그인한 사용자 정보 반환
@@ -34,25 +30,13 @@ public class AuthRestController {
             return ResponseEntity.ok(Map.of("authenticated", false));
         }
 
-        // 사용자 정보를 그룹 정보와 함께 조회
-        UserDTO user = userService.findUserWithGroups(auth.getName());
+        // 사용자 정보를 그룹 정보와 함께 조회 (JSON 로그인 부트스트랩과 같은 형태)
+        Map<String, Object> response = loginBootstrapService.getUserProfile(auth);
         
-        if (user == null) {
+        if (response == null) {
             return ResponseEntity.ok(Map.of("authenticated", false));
         }
 
-        Map<String, Object> response = new HashMap<>();
-        response.put("authenticated", true);
-        response.put("userId", user.getUserId());
-        response.put("name", user.getName());
-        response.put("email", user.getEmail());
-        response.put("department", user.getDepartment());
-        response.put("groupIds", user.getGroupIds());
-        response.put("groupNames", user.getGroupNames());
-        response.put("primaryGroupId", user.getPrimaryGroupId());
-        response.put("primaryGroupName", user.getPrimaryGroupName());
-        response.put("authorities", auth.getAuthorities());
-
         return ResponseEntity.ok(response);
     }
 }
\ No newline at end of file
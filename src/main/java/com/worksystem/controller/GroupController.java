@@ -128,17 +128,17 @@ public class GroupController {
     }
 
     /**
-     * 그룹 권한 저장
+     * 그룹 권한 저장 (바뀐 메뉴만 반영 — 추가/수정/삭제/변경 없음 건수 반환)
      */
     @PostMapping("/{groupId}/permissions")
-    public ApiResponse<Void> saveGroupPermissions(
+    public ApiResponse<Map<String, Integer>> saveGroupPermissions(
             @PathVariable String groupId,
             @RequestBody List<GroupMenuPermissionDTO> permissions) {
 
         log.info("그룹 권한 저장 API 호출 - groupId: {}, 권한 수: {}", groupId, permissions.size());
 
-        groupService.saveGroupPermissions(groupId, permissions);
-        return ApiResponse.okMessage("그룹 권한이 성공적으로 저장되었습니다");
+        Map<String, Integer> result = groupService.saveGroupPermissions(groupId, permissions);
+        return ApiResponse.ok("그룹 권한이 성공적으로 저장되었습니다", result);
     }
 
     /**
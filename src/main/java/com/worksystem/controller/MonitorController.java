@@ -0,0 +1,101 @@
+package com.worksystem.controller;
+
+import com.worksystem.common.ApiResponse;
+import com.worksystem.common.StatsProvider;
+import com.worksystem.config.CachingSessionRepository;
+import com.worksystem.config.MemorySessionRepository;
+import com.worksystem.config.SessionAttributeSerializer;
+import com.worksystem.service.SessionLogService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.session.FindByIndexNameSessionRepository;
+import org.springframework.session.Session;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+
+/**
+ * 운영 모니터링 REST 컨트롤러 (ADMIN 전용 — SecurityConfig 인가)
+ *
+ * 인메모리 캐시/큐 등 프로세스 내부 상태의 카운터를 조회한다. 값은 노드(JVM)별이다.
+ * 통계를 내는 컴포넌트는 StatsProvider를 구현하면 GET /api/monitor/{이름}으로 자동 노출된다
+ * (예: user-cache, login-throttle, session-events, permission-matrix). 이름 목록은 GET /api/monitor.
+ * 세션 저장소처럼 설정에 따라 구현이 바뀌거나 여러 출처를 합치는 것만 아래에 개별 엔드포인트로 둔다.
+ * 응답은 공통 ApiResponse {success, message, data} 표준을 따른다.
+ */
+@RestController
+@RequestMapping("/api/monitor")
+@RequiredArgsConstructor
+public class MonitorController {
+
+    private final List<StatsProvider> statsProviders;
+    private final FindByIndexNameSessionRepository<? extends Session> sessionRepository;
+    private final SessionAttributeSerializer sessionAttributeSerializer;
+    private final SessionLogService sessionLogService;
+
+    /**
+     * 조회 가능한 통계 이름 목록
+     */
+    @GetMapping
+    public ApiResponse<List<String>> getStatsNames() {
+        List<String> names = new ArrayList<>(statsProviders.stream()
+                .map(StatsProvider::getStatsName)
+                .sorted()
+                .toList());
+        names.add("session-cache");
+        names.add("session-store");
+        names.add("session-serialization");
+        return ApiResponse.ok(names);
+    }
+
+    /**
+     * 컴포넌트별 통계 (StatsProvider 이름) — 없는 이름이면 404
+     */
+    @GetMapping("/{name}")
+    public ApiResponse<Map<String, Object>> getStats(@PathVariable String name) {
+        StatsProvider provider = statsProviders.stream()
+                .filter(p -> p.getStatsName().equals(name))
+                .findFirst()
+                .orElseThrow(() -> new NoSuchElementException("모니터링 통계를 찾을 수 없습니다: " + name));
+        return ApiResponse.ok(provider.getStats());
+    }
+
+    /**
+     * 세션 근거리 캐시 통계 (적중률, 버전 불일치/타 노드 삭제 감지, 접근 시각 쓰기 지연 반영 수)
+     */
+    @GetMapping("/session-cache")
+    public ApiResponse<Map<String, Object>> getSessionCacheStats() {
+        if (sessionRepository instanceof CachingSessionRepository<?> caching) {
+            return ApiResponse.ok(caching.getStats());
+        }
+        return ApiResponse.ok(Map.of("enabled", false));
+    }
+
+    /**
+     * 메모리 세션 저장소 통계 (worksystem.session-store.type=memory — 세션 수, 재직렬화/재사용 속성 수, 스냅샷 기록)
+     */
+    @GetMapping("/session-store")
+    public ApiResponse<Map<String, Object>> getSessionStoreStats() {
+        if (sessionRepository instanceof MemorySessionRepository memory) {
+            return ApiResponse.ok(memory.getStats());
+        }
+        return ApiResponse.ok(Map.of("type", "jdbc"));
+    }
+
+    /**
+     * 세션 속성 직렬화 통계 — 이 노드의 형식별 쓰기 크기/역직렬화 시간 + DB 기준 세션별 크기 요약
+     */
+    @GetMapping("/session-serialization")
+    public ApiResponse<Map<String, Object>> getSessionSerializationStats() {
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("serializer", sessionAttributeSerializer.getStats());
+        stats.put("perSession", sessionLogService.getSessionSizeStats());
+        return ApiResponse.ok(stats);
+    }
+}
@@ -0,0 +1,38 @@
+package com.worksystem.controller;
+
+import com.worksystem.service.SessionEventDispatcher;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import jakarta.servlet.http.HttpSession;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.MediaType;
+import org.springframework.security.core.Authentication;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+/**
+ * 세션 이벤트 스트림(SSE) — 메인 창(index.html)이 창마다 하나 연결한다 (session-events.js)
+ *
+ * 이벤트: session-expired(세션 만료/강제 만료/로그아웃), permissions-changed(메뉴 권한 변경)
+ */
+@RestController
+@RequestMapping("/api/session-events")
+@RequiredArgsConstructor
+public class SessionEventController {
+
+    private final SessionEventDispatcher sessionEventDispatcher;
+
+    @GetMapping(produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter subscribe(HttpServletRequest request, HttpServletResponse response,
+                                Authentication authentication) {
+        HttpSession session = request.getSession(false);
+        if (session == null || authentication == null) {
+            throw new IllegalStateException("세션이 없습니다.");
+        }
+        // 리버스 프록시(nginx) 응답 버퍼링 해제 — 이벤트가 바로 전달되도록
+        response.setHeader("X-Accel-Buffering", "no");
+        return sessionEventDispatcher.connect(session.getId(), authentication.getName());
+    }
+}
@@ -1,17 +1,28 @@
 package com.worksystem.controller;
 
 import com.worksystem.common.ApiResponse;
-import com.worksystem.dto.ActiveSessionDTO;
-import com.worksystem.dto.LoginHistoryDTO;
+import com.worksystem.dto.ActiveSessionPageDTO;
+import com.worksystem.dto.LoginAnomalyAlertDTO;
+import com.worksystem.dto.LoginHistoryPageDTO;
+import com.worksystem.dto.LoginStatPointDTO;
+import com.worksystem.service.LoginAnomalyDetector;
+import com.worksystem.service.LoginStatsService;
 import com.worksystem.service.SessionLogService;
 import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
 import org.springframework.web.bind.annotation.*;
 
+import java.io.IOException;
 import java.time.LocalDate;
+import java.time.format.DateTimeFormatter;
 import java.util.List;
+import java.util.Map;
+import java.util.zip.GZIPOutputStream;
 
 /**
  * 접속 로그 REST 컨트롤러 (ADMIN 전용 — SecurityConfig 인가)
@@ -25,25 +36,102 @@ import java.util.List;
 public class SessionLogController {
 
     private final SessionLogService sessionLogService;
+    private final LoginStatsService loginStatsService;
+    private final LoginAnomalyDetector loginAnomalyDetector;
 
     /**
-     * 로그인 이력 조회 (기간 미지정 시 최근 7일, 최신순 LIMIT 1000)
+     * 로그인 이력 페이지 조회 (기간 미지정 시 최근 7일, 최신순 키셋 페이징 — 다음 페이지는 nextCursor 전달)
+     * userMatch: EXACT(기본) / PREFIX / CONTAINS(최대 31일)
      */
     @GetMapping("/history")
-    public ApiResponse<List<LoginHistoryDTO>> getHistory(
+    public ApiResponse<LoginHistoryPageDTO> getHistory(
             @RequestParam(required = false) String userId,
+            @RequestParam(defaultValue = "EXACT") String userMatch,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate fromDate,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate toDate,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "200") int size) {
+        return ApiResponse.ok(sessionLogService.getHistory(userId, userMatch, fromDate, toDate, cursor, size));
+    }
+
+    /**
+     * 로그인 이력 CSV 내보내기 (감사 대응 — 화면과 같은 필터, 시간순 전체를 스트리밍)
+     * gzip=true면 .csv.gz 파일로 내려준다. 전송 중 오류는 응답이 이미 나간 뒤라 연결을 끊는 것으로 끝난다.
+     */
+    @GetMapping("/history/export")
+    public void exportHistory(
+            @RequestParam(required = false) String userId,
+            @RequestParam(defaultValue = "EXACT") String userMatch,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate fromDate,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate toDate,
+            @RequestParam(defaultValue = "false") boolean gzip,
+            HttpServletResponse response) throws IOException {
+        if (fromDate != null && toDate != null && fromDate.isAfter(toDate)) {
+            throw new IllegalArgumentException("시작일이 종료일보다 늦습니다.");
+        }
+        // 응답 헤더를 쓰기 전에 검증 — 이후 오류는 JSON 400으로 바꿀 수 없음
+        sessionLogService.validateHistoryFilter(userId, userMatch, fromDate, toDate);
+        String filename = "login-history-" + LocalDate.now().format(DateTimeFormatter.BASIC_ISO_DATE)
+                + (gzip ? ".csv.gz" : ".csv");
+        response.setContentType(gzip ? "application/gzip" : "text/csv; charset=UTF-8");
+        response.setHeader(HttpHeaders.CONTENT_DISPOSITION,
+                ContentDisposition.attachment().filename(filename).build().toString());
+
+        if (gzip) {
+            try (GZIPOutputStream out = new GZIPOutputStream(response.getOutputStream(), 64 * 1024)) {
+                sessionLogService.exportHistoryCsv(userId, userMatch, fromDate, toDate, out);
+            }
+        } else {
+            sessionLogService.exportHistoryCsv(userId, userMatch, fromDate, toDate, response.getOutputStream());
+        }
+    }
+
+    /**
+     * 로그인 추이 (통계 롤업 조회 — granularity: HOUR / DAY / WEEK, 빈 구간은 0)
+     */
+    @GetMapping("/stats")
+    public ApiResponse<List<LoginStatPointDTO>> getLoginStats(
+            @RequestParam(defaultValue = "HOUR") String granularity,
             @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate fromDate,
             @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate toDate) {
-        return ApiResponse.ok(sessionLogService.getHistory(userId, fromDate, toDate));
+        return ApiResponse.ok(loginStatsService.query(granularity, fromDate, toDate));
+    }
+
+    /**
+     * 로그인 통계 백필 (login_history에서 주 단위 재계산, 비동기 — 진행 상황은 /api/monitor/login-stats)
+     */
+    @PostMapping("/stats/backfill")
+    public ApiResponse<Map<String, String>> backfillLoginStats(
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate fromDate,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate toDate) {
+        log.info("로그인 통계 백필 API 호출 - {} ~ {}", fromDate, toDate);
+        String range = loginStatsService.startBackfill(fromDate, toDate);
+        return ApiResponse.ok("통계 백필을 시작했습니다. (" + range + ")", Map.of("range", range));
     }
 
     /**
-     * 활성 세션 목록 조회 (본인 세션에 current=true 표시)
+     * 로그인 이상 징후 경보 (최신순 — 이 노드에서 탐지한 것만, 접속 로그 화면이 주기 조회)
+     */
+    @GetMapping("/anomalies")
+    public ApiResponse<List<LoginAnomalyAlertDTO>> getAnomalies(@RequestParam(defaultValue = "50") int limit) {
+        if (limit < 1 || limit > 200) {
+            throw new IllegalArgumentException("limit은 1~200 사이여야 합니다.");
+        }
+        return ApiResponse.ok(loginAnomalyDetector.getRecentAlerts(limit));
+    }
+
+    /**
+     * 활성 세션 페이지 조회 (최근 접근순, 사용자/유휴 시간 필터, 본인 세션에 current=true 표시)
      */
     @GetMapping("/sessions")
-    public ApiResponse<List<ActiveSessionDTO>> getActiveSessions(HttpServletRequest request) {
+    public ApiResponse<ActiveSessionPageDTO> getActiveSessions(
+            @RequestParam(required = false) String userId,
+            @RequestParam(required = false) Integer minIdleMinutes,
+            @RequestParam(defaultValue = "0") int page,
+            @RequestParam(defaultValue = "100") int size,
+            HttpServletRequest request) {
         String currentSessionId = request.getSession(false) != null ? request.getSession(false).getId() : null;
-        return ApiResponse.ok(sessionLogService.getActiveSessions(currentSessionId));
+        return ApiResponse.ok(sessionLogService.getActiveSessions(currentSessionId, userId, minIdleMinutes, page, size));
     }
 
     /**
@@ -57,4 +145,54 @@ public class SessionLogController {
         sessionLogService.expireSession(sessionId, currentSessionId);
         return ApiResponse.okMessage("세션이 강제 만료되었습니다. 해당 사용자는 다음 요청 시 로그아웃됩니다.");
     }
+
+    // ===== 일괄 강제 만료 (본인 세션은 항상 제외, 만료 건수 반환) =====
+
+    /**
+     * 사용자 ID 목록의 세션 일괄 만료 (Remember-Me 토큰도 폐기)
+     */
+    @PostMapping("/sessions/bulk-expire/users")
+    public ApiResponse<Map<String, Integer>> expireSessionsByUsers(@RequestBody List<String> userIds,
+                                                                   HttpServletRequest request) {
+        log.info("세션 일괄 만료(사용자) API 호출 - userIds: {}", userIds != null ? userIds.size() : 0);
+        int expired = sessionLogService.expireSessionsByUsers(userIds, currentSessionId(request));
+        return bulkResult(expired);
+    }
+
+    /**
+     * 접속 IP의 세션 일괄 만료
+     */
+    @PostMapping("/sessions/bulk-expire/ip")
+    public ApiResponse<Map<String, Integer>> expireSessionsByIp(@RequestParam String ipAddress,
+                                                                HttpServletRequest request) {
+        log.info("세션 일괄 만료(IP) API 호출 - ipAddress: {}", ipAddress);
+        return bulkResult(sessionLogService.expireSessionsByIp(ipAddress, currentSessionId(request)));
+    }
+
+    /**
+     * 유휴 세션 일괄 만료 (마지막 접근 후 minIdleMinutes분 이상)
+     */
+    @PostMapping("/sessions/bulk-expire/idle")
+    public ApiResponse<Map<String, Integer>> expireIdleSessions(@RequestParam int minIdleMinutes,
+                                                                HttpServletRequest request) {
+        log.info("세션 일괄 만료(유휴) API 호출 - minIdleMinutes: {}", minIdleMinutes);
+        return bulkResult(sessionLogService.expireIdleSessions(minIdleMinutes, currentSessionId(request)));
+    }
+
+    /**
+     * 관리자 외 전체 세션 일괄 만료
+     */
+    @PostMapping("/sessions/bulk-expire/all-except-admins")
+    public ApiResponse<Map<String, Integer>> expireAllExceptAdmins(HttpServletRequest request) {
+        log.info("세션 일괄 만료(관리자 외 전체) API 호출");
+        return bulkResult(sessionLogService.expireAllExceptAdmins(currentSessionId(request)));
+    }
+
+    private static String currentSessionId(HttpServletRequest request) {
+        return request.getSession(false) != null ? request.getSession(false).getId() : null;
+    }
+
+    private static ApiResponse<Map<String, Integer>> bulkResult(int expired) {
+        return ApiResponse.ok(expired + "개 세션이 만료되었습니다.", Map.of("expired", expired));
+    }
 }
@@ -9,7 +9,7 @@ import lombok.NoArgsConstructor;
 import java.time.LocalDateTime;
 
 /**
- * 활성 세션 DTO — SPRING_SESSION 직조회 결과
+ * 활성 세션 DTO — 활성 세션 레지스트리(ActiveSessionRegistry) 조회 결과
  * sessionId는 PRIMARY_ID가 아니라 SESSION_ID(논리 키) — 강제 만료(deleteById) 키와 일치
  */
 @Data
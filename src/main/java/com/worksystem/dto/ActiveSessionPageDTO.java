@@ -0,0 +1,24 @@
+package com.worksystem.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * 활성 세션 페이지 DTO — 접속 로그 화면의 활성 세션 그리드 (ActiveSessionRegistry 조회 결과)
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ActiveSessionPageDTO {
+
+    private List<ActiveSessionDTO> sessions;
+    private long total;             // 필터 조건에 맞는 세션 수
+    private long totalActive;       // 전체 활성 세션 수 (필터 무관)
+    private int page;               // 0부터
+    private int size;
+}
@@ -0,0 +1,29 @@
+package com.worksystem.dto;
+
+import com.fasterxml.jackson.annotation.JsonFormat;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * 로그인 이상 징후 경보 (LoginAnomalyDetector — 접속 로그 화면 표시용)
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class LoginAnomalyAlertDTO {
+
+    private String type;          // IP_FAILURES / IP_SPRAY / USER_FAILURES / SUCCESS_AFTER_FAILURES
+    private String key;           // IP 또는 사용자 ID (SUCCESS_AFTER_FAILURES는 "사용자 ID (IP)")
+    private int count;            // 경보 시점의 창 내 실패 수 (IP_SPRAY는 추정 고유 사용자 수)
+    private int threshold;
+    private int windowSeconds;
+    private boolean throttled;    // 로그인 제한기에 차단 요청 여부
+
+    @JsonFormat(pattern = "yyyy-MM-dd HH:mm:ss")
+    private LocalDateTime raisedAt;
+}
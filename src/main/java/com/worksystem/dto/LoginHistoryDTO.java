@@ -1,6 +1,7 @@
 package com.worksystem.dto;
 
 import com.fasterxml.jackson.annotation.JsonFormat;
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
@@ -9,7 +10,7 @@ import lombok.NoArgsConstructor;
 import java.time.LocalDateTime;
 
 /**
- * 로그인 이력 DTO (조회 전용 — INSERT는 서비스가 개별 파라미터로 수행)
+ * 로그인 이력 DTO (조회 + LoginHistoryWriter의 일괄 INSERT 행)
  */
 @Data
 @Builder
@@ -22,7 +23,9 @@ public class LoginHistoryDTO {
     private String eventType;   // LOGIN / LOGIN_FAIL / LOGOUT
     private String failReason;  // BAD_CREDENTIALS / DISABLED 등
     private String ipAddress;
-    private String userAgent;
+    private String userAgent;   // 조회 시 user_agents 조인 결과
+    @JsonIgnore
+    private Integer uaId;       // 기록 시 UserAgentDictionary가 채움
     private String sessionId;
 
     // IBSheet Date 파싱 함정 회피 — 서버에서 고정 문자열로 직렬화 (설계 §3-4)
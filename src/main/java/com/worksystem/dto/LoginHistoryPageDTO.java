@@ -0,0 +1,22 @@
+package com.worksystem.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * 로그인 이력 페이지 DTO — 키셋(커서) 페이징. 다음 페이지는 nextCursor를 그대로 다시 보내 조회
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class LoginHistoryPageDTO {
+
+    private List<LoginHistoryDTO> rows;
+    private String nextCursor;      // 마지막 행 위치 (불투명 토큰) — 더 없으면 null
+    private int size;
+}
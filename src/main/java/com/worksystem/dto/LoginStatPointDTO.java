@@ -0,0 +1,29 @@
+package com.worksystem.dto;
+
+import com.fasterxml.jackson.annotation.JsonFormat;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+import java.util.Map;
+
+/**
+ * 로그인 추이 차트의 한 구간 (시간/일/주)
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class LoginStatPointDTO {
+
+    @JsonFormat(pattern = "yyyy-MM-dd HH:mm")
+    private LocalDateTime bucketStart;
+    private long loginCount;
+    private long failCount;
+    private long logoutCount;
+    private long loginUsers;                // 구간 내 로그인 성공 고유 사용자 수
+    private long failUsers;                 // 구간 내 로그인 실패 고유 사용자 ID 수
+    private Map<String, Long> failReasons;  // 실패 사유별 건수
+}
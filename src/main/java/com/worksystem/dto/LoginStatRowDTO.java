@@ -0,0 +1,24 @@
+package com.worksystem.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * 로그인 통계 롤업 행 (login_stats / login_stats_users 읽기·증분 갱신용)
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class LoginStatRowDTO {
+
+    private String granularity;        // H / D / W
+    private LocalDateTime bucketStart;
+    private String eventType;
+    private String failReason;         // 없으면 빈 문자열 (사용자 수 행은 null)
+    private long count;                // 이벤트 수 또는 고유 사용자 수
+}
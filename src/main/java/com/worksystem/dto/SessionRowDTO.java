@@ -0,0 +1,23 @@
+package com.worksystem.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * 세션 원시 행 DTO — 활성 세션 레지스트리 대사(reconcile)용 (SPRING_SESSION 또는 메모리 저장소)
+ * 시각은 변환 없이 epoch millis 그대로
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class SessionRowDTO {
+
+    private String sessionId;
+    private String userId;          // PRINCIPAL_NAME
+    private Long creationTime;
+    private Long lastAccessTime;
+    private Long expiryTime;
+}
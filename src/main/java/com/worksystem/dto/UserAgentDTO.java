@@ -0,0 +1,20 @@
+package com.worksystem.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * User-Agent 사전 행 (user_agents — login_history.ua_id가 가리킴)
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class UserAgentDTO {
+
+    private Integer uaId;
+    private byte[] uaHash;      // SHA-256(userAgent) — 500자 문자열 대신 32바이트 유일 키
+    private String userAgent;
+}
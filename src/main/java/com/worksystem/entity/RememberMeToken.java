@@ -0,0 +1,24 @@
+package com.worksystem.entity;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * Remember-Me 영속 토큰 엔터티 (persistent_logins)
+ * series = 브라우저(기기)별 식별자, token = 쿠키에 담기는 비밀값
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class RememberMeToken {
+
+    private String series;
+    private String username;
+    private String token;
+    private LocalDateTime lastUsed;
+}
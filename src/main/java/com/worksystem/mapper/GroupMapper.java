@@ -51,12 +51,22 @@ public interface GroupMapper {
      * 그룹 ID 존재 여부 확인
      */
     boolean existsByGroupId(@Param("groupId") String groupId);
+
+    /**
+     * 그룹 행 잠금 (같은 그룹 권한 저장 직렬화) — 없으면 null
+     */
+    String lockByGroupId(@Param("groupId") String groupId);
     
     /**
      * 그룹명 존재 여부 확인 (수정 시 자기 제외)
      */
     boolean existsByGroupNameExcludingSelf(@Param("groupName") String groupName, @Param("groupId") String groupId);
     
+    /**
+     * 그룹 소속 사용자 ID 목록 (권한 변경 알림 대상)
+     */
+    List<String> findUserIdsByGroupId(@Param("groupId") String groupId);
+    
     /**
      * 특정 그룹의 메뉴 권한 조회
      */
@@ -81,4 +91,14 @@ public interface GroupMapper {
      * 그룹 메뉴 권한 일괄 추가
      */
     int insertPermissions(@Param("permissions") List<GroupMenuPermissionDTO> permissions);
+
+    /**
+     * 그룹 메뉴 권한 일괄 수정 (기존 행의 can_* 값만 변경)
+     */
+    int updatePermissions(@Param("permissions") List<GroupMenuPermissionDTO> permissions);
+
+    /**
+     * 그룹 메뉴 권한 일부 삭제
+     */
+    int deletePermissionsByMenuIds(@Param("groupId") String groupId, @Param("menuIds") List<String> menuIds);
 }
@@ -0,0 +1,22 @@
+package com.worksystem.mapper;
+
+import org.apache.ibatis.annotations.Mapper;
+import org.apache.ibatis.annotations.Param;
+
+/**
+ * 배치 작업 노드 간 잠금 매퍼 (job_locks — 임대(lease) 방식)
+ */
+@Mapper
+public interface JobLockMapper {
+
+    /** 잠금 행 보장 (최초 1회 INSERT, 이미 있으면 무시) */
+    void ensureLock(@Param("lockName") String lockName);
+
+    /** 임대 획득/연장 — 비어 있거나 만료되었거나 내 것이면 1 */
+    int tryAcquire(@Param("lockName") String lockName,
+                   @Param("owner") String owner,
+                   @Param("leaseSeconds") long leaseSeconds);
+
+    /** 임대 반납 (내 것일 때만) */
+    int release(@Param("lockName") String lockName, @Param("owner") String owner);
+}
@@ -0,0 +1,37 @@
+package com.worksystem.mapper;
+
+import org.apache.ibatis.annotations.Mapper;
+import org.apache.ibatis.annotations.Param;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * login_history 월 파티션 관리 매퍼 (DDL — 파티션/테이블 이름은 바인딩할 수 없어 ${}로 치환하므로
+ * 호출 측(LoginHistoryPartitionManager)이 만든 고정 형식 이름만 넘길 것)
+ */
+@Mapper
+public interface LoginHistoryPartitionMapper {
+
+    /** 현재 파티션 이름 (정의 순서) — 파티션되지 않은 테이블이면 빈 목록 */
+    List<String> findPartitionNames();
+
+    /**
+     * pmax를 월 파티션들 + pmax로 분할 (pmax가 비어 있으면 메타데이터 변경만)
+     *
+     * @param partitions name(pYYYYMM), lessThan('YYYY-MM-01') 쌍 — 오름차순
+     */
+    void splitMaxPartition(@Param("partitions") List<Map<String, String>> partitions);
+
+    /** 파티션 삭제 (해당 월 이력 즉시 제거 — 행 단위 DELETE 없음) */
+    void dropPartition(@Param("partitionName") String partitionName);
+
+    /** 보관 테이블 생성 (login_history와 같은 구조, 파티션 없음) — 이미 있으면 실패 */
+    void createArchiveTable(@Param("archiveTable") String archiveTable);
+
+    void removeArchivePartitioning(@Param("archiveTable") String archiveTable);
+
+    /** 파티션과 보관 테이블의 데이터 교환 (메타데이터 교환이라 행 복사 없음) */
+    void exchangePartition(@Param("partitionName") String partitionName,
+                           @Param("archiveTable") String archiveTable);
+}
@@ -0,0 +1,66 @@
+package com.worksystem.mapper;
+
+import com.worksystem.dto.LoginStatRowDTO;
+import org.apache.ibatis.annotations.Mapper;
+import org.apache.ibatis.annotations.Param;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * 로그인 통계 롤업 매퍼 (login_stats / login_stats_users / login_stats_user_seen)
+ */
+@Mapper
+public interface LoginStatsMapper {
+
+    // ===== 증분 갱신 (LoginHistoryWriter 묶음마다) =====
+
+    /** 이벤트 수 누적 (행마다 granularity/bucketStart/eventType/failReason/count) */
+    int upsertCounts(@Param("rows") List<LoginStatRowDTO> rows);
+
+    /** 구간에서 처음 본 사용자 기록 — 반환값(영향 행 수) = 새 사용자 수 */
+    int insertSeenUsers(@Param("granularity") String granularity,
+                        @Param("bucketStart") LocalDateTime bucketStart,
+                        @Param("eventType") String eventType,
+                        @Param("userIds") Collection<String> userIds);
+
+    /** 고유 사용자 수 누적 */
+    void addUserCount(@Param("granularity") String granularity,
+                      @Param("bucketStart") LocalDateTime bucketStart,
+                      @Param("eventType") String eventType,
+                      @Param("delta") int delta);
+
+    /** 닫힌 구간의 사용자 기록 삭제 (LIMIT — 한 번에 잠그는 범위 제한) */
+    int deleteSeenBefore(@Param("granularity") String granularity,
+                         @Param("before") LocalDateTime before,
+                         @Param("limit") int limit);
+
+    // ===== 조회 =====
+
+    List<LoginStatRowDTO> findCounts(@Param("granularity") String granularity,
+                                     @Param("from") LocalDateTime from,
+                                     @Param("to") LocalDateTime to);
+
+    List<LoginStatRowDTO> findUserCounts(@Param("granularity") String granularity,
+                                         @Param("from") LocalDateTime from,
+                                         @Param("to") LocalDateTime to);
+
+    // ===== 백필 (login_history에서 재계산 — 구간 [from, to)는 주 경계) =====
+
+    int deleteCounts(@Param("granularity") String granularity,
+                     @Param("from") LocalDateTime from,
+                     @Param("to") LocalDateTime to);
+
+    int deleteUserCounts(@Param("granularity") String granularity,
+                         @Param("from") LocalDateTime from,
+                         @Param("to") LocalDateTime to);
+
+    int insertCountsFromHistory(@Param("granularity") String granularity,
+                                @Param("from") LocalDateTime from,
+                                @Param("to") LocalDateTime to);
+
+    int insertUserCountsFromHistory(@Param("granularity") String granularity,
+                                    @Param("from") LocalDateTime from,
+                                    @Param("to") LocalDateTime to);
+}
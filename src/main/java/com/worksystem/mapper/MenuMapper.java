@@ -1,6 +1,5 @@
 package com.worksystem.mapper;
 
-import com.worksystem.dto.MenuDTO;
 import com.worksystem.entity.Menu;
 import org.apache.ibatis.annotations.Mapper;
 import org.apache.ibatis.annotations.Param;
@@ -32,13 +31,4 @@ public interface MenuMapper {
      */
     List<Menu> findAccessibleMenusByUserId(@Param("userId") String userId);
 
-    /**
-     * 특정 메뉴에 대한 사용자 접근 권한 확인
-     */
-    int checkUserMenuAccess(@Param("userId") String userId, @Param("menuId") String menuId);
-
-    /**
-     * 사용자의 특정 메뉴 권한 상세 조회
-     */
-    MenuDTO findMenuPermissionsByUserAndMenu(@Param("userId") String userId, @Param("menuId") String menuId);
 }
\ No newline at end of file
@@ -0,0 +1,20 @@
+package com.worksystem.mapper;
+
+import com.worksystem.dto.GroupMenuPermissionDTO;
+import org.apache.ibatis.annotations.Mapper;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 권한 행렬 적재용 매퍼 — PermissionMatrix가 재구성할 때만 전체를 읽는다
+ */
+@Mapper
+public interface PermissionMatrixMapper {
+
+    /** 그룹-메뉴 권한 전체 (groupId, menuId, canRead/canWrite/canDelete) */
+    List<GroupMenuPermissionDTO> findAllPermissions();
+
+    /** 사용자-그룹 매핑 전체 (userId, groupId) */
+    List<Map<String, String>> findAllUserGroupMappings();
+}
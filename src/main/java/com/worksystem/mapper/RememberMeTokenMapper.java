@@ -0,0 +1,33 @@
+package com.worksystem.mapper;
+
+import com.worksystem.entity.RememberMeToken;
+import org.apache.ibatis.annotations.Mapper;
+import org.apache.ibatis.annotations.Param;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Remember-Me 영속 토큰 매퍼 (persistent_logins)
+ */
+@Mapper
+public interface RememberMeTokenMapper {
+
+    /** 토큰 발급 */
+    void insertToken(RememberMeToken token);
+
+    /** series로 토큰 조회 */
+    RememberMeToken findBySeries(@Param("series") String series);
+
+    /** last_used 일괄 갱신 (쓰기 지연 버퍼 반영 — 단일 UPDATE) */
+    int updateLastUsedBatch(@Param("tokens") List<RememberMeToken> tokens);
+
+    /** 토큰 1건 폐기 */
+    int deleteBySeries(@Param("series") String series);
+
+    /** 사용자 토큰 전체 폐기 (집합 단위 DELETE) */
+    int deleteByUsername(@Param("username") String username);
+
+    /** 만료 토큰 정리 (한 번에 limit건) */
+    int deleteExpired(@Param("before") LocalDateTime before, @Param("limit") int limit);
+}
@@ -0,0 +1,27 @@
+package com.worksystem.mapper;
+
+import org.apache.ibatis.annotations.Mapper;
+import org.apache.ibatis.annotations.Param;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 세션 근거리 캐시용 SPRING_SESSION 경량 쿼리 (CachingSessionRepository)
+ * — 속성(BLOB) 테이블을 건드리지 않는 버전 확인/버전 갱신/접근 시각 일괄 갱신만 담당
+ */
+@Mapper
+public interface SessionCacheMapper {
+
+    /** 세션 버전 조회 (SPRING_SESSION_IX1) — 행이 없으면 null (만료/강제 만료) */
+    Long findVersion(@Param("sessionId") String sessionId);
+
+    /** 속성 변경 저장 후 버전 갱신 */
+    int updateVersion(@Param("sessionId") String sessionId, @Param("version") long version);
+
+    /**
+     * 마지막 접근/만료 시각 일괄 갱신 (쓰기 지연 버퍼 반영 — 단일 UPDATE)
+     * touches 원소: sessionId, lastAccessTime, expiryTime (epoch millis)
+     */
+    int updateAccessTimes(@Param("touches") List<Map<String, Object>> touches);
+}
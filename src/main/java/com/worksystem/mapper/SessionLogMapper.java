@@ -1,9 +1,10 @@
 package com.worksystem.mapper;
 
-import com.worksystem.dto.ActiveSessionDTO;
 import com.worksystem.dto.LoginHistoryDTO;
+import com.worksystem.dto.SessionRowDTO;
 import org.apache.ibatis.annotations.Mapper;
 import org.apache.ibatis.annotations.Param;
+import org.apache.ibatis.cursor.Cursor;
 
 import java.util.List;
 import java.util.Map;
@@ -14,20 +15,58 @@ import java.util.Map;
 @Mapper
 public interface SessionLogMapper {
 
-    /** 로그인 이력 기록 */
-    void insertHistory(@Param("userId") String userId,
-                       @Param("eventType") String eventType,
-                       @Param("failReason") String failReason,
-                       @Param("ipAddress") String ipAddress,
-                       @Param("userAgent") String userAgent,
-                       @Param("sessionId") String sessionId);
+    /** 로그인 이력 다건 기록 (LoginHistoryWriter — 발생 시각 포함) */
+    int insertHistoryBatch(@Param("rows") List<LoginHistoryDTO> rows);
 
-    /** 로그인 이력 조회 (기간/사용자 필터, 최신순, LIMIT) */
+    /** 로그인 이력 페이지 조회 (기간/사용자 필터, 최신순, 커서 이후 limit건) */
     List<LoginHistoryDTO> findHistory(Map<String, Object> params);
 
+    /** findHistory 실행 계획 (EXPLAIN 행 — 조인 포함 테이블별 1행, 색인/정렬 검증 테스트용) */
+    List<Map<String, Object>> explainHistory(Map<String, Object> params);
+
+    /** 로그인 이력 내보내기 (같은 필터, 시간순) — 트랜잭션 안에서 소비하고 닫을 것 */
+    Cursor<LoginHistoryDTO> streamHistory(Map<String, Object> params);
+
+    /**
+     * 로그인한 활성 세션 원시 행 — 활성 세션 레지스트리 대사(reconcile) 전용.
+     * 화면 조회는 레지스트리가 처리하므로 정렬/시각 변환 없이 epoch millis 그대로 반환
+     */
+    List<SessionRowDTO> findSessionRows(@Param("now") long now);
+
+    /**
+     * 세션별 직렬화 크기 요약 — 세션 수, 평균/최대 바이트, JDK 형식(0xACED) 속성 수(압축 형식 전환 진행도)
+     */
+    Map<String, Object> findSessionSizeStats();
+
     /**
-     * 활성 세션 직조회 — SessionRegistryImpl(메모리)은 서버 재시작 시 유실되므로
-     * JDBC 세션 저장소(SPRING_SESSION)가 단일 소스 (설계 §3-2)
+     * 만료 세션 청크 삭제 — EXPIRY_TIME 순(SPRING_SESSION_IX2)으로 최대 limit건 (속성은 FK CASCADE)
      */
-    List<ActiveSessionDTO> findActiveSessions();
+    int deleteExpiredSessions(@Param("now") long nowMillis, @Param("limit") int limit);
+
+    // ===== 일괄 강제 만료 (excludeSessionId = 조회자 본인 세션, 삭제 건수 반환) =====
+
+    /** 사용자 ID 목록의 모든 세션 */
+    int deleteSessionsByUsers(@Param("userIds") List<String> userIds,
+                              @Param("excludeSessionId") String excludeSessionId);
+
+    /** 해당 IP에서 로그인한 세션 (login_history LOGIN 행의 session_id 기준) */
+    int deleteSessionsByIp(@Param("ipAddress") String ipAddress,
+                           @Param("excludeSessionId") String excludeSessionId);
+
+    /** 마지막 접근이 lastAccessBefore 이전인 로그인 세션 청크 (expiryBefore = 인덱스 범위 상한) */
+    int deleteIdleSessions(@Param("lastAccessBefore") long lastAccessBefore,
+                           @Param("expiryBefore") long expiryBefore,
+                           @Param("excludeSessionId") String excludeSessionId,
+                           @Param("limit") int limit);
+
+    /** 지정 그룹 소속이 아닌 사용자의 로그인 세션 청크 */
+    int deleteSessionsExceptGroup(@Param("groupId") String groupId,
+                                  @Param("excludeSessionId") String excludeSessionId,
+                                  @Param("limit") int limit);
+
+    /** 해당 IP에서 로그인한 세션 ID (메모리 세션 저장소용) */
+    List<String> findLoginSessionIdsByIp(@Param("ipAddress") String ipAddress);
+
+    /** 지정 그룹 소속 사용자 ID (메모리 세션 저장소용) */
+    List<String> findUserIdsByGroup(@Param("groupId") String groupId);
 }
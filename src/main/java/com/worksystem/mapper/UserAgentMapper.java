@@ -0,0 +1,14 @@
+package com.worksystem.mapper;
+
+import com.worksystem.dto.UserAgentDTO;
+import org.apache.ibatis.annotations.Mapper;
+
+/**
+ * User-Agent 사전 매퍼 (user_agents)
+ */
+@Mapper
+public interface UserAgentMapper {
+
+    /** 사전 등록 — 이미 있으면 기존 ID. 어느 쪽이든 row.uaId에 채워진다 */
+    int intern(UserAgentDTO row);
+}
@@ -0,0 +1,384 @@
+package com.worksystem.service;
+
+import com.worksystem.common.StatsProvider;
+import com.worksystem.config.MemorySessionRepository;
+import com.worksystem.config.SessionChangedEvent;
+import com.worksystem.dto.ActiveSessionDTO;
+import com.worksystem.dto.ActiveSessionPageDTO;
+import com.worksystem.dto.SessionRowDTO;
+import com.worksystem.mapper.SessionLogMapper;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.session.FindByIndexNameSessionRepository;
+import org.springframework.session.PrincipalNameIndexResolver;
+import org.springframework.session.Session;
+import org.springframework.session.events.SessionCreatedEvent;
+import org.springframework.session.events.SessionDestroyedEvent;
+import org.springframework.stereotype.Component;
+
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableSet;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.ConcurrentSkipListSet;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 활성 세션 레지스트리 — 접속 로그 화면의 활성 세션 조회를 SPRING_SESSION 전체 스캔 대신 메모리에서 처리
+ *
+ * 세션 저장소가 발행하는 이벤트(SessionCreatedEvent / SessionChangedEvent / SessionDeletedEvent·SessionExpiredEvent)로
+ * 로그인한 세션만 유지한다. 색인은 세 가지:
+ * - 최근 접근순 정렬 집합 — 페이지 조회는 앞에서부터 (건너뛸 수 + 페이지 크기)만 순회, 유휴 필터는 경계 이후 부분집합
+ * - 사용자별 세션 ID — 사용자 필터는 그 사용자의 세션만 정렬
+ * - 마지막 접근 '분' 단위 건수 — 유휴 필터 건수는 분 버킷 합(최대 세션 타임아웃 분 수)으로 계산
+ * 유휴 시간은 분 단위로 판정한다 (목록과 건수가 같은 기준).
+ *
+ * 정확도:
+ * - 다른 노드에서 생긴/바뀐 세션, 이벤트를 내지 않는 경로(만료 정리 배치, 캐시 꺼진 JDBC 저장소)는
+ *   reconcile-interval-ms마다 세션 저장소와 대사해 맞춘다 — 기동 직후 첫 대사로 재시작 시에도 복원.
+ * - 접근 시각은 저장소의 쓰기 지연(access-write-interval)과 이 레지스트리의 갱신 단위(30초)만큼 늦을 수 있다.
+ * - 만료 세션은 prune-interval-ms마다 제거하고, 그 사이에도 목록에서는 제외한다 (건수만 최대 그 간격만큼 늦음).
+ */
+@Slf4j
+@Component
+public class ActiveSessionRegistry implements StatsProvider {
+
+    private static final long MINUTE_MILLIS = 60_000L;
+    // 접근 시각만 바뀐 이벤트는 이 간격 이상 변했을 때만 반영 (정렬 집합 재배치 최소화)
+    private static final long TOUCH_GRANULARITY_MILLIS = 30_000L;
+
+    private static final Comparator<Entry> RECENCY =
+            Comparator.comparingLong(Entry::lastAccessTime).reversed().thenComparing(Entry::sessionId);
+
+    private final FindByIndexNameSessionRepository<? extends Session> sessionRepository;
+    private final SessionLogMapper sessionLogMapper;
+    private final PrincipalNameIndexResolver<Session> principalNameResolver = new PrincipalNameIndexResolver<>();
+
+    // 변경은 this 기준 동기화 — 읽기는 잠금 없이 (동시 자료구조)
+    private final Map<String, Entry> byId = new ConcurrentHashMap<>();
+    private final NavigableSet<Entry> byRecency = new ConcurrentSkipListSet<>(RECENCY);
+    private final Map<String, Set<String>> byUser = new ConcurrentHashMap<>();
+    private final ConcurrentSkipListMap<Long, Integer> minuteCounts = new ConcurrentSkipListMap<>();
+
+    // 대사 중 삭제된 세션이 대사 결과로 되살아나지 않도록 — sessionId → 삭제 시각
+    private final Map<String, Long> recentlyRemoved = new ConcurrentHashMap<>();
+
+    private final LongAdder events = new LongAdder();
+    private final LongAdder touchesSkipped = new LongAdder();
+    private final LongAdder reconcileAdded = new LongAdder();
+    private final LongAdder reconcileUpdated = new LongAdder();
+    private final LongAdder reconcileRemoved = new LongAdder();
+    private final LongAdder pruned = new LongAdder();
+    private final AtomicLong lastReconcileMillis = new AtomicLong();
+    private final AtomicLong lastReconcileRows = new AtomicLong();
+
+    public ActiveSessionRegistry(FindByIndexNameSessionRepository<? extends Session> sessionRepository,
+                                 SessionLogMapper sessionLogMapper) {
+        this.sessionRepository = sessionRepository;
+        this.sessionLogMapper = sessionLogMapper;
+    }
+
+    // ===== 이벤트 =====
+
+    @EventListener
+    public void onSessionCreated(SessionCreatedEvent event) {
+        events.increment();
+        apply(event.getSession(), null);
+    }
+
+    @EventListener
+    public void onSessionChanged(SessionChangedEvent event) {
+        events.increment();
+        apply(event.getSession(), event.getPreviousSessionId());
+    }
+
+    /** 삭제(로그아웃/강제 만료/동시 세션 초과)와 만료 모두 */
+    @EventListener
+    public void onSessionDestroyed(SessionDestroyedEvent event) {
+        events.increment();
+        recentlyRemoved.put(event.getSessionId(), System.currentTimeMillis());
+        synchronized (this) {
+            removeLocked(event.getSessionId());
+        }
+    }
+
+    private void apply(Session session, String previousSessionId) {
+        String userId = principalNameResolver.resolveIndexValueFor(session);
+        String sessionId = session.getId();
+        long lastAccess = session.getLastAccessedTime().toEpochMilli();
+        long expiry = lastAccess + session.getMaxInactiveInterval().toMillis();
+        synchronized (this) {
+            if (previousSessionId != null) {
+                removeLocked(previousSessionId);
+            }
+            if (userId == null) {
+                removeLocked(sessionId);  // 비로그인 세션은 보관하지 않음
+                return;
+            }
+            Entry existing = byId.get(sessionId);
+            if (existing != null && existing.userId().equals(userId) && existing.expiryTime() - existing.lastAccessTime()
+                    == expiry - lastAccess && lastAccess - existing.lastAccessTime() < TOUCH_GRANULARITY_MILLIS) {
+                touchesSkipped.increment();
+                return;
+            }
+            long creation = existing != null ? existing.creationTime() : session.getCreationTime().toEpochMilli();
+            putLocked(new Entry(sessionId, userId, creation, lastAccess, expiry, System.currentTimeMillis()));
+        }
+    }
+
+    // ===== 조회 =====
+
+    /** 색인에 있는(만료 전) 세션인지 — 없다고 해서 확정은 아님 (다른 노드 생성분은 대사 전까지 없음) */
+    public boolean contains(String sessionId) {
+        Entry entry = byId.get(sessionId);
+        return entry != null && entry.expiryTime() > System.currentTimeMillis();
+    }
+
+    /**
+     * 활성 세션 페이지 조회
+     *
+     * @param userId         사용자 ID 일치 필터 (null/빈 값이면 전체)
+     * @param minIdleMinutes 최소 유휴 시간(분) 필터 (null/0이면 전체)
+     * @param page           0부터
+     */
+    public ActiveSessionPageDTO query(String userId, Integer minIdleMinutes, int page, int size) {
+        long now = System.currentTimeMillis();
+        // 유휴 n분 이상 = 마지막 접근 분 <= 현재 분 - n
+        Long maxAccessMinute = minIdleMinutes != null && minIdleMinutes > 0 ? now / MINUTE_MILLIS - minIdleMinutes : null;
+        long offset = (long) page * size;
+
+        List<Entry> selected = new ArrayList<>(size);
+        long total;
+        if (userId != null && !userId.isBlank()) {
+            List<Entry> matched = new ArrayList<>();
+            for (String sessionId : byUser.getOrDefault(userId, Set.of())) {
+                Entry entry = byId.get(sessionId);
+                if (entry != null && entry.expiryTime() > now
+                        && (maxAccessMinute == null || entry.lastAccessTime() / MINUTE_MILLIS <= maxAccessMinute)) {
+                    matched.add(entry);
+                }
+            }
+            matched.sort(RECENCY);
+            total = matched.size();
+            for (long i = offset; i < matched.size() && selected.size() < size; i++) {
+                selected.add(matched.get((int) i));
+            }
+        } else {
+            NavigableSet<Entry> view = byRecency;
+            if (maxAccessMinute != null) {
+                // 정렬이 최근순이므로 경계(해당 분의 마지막 밀리초) 이후가 '그보다 오래된' 세션
+                view = byRecency.tailSet(boundary((maxAccessMinute + 1) * MINUTE_MILLIS - 1), true);
+                total = countAccessedUpTo(maxAccessMinute);
+            } else {
+                total = byId.size();
+            }
+            long skipped = 0;
+            for (Entry entry : view) {
+                if (entry.expiryTime() <= now) {
+                    continue;
+                }
+                if (skipped < offset) {
+                    skipped++;
+                    continue;
+                }
+                selected.add(entry);
+                if (selected.size() >= size) {
+                    break;
+                }
+            }
+        }
+
+        List<ActiveSessionDTO> sessions = new ArrayList<>(selected.size());
+        for (Entry entry : selected) {
+            sessions.add(ActiveSessionDTO.builder()
+                    .sessionId(entry.sessionId())
+                    .userId(entry.userId())
+                    .creationTime(toDateTime(entry.creationTime()))
+                    .lastAccessTime(toDateTime(entry.lastAccessTime()))
+                    .expiryTime(toDateTime(entry.expiryTime()))
+                    .build());
+        }
+        return ActiveSessionPageDTO.builder()
+                .sessions(sessions)
+                .total(total)
+                .totalActive(byId.size())
+                .page(page)
+                .size(size)
+                .build();
+    }
+
+    // ===== 정리/대사 =====
+
+    /** 만료 세션 제거 — 최근 접근순 집합의 끝(가장 오래된 쪽)부터 만료되지 않은 세션을 만날 때까지 */
+    @Scheduled(fixedDelayString = "${worksystem.active-sessions.prune-interval-ms:5000}")
+    public void pruneExpired() {
+        long now = System.currentTimeMillis();
+        int removed = 0;
+        synchronized (this) {
+            while (!byRecency.isEmpty()) {
+                Entry oldest = byRecency.last();
+                if (oldest.expiryTime() > now) {
+                    break;
+                }
+                removeLocked(oldest.sessionId());
+                removed++;
+            }
+        }
+        pruned.add(removed);
+    }
+
+    /**
+     * 세션 저장소와 대사 — 기동 직후 1회(초기 적재) + reconcile-interval-ms마다.
+     * 저장소에 없는 세션은 대사 시작 전부터 있던 것만 제거한다 (대사 중 이벤트로 들어온 세션 보호).
+     * 접근 시각은 더 최근 값을 유지한다 (이 노드의 이벤트가 DB보다 앞설 수 있음).
+     */
+    @Scheduled(fixedDelayString = "${worksystem.active-sessions.reconcile-interval-ms:60000}")
+    public void reconcile() {
+        long start = System.currentTimeMillis();
+        List<SessionRowDTO> rows;
+        try {
+            rows = sessionRepository instanceof MemorySessionRepository memory
+                    ? memory.findSessionRows(start)
+                    : sessionLogMapper.findSessionRows(start);
+        } catch (Exception e) {
+            log.error("활성 세션 대사 실패 - 다음 주기에 재시도", e);
+            return;
+        }
+
+        Set<String> seen = new HashSet<>(rows.size() * 2);
+        int added = 0;
+        int updated = 0;
+        int removed = 0;
+        for (SessionRowDTO row : rows) {
+            seen.add(row.getSessionId());
+            Long removedAt = recentlyRemoved.get(row.getSessionId());
+            if (removedAt != null && removedAt >= start) {
+                continue;  // 읽은 뒤 삭제됨
+            }
+            // 행 단위로 잠금 — 대량 대사 중에도 요청 스레드의 이벤트 반영이 오래 막히지 않도록
+            synchronized (this) {
+                Entry existing = byId.get(row.getSessionId());
+                if (existing == null) {
+                    putLocked(new Entry(row.getSessionId(), row.getUserId(), row.getCreationTime(),
+                            row.getLastAccessTime(), row.getExpiryTime(), start));
+                    added++;
+                } else if (!existing.userId().equals(row.getUserId())
+                        || row.getLastAccessTime() > existing.lastAccessTime()) {
+                    putLocked(new Entry(row.getSessionId(), row.getUserId(), existing.creationTime(),
+                            row.getLastAccessTime(), row.getExpiryTime(), start));
+                    updated++;
+                }
+            }
+        }
+        for (Entry entry : byId.values()) {
+            if (!seen.contains(entry.sessionId()) && entry.updatedAt() < start) {
+                synchronized (this) {
+                    if (byId.get(entry.sessionId()) == entry) {
+                        removeLocked(entry.sessionId());
+                        removed++;
+                    }
+                }
+            }
+        }
+        recentlyRemoved.values().removeIf(removedAt -> removedAt < start);
+
+        reconcileAdded.add(added);
+        reconcileUpdated.add(updated);
+        reconcileRemoved.add(removed);
+        lastReconcileRows.set(rows.size());
+        lastReconcileMillis.set(System.currentTimeMillis() - start);
+        if (added + removed > 0) {
+            log.debug("활성 세션 대사 - rows: {}, added: {}, updated: {}, removed: {}", rows.size(), added, updated, removed);
+        }
+    }
+
+    @Override
+    public String getStatsName() {
+        return "active-sessions";
+    }
+
+    /** 모니터링용 통계 */
+    @Override
+    public Map<String, Object> getStats() {
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("sessions", byId.size());
+        stats.put("users", byUser.size());
+        stats.put("events", events.sum());
+        stats.put("touchesSkipped", touchesSkipped.sum());
+        stats.put("pruned", pruned.sum());
+        stats.put("reconcileAdded", reconcileAdded.sum());
+        stats.put("reconcileUpdated", reconcileUpdated.sum());
+        stats.put("reconcileRemoved", reconcileRemoved.sum());
+        stats.put("lastReconcileRows", lastReconcileRows.get());
+        stats.put("lastReconcileMs", lastReconcileMillis.get());
+        return stats;
+    }
+
+    // ===== 색인 갱신 (this 잠금 안에서만) =====
+
+    private void putLocked(Entry entry) {
+        Entry previous = byId.put(entry.sessionId(), entry);
+        if (previous != null) {
+            byRecency.remove(previous);
+            decrementMinute(previous.lastAccessTime() / MINUTE_MILLIS);
+            if (!previous.userId().equals(entry.userId())) {
+                unindexUser(previous);
+            }
+        }
+        byRecency.add(entry);
+        minuteCounts.merge(entry.lastAccessTime() / MINUTE_MILLIS, 1, Integer::sum);
+        byUser.computeIfAbsent(entry.userId(), key -> ConcurrentHashMap.newKeySet()).add(entry.sessionId());
+    }
+
+    private void removeLocked(String sessionId) {
+        Entry previous = byId.remove(sessionId);
+        if (previous != null) {
+            byRecency.remove(previous);
+            decrementMinute(previous.lastAccessTime() / MINUTE_MILLIS);
+            unindexUser(previous);
+        }
+    }
+
+    private void unindexUser(Entry entry) {
+        byUser.computeIfPresent(entry.userId(), (key, ids) -> {
+            ids.remove(entry.sessionId());
+            return ids.isEmpty() ? null : ids;
+        });
+    }
+
+    private void decrementMinute(long minute) {
+        minuteCounts.computeIfPresent(minute, (key, count) -> count > 1 ? count - 1 : null);
+    }
+
+    private long countAccessedUpTo(long maxMinute) {
+        long count = 0;
+        for (int bucket : minuteCounts.headMap(maxMinute, true).values()) {
+            count += bucket;
+        }
+        return count;
+    }
+
+    private static Entry boundary(long lastAccessTime) {
+        return new Entry("", null, 0L, lastAccessTime, 0L, 0L);
+    }
+
+    private static LocalDateTime toDateTime(long epochMillis) {
+        return LocalDateTime.ofInstant(Instant.ofEpochMilli(epochMillis), ZoneId.systemDefault());
+    }
+
+    /** 세션 항목 — 변경 시 새 인스턴스로 교체 (정렬 집합의 키이므로 불변) */
+    private record Entry(String sessionId, String userId, long creationTime, long lastAccessTime,
+                         long expiryTime, long updatedAt) {
+    }
+}
@@ -28,6 +28,7 @@ import java.util.NoSuchElementException;
 public class BoardService {
 
     private final BoardMapper boardMapper;
+    private final PermissionMatrix permissionMatrix;
 
     // ===== 게시판 정의 (ADMIN) =====
 
@@ -225,12 +226,12 @@ public class BoardService {
         }
     }
 
-    // ===== RBAC 메뉴 권한 (menu_id = 'board-{boardCode}') =====
+    // ===== RBAC 메뉴 권한 (menu_id = 'board-{boardCode}', PermissionMatrix 메모리 확인) =====
 
     private void requireReadPermission(String boardCode) {
         Authentication auth = SecurityContextHolder.getContext().getAuthentication();
         if (isAdmin(auth)) return;
-        if (boardMapper.countReadPermission(auth.getName(), menuId(boardCode)) == 0) {
+        if (!permissionMatrix.canRead(auth.getName(), menuId(boardCode))) {
             throw new AccessDeniedException("이 게시판에 접근할 권한이 없습니다.");
         }
     }
@@ -238,7 +239,7 @@ public class BoardService {
     private void requireWritePermission(String boardCode) {
         Authentication auth = SecurityContextHolder.getContext().getAuthentication();
         if (isAdmin(auth)) return;
-        if (boardMapper.countWritePermission(auth.getName(), menuId(boardCode)) == 0) {
+        if (!permissionMatrix.canWrite(auth.getName(), menuId(boardCode))) {
             throw new AccessDeniedException("이 게시판에 글을 작성할 권한이 없습니다.");
         }
     }
@@ -0,0 +1,142 @@
+package com.worksystem.service;
+
+import com.worksystem.common.LatencyHistogram;
+import com.worksystem.common.StatsProvider;
+import com.worksystem.mapper.SessionLogMapper;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 만료 세션 정리 — Spring Session JDBC 기본 정리(한 문장 DELETE) 대체
+ *
+ * 기본 정리는 만료 세션 전체를 DELETE 한 번으로 지워, 쌓인 양이 많으면 SPRING_SESSION/ATTRIBUTES(CASCADE)
+ * 잠금이 길어져 로그인이 멈춘다. 여기서는
+ * - EXPIRY_TIME 순(SPRING_SESSION_IX2) chunk-size건씩 삭제, 청크 사이 pause-ms 휴지
+ * - 1회 실행 예산: max-chunks 또는 max-run-ms 중 먼저 닿는 쪽에서 중단 (남은 건 다음 주기)
+ * - 노드 간 중복 실행 방지: JobLockService 임대 (예산 시간보다 긴 임대)
+ * 기본 정리는 application.properties의 spring.session.jdbc.cleanup-cron=- 로 끈다.
+ * 메모리 세션 저장소(worksystem.session-store.type=memory)에서는 저장소가 직접 정리하므로 실행하지 않는다.
+ */
+@Slf4j
+@Component
+public class ExpiredSessionSweeper implements StatsProvider {
+
+    private static final String LOCK_NAME = "expired-session-sweeper";
+
+    private final SessionLogMapper sessionLogMapper;
+    private final JobLockService jobLockService;
+    private final int chunkSize;
+    private final long pauseMillis;
+    private final int maxChunks;
+    private final long maxRunMillis;
+    private final boolean enabled;
+
+    private final LongAdder runs = new LongAdder();
+    private final LongAdder skippedLocked = new LongAdder();
+    private final LongAdder budgetExhausted = new LongAdder();
+    private final LongAdder rowsRemoved = new LongAdder();
+    private final LongAdder failures = new LongAdder();
+    private final AtomicLong lastRunRows = new AtomicLong();
+    private final AtomicLong lastRunMillis = new AtomicLong();
+    private final LatencyHistogram chunkTime = new LatencyHistogram();
+    private final LatencyHistogram runTime = new LatencyHistogram();
+
+    public ExpiredSessionSweeper(SessionLogMapper sessionLogMapper,
+                                 JobLockService jobLockService,
+                                 @Value("${worksystem.session-sweeper.chunk-size:500}") int chunkSize,
+                                 @Value("${worksystem.session-sweeper.pause-ms:200}") long pauseMillis,
+                                 @Value("${worksystem.session-sweeper.max-chunks:200}") int maxChunks,
+                                 @Value("${worksystem.session-sweeper.max-run-ms:30000}") long maxRunMillis,
+                                 @Value("${worksystem.session-store.type:jdbc}") String storeType) {
+        this.sessionLogMapper = sessionLogMapper;
+        this.jobLockService = jobLockService;
+        this.chunkSize = chunkSize;
+        this.pauseMillis = pauseMillis;
+        this.maxChunks = maxChunks;
+        this.maxRunMillis = maxRunMillis;
+        this.enabled = !"memory".equalsIgnoreCase(storeType);
+    }
+
+    @Scheduled(cron = "${worksystem.session-sweeper.cron:0 * * * * *}")
+    public void sweep() {
+        if (!enabled) {
+            return;
+        }
+        // 임대 = 예산 시간 x2 + 여유 — 실행 중 만료되어 다른 노드와 겹치지 않도록
+        long leaseSeconds = maxRunMillis * 2 / 1000 + 30;
+        if (!jobLockService.tryAcquire(LOCK_NAME, leaseSeconds)) {
+            skippedLocked.increment();
+            return;
+        }
+        runs.increment();
+        long start = System.nanoTime();
+        long removed = 0;
+        try {
+            // 기준 시각은 실행 시작 시점으로 고정 — 실행 중 새로 만료되는 세션은 다음 주기
+            long now = System.currentTimeMillis();
+            for (int chunk = 0; chunk < maxChunks; chunk++) {
+                long chunkStart = System.nanoTime();
+                int deleted = sessionLogMapper.deleteExpiredSessions(now, chunkSize);
+                chunkTime.record(System.nanoTime() - chunkStart);
+                removed += deleted;
+                rowsRemoved.add(deleted);
+                if (deleted < chunkSize) {
+                    return;
+                }
+                if ((System.nanoTime() - start) / 1_000_000L >= maxRunMillis || chunk == maxChunks - 1) {
+                    budgetExhausted.increment();
+                    log.info("만료 세션 정리 예산 소진 — 나머지는 다음 주기 (이번 실행 {}건)", removed);
+                    return;
+                }
+                Thread.sleep(pauseMillis);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (Exception e) {
+            failures.increment();
+            log.error("만료 세션 정리 실패 - 이번 실행 {}건 삭제 후 중단", removed, e);
+        } finally {
+            long elapsed = System.nanoTime() - start;
+            runTime.record(elapsed);
+            lastRunRows.set(removed);
+            lastRunMillis.set(elapsed / 1_000_000L);
+            jobLockService.release(LOCK_NAME);
+            if (removed > 0) {
+                log.debug("만료 세션 정리 - {}건, {}ms", removed, elapsed / 1_000_000L);
+            }
+        }
+    }
+
+    @Override
+    public String getStatsName() {
+        return "session-sweeper";
+    }
+
+    /** 모니터링용 통계 (이 노드에서 실행한 분만 집계) */
+    @Override
+    public Map<String, Object> getStats() {
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("enabled", enabled);
+        stats.put("chunkSize", chunkSize);
+        stats.put("pauseMs", pauseMillis);
+        stats.put("maxChunks", maxChunks);
+        stats.put("maxRunMs", maxRunMillis);
+        stats.put("runs", runs.sum());
+        stats.put("skippedLocked", skippedLocked.sum());
+        stats.put("budgetExhausted", budgetExhausted.sum());
+        stats.put("failures", failures.sum());
+        stats.put("rowsRemoved", rowsRemoved.sum());
+        stats.put("lastRunRows", lastRunRows.get());
+        stats.put("lastRunMs", lastRunMillis.get());
+        stats.put("chunkTime", chunkTime.snapshot());
+        stats.put("runTime", runTime.snapshot());
+        return stats;
+    }
+}
@@ -6,9 +6,13 @@ import com.worksystem.entity.Group;
 import com.worksystem.mapper.GroupMapper;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 
@@ -19,6 +23,9 @@ import java.util.Map;
 public class GroupService {
     
     private final GroupMapper groupMapper;
+    private final UserDetailsCache userDetailsCache;
+    private final PermissionMatrix permissionMatrix;
+    private final ApplicationEventPublisher eventPublisher;
     
     /**
      * 모든 그룹 조회
@@ -129,6 +136,9 @@ public class GroupService {
                 .build();
         
         groupMapper.update(group);
+        // 활성 여부가 바뀌면 소속 사용자의 권한(ROLE_*)이 달라짐 — 로그인 캐시 전체 무효화
+        userDetailsCache.evictAll();
+        publishPermissionsChanged(groupId);
         log.info("그룹 수정 완료 - groupId: {}", groupId);
         
         return groupMapper.findByGroupId(groupId);
@@ -145,9 +155,15 @@ public class GroupService {
             throw new IllegalArgumentException("존재하지 않는 그룹입니다: " + groupId);
         }
         
+        // 매핑이 CASCADE로 사라지기 전에 알림 대상 확정
+        publishPermissionsChanged(groupId);
+
         // 그룹의 권한 정보도 함께 삭제
         groupMapper.deletePermissionsByGroupId(groupId);
         groupMapper.delete(groupId);
+        // 매핑은 FK CASCADE로 사라짐 — 어떤 사용자가 영향받는지 모르므로 로그인 캐시 전체 무효화
+        userDetailsCache.evictAll();
+        permissionMatrix.requestRebuild();
         
         log.info("그룹 삭제 완료 - groupId: {}", groupId);
     }
@@ -166,27 +182,69 @@ public class GroupService {
     }
     
     /**
-     * 그룹 메뉴 권한 저장
+     * 그룹 메뉴 권한 저장 — 현재 행과 비교해 바뀐 메뉴만 추가/수정/삭제 (변경이 없으면 아무 행도 건드리지 않음)
+     *
+     * @return 추가/수정/삭제/변경 없음 건수
      */
-    public void saveGroupPermissions(String groupId, List<GroupMenuPermissionDTO> permissions) {
+    public Map<String, Integer> saveGroupPermissions(String groupId, List<GroupMenuPermissionDTO> permissions) {
         log.info("그룹 권한 저장 요청 - groupId: {}, 권한 수: {}", groupId, permissions.size());
         
-        // 그룹 존재 확인
-        if (!groupMapper.existsByGroupId(groupId)) {
+        // 그룹 존재 확인 + 같은 그룹 동시 저장 직렬화 (비교 후 반영 사이에 다른 저장이 끼지 않도록)
+        if (groupMapper.lockByGroupId(groupId) == null) {
             throw new IllegalArgumentException("존재하지 않는 그룹입니다: " + groupId);
         }
         
-        // 기존 권한 모두 삭제
-        groupMapper.deletePermissionsByGroupId(groupId);
+        Map<String, GroupMenuPermissionDTO> current = new HashMap<>();
+        for (GroupMenuPermissionDTO permission : groupMapper.findPermissionsByGroupId(groupId)) {
+            current.put(permission.getMenuId(), permission);
+        }
         
-        // 새로운 권한 추가
-        if (!permissions.isEmpty()) {
-            // groupId 설정
-            permissions.forEach(permission -> permission.setGroupId(groupId));
-            groupMapper.insertPermissions(permissions);
+        // 같은 메뉴가 여러 번 오면 마지막 값 기준
+        Map<String, GroupMenuPermissionDTO> requested = new LinkedHashMap<>();
+        for (GroupMenuPermissionDTO permission : permissions) {
+            permission.setGroupId(groupId);
+            // 그리드의 빈 체크박스("")는 null로 들어옴 — NOT NULL 컬럼이므로 false로 맞춘 뒤 비교
+            permission.setCanRead(Boolean.TRUE.equals(permission.getCanRead()));
+            permission.setCanWrite(Boolean.TRUE.equals(permission.getCanWrite()));
+            permission.setCanDelete(Boolean.TRUE.equals(permission.getCanDelete()));
+            permission.setCanAdmin(Boolean.TRUE.equals(permission.getCanAdmin()));
+            requested.put(permission.getMenuId(), permission);
         }
         
-        log.info("그룹 권한 저장 완료 - groupId: {}", groupId);
+        List<GroupMenuPermissionDTO> inserts = new ArrayList<>();
+        List<GroupMenuPermissionDTO> updates = new ArrayList<>();
+        for (GroupMenuPermissionDTO permission : requested.values()) {
+            GroupMenuPermissionDTO existing = current.remove(permission.getMenuId());
+            if (existing == null) {
+                inserts.add(permission);
+            } else if (!sameFlags(existing, permission)) {
+                updates.add(permission);
+            }
+        }
+        // 요청에 없는 기존 행은 삭제
+        List<String> deletes = new ArrayList<>(current.keySet());
+        
+        if (!deletes.isEmpty()) {
+            groupMapper.deletePermissionsByMenuIds(groupId, deletes);
+        }
+        if (!updates.isEmpty()) {
+            groupMapper.updatePermissions(updates);
+        }
+        if (!inserts.isEmpty()) {
+            groupMapper.insertPermissions(inserts);
+        }
+        if (!inserts.isEmpty() || !updates.isEmpty() || !deletes.isEmpty()) {
+            permissionMatrix.requestRebuild();
+            publishPermissionsChanged(groupId);
+        }
+        
+        Map<String, Integer> result = new LinkedHashMap<>();
+        result.put("inserted", inserts.size());
+        result.put("updated", updates.size());
+        result.put("deleted", deletes.size());
+        result.put("unchanged", requested.size() - inserts.size() - updates.size());
+        log.info("그룹 권한 저장 완료 - groupId: {}, 결과: {}", groupId, result);
+        return result;
     }
     
     /**
@@ -207,4 +265,21 @@ public class GroupService {
         }
         return groupMapper.existsByGroupNameExcludingSelf(groupName, excludeGroupId);
     }
+    
+    private static boolean sameFlags(GroupMenuPermissionDTO a, GroupMenuPermissionDTO b) {
+        return Boolean.TRUE.equals(a.getCanRead()) == b.getCanRead()
+                && Boolean.TRUE.equals(a.getCanWrite()) == b.getCanWrite()
+                && Boolean.TRUE.equals(a.getCanDelete()) == b.getCanDelete()
+                && Boolean.TRUE.equals(a.getCanAdmin()) == b.getCanAdmin();
+    }
+    
+    /**
+     * 그룹 소속 사용자에게 권한 변경 알림 (커밋 후 SessionEventDispatcher가 푸시)
+     */
+    private void publishPermissionsChanged(String groupId) {
+        List<String> userIds = groupMapper.findUserIdsByGroupId(groupId);
+        if (!userIds.isEmpty()) {
+            eventPublisher.publishEvent(new PermissionsChangedEvent(this, userIds));
+        }
+    }
 }
@@ -0,0 +1,45 @@
+package com.worksystem.service;
+
+import com.worksystem.mapper.JobLockMapper;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+
+import java.lang.management.ManagementFactory;
+import java.util.UUID;
+
+/**
+ * 배치 작업 노드 간 잠금 — 여러 노드에서 같은 @Scheduled 작업이 돌아도 한 번에 한 노드만 실행
+ *
+ * DB 세션에 묶이는 GET_LOCK과 달리 행 단위 임대(job_locks.locked_until)라 커넥션 풀을 거치는
+ * 여러 쿼리에 걸쳐 유지된다. 노드가 죽어도 임대 만료 후 다른 노드가 가져간다.
+ * 임대 기간은 작업 1회 최대 실행 시간보다 길게 잡을 것.
+ */
+@Slf4j
+@Service
+public class JobLockService {
+
+    private final JobLockMapper jobLockMapper;
+    private final String owner;
+
+    public JobLockService(JobLockMapper jobLockMapper) {
+        this.jobLockMapper = jobLockMapper;
+        // 노드(JVM) 식별자 — 재기동 시 새 값 (이전 프로세스의 임대는 만료로 풀림)
+        this.owner = ManagementFactory.getRuntimeMXBean().getName() + "/"
+                + UUID.randomUUID().toString().substring(0, 8);
+    }
+
+    /** 임대 획득 시도 — 다른 노드가 보유 중이면 false */
+    public boolean tryAcquire(String lockName, long leaseSeconds) {
+        jobLockMapper.ensureLock(lockName);
+        return jobLockMapper.tryAcquire(lockName, owner, leaseSeconds) == 1;
+    }
+
+    /** 임대 반납 (실패해도 임대 만료로 풀리므로 로그만) */
+    public void release(String lockName) {
+        try {
+            jobLockMapper.release(lockName, owner);
+        } catch (Exception e) {
+            log.warn("작업 잠금 반납 실패 - lock: {}, error: {}", lockName, e.getMessage());
+        }
+    }
+}
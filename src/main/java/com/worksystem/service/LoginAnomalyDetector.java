@@ -0,0 +1,366 @@
+package com.worksystem.service;
+
+import com.worksystem.common.StatsProvider;
+import com.worksystem.config.LoginThrottle;
+import com.worksystem.dto.LoginAnomalyAlertDTO;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Deque;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 로그인 이상 징후 탐지 — login_history GROUP BY 조회 대신, 기록되는 이벤트를 그대로 받아 메모리에서 센다 (노드별)
+ *
+ * - 슬라이딩 창: window-seconds를 bucket-seconds 단위 고정 크기 배열로 나눈 원형 버퍼. 이벤트 1건 =
+ *   지난 버킷 비우기(최대 버킷 수만큼) + 현재 버킷 증가 → 이벤트당 상수 시간, DB 조회 없음
+ * - IP별: 실패 수(IP_FAILURES) + 시도한 고유 사용자 수(IP_SPRAY — 버킷마다 64비트 비트맵, 창 전체 OR의
+ *   선형 계수 추정). 사용자 ID별: 실패 수(USER_FAILURES — 여러 IP에서 한 계정을 노리는 경우),
+ *   실패가 쌓인 계정의 로그인 성공(SUCCESS_AFTER_FAILURES — 탈취 의심)
+ * - 키 수 상한: 스트라이프별 LRU (전체 max-keys) — 공격자가 IP/ID를 바꿔도 메모리가 일정
+ * - 경보는 같은 키·유형에 대해 창 길이마다 한 번만 올리고 최근 max-alerts개를 보관 (접속 로그 화면이 조회)
+ * - block-seconds > 0이면 IP 경보 시 LoginThrottle에 해당 IP 차단을 요청. 사용자 ID 경보는 정상 사용자까지
+ *   묶는 잠금 공격이 될 수 있어 차단하지 않는다 (사용자별 제한은 LoginThrottle 자체 한도로 충분)
+ * - IP는 ClientIpResolver 값(신뢰 프록시가 붙인 주소 또는 remoteAddr)이라 X-Forwarded-For 위조로
+ *   남의 IP를 차단시키거나 IP를 바꿔 가며 탐지를 피할 수 없다. 프록시 뒤라면 trusted-proxies 설정이 전제.
+ */
+@Slf4j
+@Component
+public class LoginAnomalyDetector implements StatsProvider {
+
+    public static final String IP_FAILURES = "IP_FAILURES";
+    public static final String IP_SPRAY = "IP_SPRAY";
+    public static final String USER_FAILURES = "USER_FAILURES";
+    public static final String SUCCESS_AFTER_FAILURES = "SUCCESS_AFTER_FAILURES";
+
+    private static final int STRIPES = 64;
+
+    private final LoginThrottle loginThrottle;
+    private final boolean enabled;
+    private final int windowSeconds;
+    private final long bucketNanos;
+    private final int buckets;
+    private final int ipFailThreshold;
+    private final int ipUserThreshold;
+    private final int userFailThreshold;
+    private final long blockSeconds;
+    private final int maxAlerts;
+    private final Stripe[] ipStripes = new Stripe[STRIPES];
+    private final Stripe[] userStripes = new Stripe[STRIPES];
+    private final Deque<LoginAnomalyAlertDTO> alerts = new ArrayDeque<>();
+
+    private final LongAdder events = new LongAdder();
+    private final LongAdder raised = new LongAdder();
+    private final LongAdder blocked = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+
+    public LoginAnomalyDetector(LoginThrottle loginThrottle,
+                                @Value("${worksystem.login-anomaly.enabled:true}") boolean enabled,
+                                @Value("${worksystem.login-anomaly.window-seconds:300}") int windowSeconds,
+                                @Value("${worksystem.login-anomaly.bucket-seconds:10}") int bucketSeconds,
+                                @Value("${worksystem.login-anomaly.ip-fail-threshold:30}") int ipFailThreshold,
+                                @Value("${worksystem.login-anomaly.ip-user-threshold:10}") int ipUserThreshold,
+                                @Value("${worksystem.login-anomaly.user-fail-threshold:10}") int userFailThreshold,
+                                @Value("${worksystem.login-anomaly.block-seconds:0}") long blockSeconds,
+                                @Value("${worksystem.login-anomaly.max-keys:50000}") int maxKeys,
+                                @Value("${worksystem.login-anomaly.max-alerts:200}") int maxAlerts) {
+        if (bucketSeconds < 1 || windowSeconds < bucketSeconds) {
+            throw new IllegalArgumentException("worksystem.login-anomaly.window-seconds는 bucket-seconds 이상이어야 합니다.");
+        }
+        this.loginThrottle = loginThrottle;
+        this.enabled = enabled;
+        this.windowSeconds = windowSeconds;
+        this.bucketNanos = bucketSeconds * 1_000_000_000L;
+        this.buckets = (windowSeconds + bucketSeconds - 1) / bucketSeconds;
+        this.ipFailThreshold = ipFailThreshold;
+        this.ipUserThreshold = ipUserThreshold;
+        this.userFailThreshold = userFailThreshold;
+        this.blockSeconds = blockSeconds;
+        this.maxAlerts = maxAlerts;
+        int perStripe = Math.max(1, maxKeys / STRIPES);
+        for (int i = 0; i < STRIPES; i++) {
+            ipStripes[i] = new Stripe(perStripe, evictions);
+            userStripes[i] = new Stripe(perStripe, evictions);
+        }
+    }
+
+    /**
+     * 로그인 실패 1건 반영 (SessionLogService.recordLoginFail 경로)
+     */
+    public void onLoginFail(String clientIp, String userId) {
+        if (!enabled) {
+            return;
+        }
+        events.increment();
+        long bucket = System.nanoTime() / bucketNanos;
+        String userKey = normalizeUserId(userId);
+
+        if (clientIp != null) {
+            int failures;
+            int users;
+            boolean failAlert;
+            boolean sprayAlert;
+            Stripe stripe = stripeFor(ipStripes, clientIp);
+            synchronized (stripe) {
+                Window window = stripe.computeIfAbsent(clientIp, k -> new Window(buckets, true));
+                window.advance(bucket);
+                window.addFailure(bucket, userKey);
+                failures = window.failTotal;
+                users = window.estimateUsers();
+                failAlert = failures >= ipFailThreshold && window.shouldAlert(0, bucket);
+                sprayAlert = users >= ipUserThreshold && window.shouldAlert(1, bucket);
+            }
+            if (failAlert) {
+                raise(IP_FAILURES, clientIp, failures, ipFailThreshold, true);
+            }
+            if (sprayAlert) {
+                raise(IP_SPRAY, clientIp, users, ipUserThreshold, true);
+            }
+        }
+
+        if (userKey != null) {
+            int failures;
+            boolean failAlert;
+            Stripe stripe = stripeFor(userStripes, userKey);
+            synchronized (stripe) {
+                Window window = stripe.computeIfAbsent(userKey, k -> new Window(buckets, false));
+                window.advance(bucket);
+                window.addFailure(bucket, null);
+                failures = window.failTotal;
+                failAlert = failures >= userFailThreshold && window.shouldAlert(0, bucket);
+            }
+            if (failAlert) {
+                raise(USER_FAILURES, userKey, failures, userFailThreshold, false);
+            }
+        }
+    }
+
+    /**
+     * 로그인 성공 1건 반영 — 창 안에서 실패가 기준 이상 쌓인 계정의 성공은 탈취 의심(SUCCESS_AFTER_FAILURES)
+     */
+    public void onLogin(String clientIp, String userId) {
+        String userKey = normalizeUserId(userId);
+        if (!enabled || userKey == null) {
+            return;
+        }
+        events.increment();
+        long bucket = System.nanoTime() / bucketNanos;
+        int failures;
+        boolean alert;
+        Stripe stripe = stripeFor(userStripes, userKey);
+        synchronized (stripe) {
+            Window window = stripe.get(userKey);
+            if (window == null) {
+                return;
+            }
+            window.advance(bucket);
+            failures = window.failTotal;
+            alert = failures >= userFailThreshold && window.shouldAlert(1, bucket);
+        }
+        if (alert) {
+            raise(SUCCESS_AFTER_FAILURES, userKey + " (" + clientIp + ")", failures, userFailThreshold, false);
+        }
+    }
+
+    private void raise(String type, String key, int count, int threshold, boolean blockIp) {
+        boolean throttled = blockIp && blockSeconds > 0;
+        if (throttled) {
+            loginThrottle.block(key, blockSeconds);
+            blocked.increment();
+        }
+        LoginAnomalyAlertDTO alert = LoginAnomalyAlertDTO.builder()
+                .type(type)
+                .key(key)
+                .count(count)
+                .threshold(threshold)
+                .windowSeconds(windowSeconds)
+                .throttled(throttled)
+                .raisedAt(LocalDateTime.now())
+                .build();
+        synchronized (alerts) {
+            alerts.addFirst(alert);
+            while (alerts.size() > maxAlerts) {
+                alerts.removeLast();
+            }
+        }
+        raised.increment();
+        log.warn("로그인 이상 징후 - type: {}, key: {}, count: {} (기준 {} / {}초){}",
+                type, key, count, threshold, windowSeconds, throttled ? ", " + blockSeconds + "초 차단" : "");
+    }
+
+    /** 최근 경보 (최신순, 최대 limit개) */
+    public List<LoginAnomalyAlertDTO> getRecentAlerts(int limit) {
+        synchronized (alerts) {
+            List<LoginAnomalyAlertDTO> result = new ArrayList<>(Math.min(limit, alerts.size()));
+            for (LoginAnomalyAlertDTO alert : alerts) {
+                if (result.size() >= limit) {
+                    break;
+                }
+                result.add(alert);
+            }
+            return result;
+        }
+    }
+
+    @Override
+    public String getStatsName() {
+        return "login-anomalies";
+    }
+
+    /** 모니터링용 통계 */
+    @Override
+    public Map<String, Object> getStats() {
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("enabled", enabled);
+        stats.put("windowSeconds", windowSeconds);
+        stats.put("buckets", buckets);
+        stats.put("events", events.sum());
+        stats.put("alertsRaised", raised.sum());
+        stats.put("ipBlocks", blocked.sum());
+        stats.put("ipKeys", size(ipStripes));
+        stats.put("userKeys", size(userStripes));
+        stats.put("evictions", evictions.sum());
+        return stats;
+    }
+
+    // 로그인 제한기와 같은 정규화 — 대소문자 무시(DB collation ci) + 길이 절단
+    private static String normalizeUserId(String userId) {
+        if (userId == null || userId.isBlank()) {
+            return null;
+        }
+        String trimmed = userId.trim();
+        if (trimmed.length() > 50) {
+            trimmed = trimmed.substring(0, 50);
+        }
+        return trimmed.toLowerCase(Locale.ROOT);
+    }
+
+    private static Stripe stripeFor(Stripe[] stripes, String key) {
+        int h = key.hashCode();
+        h ^= (h >>> 16);
+        return stripes[h & (STRIPES - 1)];
+    }
+
+    private static int size(Stripe[] stripes) {
+        int total = 0;
+        for (Stripe stripe : stripes) {
+            synchronized (stripe) {
+                total += stripe.size();
+            }
+        }
+        return total;
+    }
+
+    /**
+     * 키 하나의 슬라이딩 창 — 버킷 배열은 생성 시 고정 크기, 이벤트마다 할당 없음 (패키지 전용 — 단위 테스트)
+     */
+    static final class Window {
+
+        private final int[] failures;
+        private final long[] userBits;        // IP 창만 — 버킷별 사용자 ID 해시 비트맵 (64칸)
+        private final long[] alertedBucket = {Long.MIN_VALUE, Long.MIN_VALUE};
+        private long lastBucket = Long.MIN_VALUE;
+        private int failTotal;
+
+        Window(int buckets, boolean trackUsers) {
+            this.failures = new int[buckets];
+            this.userBits = trackUsers ? new long[buckets] : null;
+        }
+
+        /** 현재 버킷까지 지난 버킷을 비움 — 최대 버킷 수만큼만 돈다 */
+        void advance(long bucket) {
+            if (bucket <= lastBucket) {
+                return;
+            }
+            int n = failures.length;
+            if (lastBucket == Long.MIN_VALUE || bucket - lastBucket >= n) {
+                Arrays.fill(failures, 0);
+                if (userBits != null) {
+                    Arrays.fill(userBits, 0L);
+                }
+                failTotal = 0;
+            } else {
+                for (long b = lastBucket + 1; b <= bucket; b++) {
+                    int i = (int) (b % n);
+                    failTotal -= failures[i];
+                    failures[i] = 0;
+                    if (userBits != null) {
+                        userBits[i] = 0L;
+                    }
+                }
+            }
+            lastBucket = bucket;
+        }
+
+        /** 창 안의 실패 건수 */
+        int failTotal() {
+            return failTotal;
+        }
+
+        void addFailure(long bucket, String userKey) {
+            int i = (int) (bucket % failures.length);
+            failures[i]++;
+            failTotal++;
+            if (userBits != null && userKey != null) {
+                int h = userKey.hashCode() * 0x9E3779B9;   // 상위 6비트로 64칸 중 하나
+                userBits[i] |= 1L << (h >>> 26);
+            }
+        }
+
+        /** 창 전체 고유 사용자 수 추정 (선형 계수: -m ln(빈 칸 비율)) — 64칸이 다 차면 상한값 */
+        int estimateUsers() {
+            if (userBits == null) {
+                return 0;
+            }
+            long union = 0L;
+            for (long bits : userBits) {
+                union |= bits;
+            }
+            int empty = 64 - Long.bitCount(union);
+            if (empty == 0) {
+                return 64 * 4;
+            }
+            return (int) Math.round(-64 * Math.log(empty / 64.0));
+        }
+
+        /** 같은 유형 경보는 창 길이에 한 번 */
+        boolean shouldAlert(int type, long bucket) {
+            if (alertedBucket[type] != Long.MIN_VALUE && bucket - alertedBucket[type] < failures.length) {
+                return false;
+            }
+            alertedBucket[type] = bucket;
+            return true;
+        }
+    }
+
+    /** 스트라이프 — access-order LRU (상한 초과 시 eldest 제거) */
+    private static final class Stripe extends LinkedHashMap<String, Window> {
+
+        private final int maxEntries;
+        private final LongAdder evictions;
+
+        Stripe(int maxEntries, LongAdder evictions) {
+            super(16, 0.75f, true);
+            this.maxEntries = maxEntries;
+            this.evictions = evictions;
+        }
+
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<String, Window> eldest) {
+            if (size() > maxEntries) {
+                evictions.increment();
+                return true;
+            }
+            return false;
+        }
+    }
+}
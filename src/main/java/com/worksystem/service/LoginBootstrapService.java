@@ -0,0 +1,87 @@
+package com.worksystem.service;
+
+import com.worksystem.dto.UserDTO;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.security.core.Authentication;
+import org.springframework.stereotype.Service;
+
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.regex.Pattern;
+
+/**
+ * 로그인 부트스트랩 — 첫 화면에 필요한 데이터(사용자 프로필, 접근 가능 메뉴 트리, 요청한 공통코드 enum)를 한 번에 구성
+ *
+ * JSON 로그인(LoginSuccessHandler)의 응답 본문으로 쓰여, 로그인 후 /api/auth/user, /api/menus/user-accessible,
+ * /api/common-codes/enum/* 를 각각 호출하던 왕복을 로그인 응답 1회로 줄인다.
+ * 사용자 프로필 형태는 /api/auth/user(AuthRestController)와 같은 메서드로 만든다.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class LoginBootstrapService {
+
+    /** 한 번에 요청할 수 있는 enum 그룹 수 상한 (로그인 응답 크기/쿼리 수 보호) */
+    private static final int MAX_ENUM_GROUPS = 20;
+    private static final Pattern GROUP_CODE = Pattern.compile("^[A-Za-z0-9_]{1,50}$");
+
+    private final UserService userService;
+    private final MenuService menuService;
+    private final CommonCodeService commonCodeService;
+
+    /**
+     * 사용자 프로필 — 사용자가 없으면 null
+     */
+    public Map<String, Object> getUserProfile(Authentication auth) {
+        UserDTO user = userService.findUserWithGroups(auth.getName());
+        if (user == null) {
+            return null;
+        }
+        Map<String, Object> profile = new HashMap<>();
+        profile.put("authenticated", true);
+        profile.put("userId", user.getUserId());
+        profile.put("name", user.getName());
+        profile.put("email", user.getEmail());
+        profile.put("department", user.getDepartment());
+        profile.put("groupIds", user.getGroupIds());
+        profile.put("groupNames", user.getGroupNames());
+        profile.put("primaryGroupId", user.getPrimaryGroupId());
+        profile.put("primaryGroupName", user.getPrimaryGroupName());
+        profile.put("authorities", auth.getAuthorities());
+        return profile;
+    }
+
+    /**
+     * 부트스트랩 페이로드 {user, menus, enums}
+     * enums는 요청한 그룹코드별 {code:[], text:[]} — 형식이 잘못되었거나 없는 그룹은 제외한다
+     * (로그인 자체를 실패시키지 않기 위해 404 대신 생략).
+     */
+    public Map<String, Object> buildBootstrap(Authentication auth, List<String> enumGroups) {
+        Map<String, Object> enums = new LinkedHashMap<>();
+        if (enumGroups != null) {
+            for (String groupCode : enumGroups) {
+                if (enums.size() >= MAX_ENUM_GROUPS) {
+                    break;
+                }
+                if (groupCode == null || !GROUP_CODE.matcher(groupCode).matches() || enums.containsKey(groupCode)) {
+                    continue;
+                }
+                try {
+                    enums.put(groupCode, commonCodeService.getEnum(groupCode));
+                } catch (NoSuchElementException e) {
+                    log.debug("부트스트랩 enum 그룹 없음 - groupCode: {}", groupCode);
+                }
+            }
+        }
+
+        Map<String, Object> bootstrap = new LinkedHashMap<>();
+        bootstrap.put("user", getUserProfile(auth));
+        bootstrap.put("menus", menuService.getAccessibleMenusForUser(auth.getName()));
+        bootstrap.put("enums", enums);
+        return bootstrap;
+    }
+}
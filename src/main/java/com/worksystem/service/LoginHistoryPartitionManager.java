@@ -0,0 +1,196 @@
+package com.worksystem.service;
+
+import com.worksystem.common.StatsProvider;
+import com.worksystem.mapper.LoginHistoryPartitionMapper;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.YearMonth;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * login_history 월 파티션 관리 — 미래 파티션 선생성 + 보존 기간 경과 파티션 삭제/보관
+ *
+ * - 파티션 이름 pYYYYMM = 해당 월, pmax = 그 이후 전부(평소 비어 있음). 현재 월 + months-ahead개월까지
+ *   pmax를 분할해 만든다 (pmax가 비어 있으니 메타데이터 변경만).
+ * - 보존: retention-months개월 전보다 오래된 월 파티션을 retention-mode에 따라
+ *   drop = DROP PARTITION / archive = 빈 보관 테이블(login_history_archive_YYYYMM)과 EXCHANGE 후 DROP.
+ *   행 단위 DELETE가 없어 이력이 수억 건이어도 정리 비용이 일정하다.
+ * - 기동 직후 1회 + 매일 cron. 노드 간 중복 실행은 JobLockService 임대로 방지.
+ * 파티션되지 않은 기존 테이블(schema.sql 미적용 DB)이면 경고만 남기고 아무것도 하지 않는다.
+ */
+@Slf4j
+@Component
+public class LoginHistoryPartitionManager implements StatsProvider {
+
+    private static final String LOCK_NAME = "login-history-partitions";
+    private static final long LEASE_SECONDS = 600;
+    private static final String MAX_PARTITION = "pmax";
+    private static final Pattern MONTH_PARTITION = Pattern.compile("p(\\d{6})");
+    private static final DateTimeFormatter MONTH_FORMAT = DateTimeFormatter.ofPattern("yyyyMM");
+
+    private final LoginHistoryPartitionMapper partitionMapper;
+    private final JobLockService jobLockService;
+    private final int monthsAhead;
+    private final int retentionMonths;
+    private final boolean archive;
+
+    private final LongAdder runs = new LongAdder();
+    private final LongAdder skippedLocked = new LongAdder();
+    private final LongAdder failures = new LongAdder();
+    private final LongAdder created = new LongAdder();
+    private final LongAdder dropped = new LongAdder();
+    private final LongAdder archived = new LongAdder();
+    private final AtomicLong lastRunMillis = new AtomicLong();
+    private final AtomicReference<List<String>> lastPartitions = new AtomicReference<>(List.of());
+
+    public LoginHistoryPartitionManager(LoginHistoryPartitionMapper partitionMapper,
+                                        JobLockService jobLockService,
+                                        @Value("${worksystem.login-history.partition.months-ahead:3}") int monthsAhead,
+                                        @Value("${worksystem.login-history.partition.retention-months:12}") int retentionMonths,
+                                        @Value("${worksystem.login-history.partition.retention-mode:drop}") String retentionMode) {
+        if (retentionMonths < 1) {
+            throw new IllegalArgumentException("worksystem.login-history.partition.retention-months는 1 이상이어야 합니다.");
+        }
+        this.partitionMapper = partitionMapper;
+        this.jobLockService = jobLockService;
+        this.monthsAhead = monthsAhead;
+        this.retentionMonths = retentionMonths;
+        this.archive = "archive".equalsIgnoreCase(retentionMode);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void onApplicationReady() {
+        maintain();
+    }
+
+    @Scheduled(cron = "${worksystem.login-history.partition.cron:0 10 3 * * *}")
+    public void maintain() {
+        if (!jobLockService.tryAcquire(LOCK_NAME, LEASE_SECONDS)) {
+            skippedLocked.increment();
+            return;
+        }
+        runs.increment();
+        long start = System.currentTimeMillis();
+        try {
+            TreeMap<YearMonth, String> months = monthPartitions();
+            if (months == null) {
+                return;
+            }
+            YearMonth current = YearMonth.now();
+            createFuturePartitions(months, current);
+            applyRetention(months, current);
+            lastPartitions.set(partitionMapper.findPartitionNames());
+        } catch (Exception e) {
+            failures.increment();
+            log.error("로그인 이력 파티션 관리 실패", e);
+        } finally {
+            lastRunMillis.set(System.currentTimeMillis() - start);
+            jobLockService.release(LOCK_NAME);
+        }
+    }
+
+    /** 월 → 파티션 이름 (오름차순). 관리할 수 없는 구조면 null */
+    private TreeMap<YearMonth, String> monthPartitions() {
+        List<String> names = partitionMapper.findPartitionNames();
+        if (names.isEmpty() || !names.contains(MAX_PARTITION)) {
+            log.warn("login_history가 월 파티션 구조가 아님 — 파티션 관리 건너뜀 (schema.sql 참고, 파티션: {})", names);
+            return null;
+        }
+        TreeMap<YearMonth, String> months = new TreeMap<>();
+        for (String name : names) {
+            Matcher matcher = MONTH_PARTITION.matcher(name);
+            if (matcher.matches()) {
+                months.put(YearMonth.parse(matcher.group(1), MONTH_FORMAT), name);
+            }
+        }
+        return months;
+    }
+
+    /** 마지막 월 파티션 다음 달부터 현재 + months-ahead까지 (중간 삽입은 불가 — RANGE는 끝에서만 분할) */
+    private void createFuturePartitions(TreeMap<YearMonth, String> months, YearMonth current) {
+        YearMonth target = current.plusMonths(monthsAhead);
+        YearMonth next = months.isEmpty() ? current : months.lastKey().plusMonths(1);
+        List<Map<String, String>> partitions = new ArrayList<>();
+        for (YearMonth month = next; !month.isAfter(target); month = month.plusMonths(1)) {
+            partitions.add(Map.of(
+                    "name", partitionName(month),
+                    "lessThan", month.plusMonths(1).atDay(1).toString()));
+        }
+        if (partitions.isEmpty()) {
+            return;
+        }
+        partitionMapper.splitMaxPartition(partitions);
+        partitions.forEach(p -> months.put(YearMonth.parse(p.get("name").substring(1), MONTH_FORMAT), p.get("name")));
+        created.add(partitions.size());
+        log.info("로그인 이력 파티션 생성 - {}", partitions.stream().map(p -> p.get("name")).toList());
+    }
+
+    /** 보존 기간 경과 파티션 정리 — 현재 월 파티션과 그 이후는 건드리지 않음 */
+    private void applyRetention(TreeMap<YearMonth, String> months, YearMonth current) {
+        YearMonth cutoff = current.minusMonths(retentionMonths);
+        for (Map.Entry<YearMonth, String> entry : new ArrayList<>(months.headMap(cutoff).entrySet())) {
+            String partition = entry.getValue();
+            if (archive) {
+                String archiveTable = "login_history_archive_" + entry.getKey().format(MONTH_FORMAT);
+                try {
+                    partitionMapper.createArchiveTable(archiveTable);
+                } catch (Exception e) {
+                    // 이전 실행이 중간에 끊긴 경우 등 — 데이터를 덮어쓰지 않도록 수동 확인 대상으로 남김
+                    log.error("보관 테이블 생성 실패 - {} 보관 건너뜀 (table: {}): {}", partition, archiveTable, e.getMessage());
+                    failures.increment();
+                    continue;
+                }
+                partitionMapper.removeArchivePartitioning(archiveTable);
+                partitionMapper.exchangePartition(partition, archiveTable);
+                archived.increment();
+                log.info("로그인 이력 파티션 보관 - {} → {}", partition, archiveTable);
+            }
+            partitionMapper.dropPartition(partition);
+            months.remove(entry.getKey());
+            dropped.increment();
+            log.info("로그인 이력 파티션 삭제 - {} (보존 {}개월)", partition, retentionMonths);
+        }
+    }
+
+    private static String partitionName(YearMonth month) {
+        return "p" + month.format(MONTH_FORMAT);
+    }
+
+    @Override
+    public String getStatsName() {
+        return "login-history-partitions";
+    }
+
+    /** 모니터링용 통계 (이 노드에서 실행한 분만 집계) */
+    @Override
+    public Map<String, Object> getStats() {
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("monthsAhead", monthsAhead);
+        stats.put("retentionMonths", retentionMonths);
+        stats.put("retentionMode", archive ? "archive" : "drop");
+        stats.put("runs", runs.sum());
+        stats.put("skippedLocked", skippedLocked.sum());
+        stats.put("failures", failures.sum());
+        stats.put("created", created.sum());
+        stats.put("dropped", dropped.sum());
+        stats.put("archived", archived.sum());
+        stats.put("lastRunMs", lastRunMillis.get());
+        stats.put("partitions", lastPartitions.get());
+        return stats;
+    }
+}
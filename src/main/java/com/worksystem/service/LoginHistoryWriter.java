@@ -0,0 +1,206 @@
+package com.worksystem.service;
+
+import com.worksystem.common.LatencyHistogram;
+import com.worksystem.common.StatsProvider;
+import com.worksystem.dto.LoginHistoryDTO;
+import com.worksystem.mapper.SessionLogMapper;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 로그인 이력 비동기 일괄 기록 — 인증 흐름(로그인/실패/로그아웃 핸들러)에서 DB 커넥션을 잡지 않도록
+ *
+ * - 유한 대기열(queue-capacity)에 적재만 하고 바로 반환. 가득 차면 버리고 dropped로 집계 (fail-open —
+ *   무차별 대입 공격 중 이력 기록이 로그인 자체를 막거나 쓰기 폭주를 일으키지 않음)
+ * - 전용 스레드 1개가 batch-size건이 모이거나 flush-interval-ms가 지나면 다건 INSERT 한 문장으로 기록
+ * - 발생 시각(created_at)은 적재 시점 값으로 넣는다 (지연 기록이어도 이력 순서/시각 보존)
+ * - User-Agent는 UserAgentDictionary의 정수 키(ua_id)로 바꿔 기록한다
+ * - 종료 시 대기열에 남은 이력을 모두 기록한 뒤 멈춘다 (shutdown-timeout-ms까지 대기).
+ *   기한을 넘기면 그 뒤로는 기록하지 않고 남은 이력을 dropped로 집계한다 — DB 장애 중 종료가 늘어지지 않음
+ * - 기록된 묶음은 같은 스레드에서 LoginStatsService 통계 롤업에도 반영한다
+ * 기록 실패한 묶음은 재시도하지 않고 failedRows로 집계한다.
+ */
+@Slf4j
+@Component
+public class LoginHistoryWriter implements StatsProvider {
+
+    private final SessionLogMapper sessionLogMapper;
+    private final LoginStatsService loginStatsService;
+    private final UserAgentDictionary userAgentDictionary;
+    private final BlockingQueue<LoginHistoryDTO> queue;
+    private final int batchSize;
+    private final long flushIntervalMillis;
+    private final long shutdownTimeoutMillis;
+    private final Thread writerThread;
+    private volatile boolean running = true;
+    private volatile boolean abandoned;   // 종료 대기 초과 — 더 기록하지 않음
+
+    private final LongAdder enqueued = new LongAdder();
+    private final LongAdder dropped = new LongAdder();
+    private final LongAdder writtenRows = new LongAdder();
+    private final LongAdder failedRows = new LongAdder();
+    private final LongAdder batches = new LongAdder();
+    private final AtomicLong lastDropWarnMillis = new AtomicLong();
+    private final LatencyHistogram batchTime = new LatencyHistogram();
+
+    public LoginHistoryWriter(SessionLogMapper sessionLogMapper,
+                              LoginStatsService loginStatsService,
+                              UserAgentDictionary userAgentDictionary,
+                              @Value("${worksystem.login-history.queue-capacity:10000}") int queueCapacity,
+                              @Value("${worksystem.login-history.batch-size:200}") int batchSize,
+                              @Value("${worksystem.login-history.flush-interval-ms:500}") long flushIntervalMillis,
+                              @Value("${worksystem.login-history.shutdown-timeout-ms:10000}") long shutdownTimeoutMillis) {
+        this.sessionLogMapper = sessionLogMapper;
+        this.loginStatsService = loginStatsService;
+        this.userAgentDictionary = userAgentDictionary;
+        this.queue = new ArrayBlockingQueue<>(queueCapacity);
+        this.batchSize = batchSize;
+        this.flushIntervalMillis = flushIntervalMillis;
+        this.shutdownTimeoutMillis = shutdownTimeoutMillis;
+        this.writerThread = new Thread(this::run, "login-history-writer");
+        this.writerThread.setDaemon(true);
+        this.writerThread.start();
+        log.info("로그인 이력 기록기 시작 - queueCapacity: {}, batchSize: {}, flushIntervalMs: {}",
+                queueCapacity, batchSize, flushIntervalMillis);
+    }
+
+    /**
+     * 이력 적재 (대기 없음) — 가득 찼거나 종료 중이면 false
+     */
+    public boolean enqueue(LoginHistoryDTO row) {
+        if (running && queue.offer(row)) {
+            enqueued.increment();
+            return true;
+        }
+        dropped.increment();
+        // 공격 중 로그 폭주 방지 — 버림 경고는 10초에 한 번
+        long now = System.currentTimeMillis();
+        long last = lastDropWarnMillis.get();
+        if (now - last >= 10_000L && lastDropWarnMillis.compareAndSet(last, now)) {
+            log.warn("로그인 이력 대기열 포화 — 이력 버림 (누적 {}건)", dropped.sum());
+        }
+        return false;
+    }
+
+    private void run() {
+        List<LoginHistoryDTO> batch = new ArrayList<>(batchSize);
+        while (!abandoned && (running || !queue.isEmpty())) {
+            try {
+                LoginHistoryDTO first = queue.poll(flushIntervalMillis, TimeUnit.MILLISECONDS);
+                if (first == null) {
+                    continue;
+                }
+                batch.add(first);
+                // 첫 건 이후 flush-interval-ms 안에서 batch-size까지 모음
+                long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(flushIntervalMillis);
+                while (batch.size() < batchSize) {
+                    queue.drainTo(batch, batchSize - batch.size());
+                    long remaining = deadline - System.nanoTime();
+                    if (batch.size() >= batchSize || remaining <= 0 || !running) {
+                        break;
+                    }
+                    LoginHistoryDTO next = queue.poll(remaining, TimeUnit.NANOSECONDS);
+                    if (next == null) {
+                        break;
+                    }
+                    batch.add(next);
+                }
+            } catch (InterruptedException e) {
+                // 종료 대기 초과로 중단됨 — 모으던 것도 기록하지 않는다
+                running = false;
+            }
+            if (abandoned) {
+                dropped.add(batch.size());
+                batch.clear();
+                break;
+            }
+            write(batch);
+        }
+        if (abandoned) {
+            List<LoginHistoryDTO> remaining = new ArrayList<>();
+            queue.drainTo(remaining);
+            dropped.add(remaining.size());
+        }
+        log.info("로그인 이력 기록기 종료 - 기록 {}건, 버림 {}건, 실패 {}건",
+                writtenRows.sum(), dropped.sum(), failedRows.sum());
+    }
+
+    private void write(List<LoginHistoryDTO> batch) {
+        if (batch.isEmpty()) {
+            return;
+        }
+        long start = System.nanoTime();
+        boolean written = false;
+        try {
+            // User-Agent → 사전 키 (대부분 메모리 조회, 처음 보는 문자열만 등록)
+            for (LoginHistoryDTO row : batch) {
+                row.setUaId(userAgentDictionary.resolve(row.getUserAgent()));
+            }
+            sessionLogMapper.insertHistoryBatch(batch);
+            writtenRows.add(batch.size());
+            written = true;
+        } catch (Exception e) {
+            // 이력 기록 실패가 다른 기록을 막지 않도록 로그만 남기고 버림
+            failedRows.add(batch.size());
+            log.error("로그인 이력 일괄 기록 실패 - {}건 버림", batch.size(), e);
+        } finally {
+            batches.increment();
+            batchTime.record(System.nanoTime() - start);
+        }
+        if (written) {
+            // 기록된 이력만 통계 롤업에 반영 (실패는 LoginStatsService가 로그만 남김)
+            loginStatsService.apply(batch);
+        }
+        batch.clear();
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        running = false;
+        try {
+            writerThread.join(shutdownTimeoutMillis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        if (writerThread.isAlive()) {
+            // 진행 중인 기록만 끝내고 나머지는 버림으로 집계
+            log.warn("로그인 이력 기록기 종료 대기 초과 - 남은 이력 {}건 버림", queue.size());
+            abandoned = true;
+            writerThread.interrupt();
+        }
+    }
+
+    @Override
+    public String getStatsName() {
+        return "login-history";
+    }
+
+    /** 모니터링용 통계 */
+    @Override
+    public Map<String, Object> getStats() {
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("queueSize", queue.size());
+        stats.put("queueRemaining", queue.remainingCapacity());
+        stats.put("batchSize", batchSize);
+        stats.put("flushIntervalMs", flushIntervalMillis);
+        stats.put("enqueued", enqueued.sum());
+        stats.put("dropped", dropped.sum());
+        stats.put("writtenRows", writtenRows.sum());
+        stats.put("failedRows", failedRows.sum());
+        stats.put("batches", batches.sum());
+        stats.put("batchTime", batchTime.snapshot());
+        return stats;
+    }
+}
@@ -0,0 +1,382 @@
+package com.worksystem.service;
+
+import com.worksystem.common.LatencyHistogram;
+import com.worksystem.common.StatsProvider;
+import com.worksystem.dto.LoginHistoryDTO;
+import com.worksystem.dto.LoginStatPointDTO;
+import com.worksystem.dto.LoginStatRowDTO;
+import com.worksystem.mapper.LoginStatsMapper;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.time.temporal.TemporalAdjusters;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.TreeSet;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 로그인 통계 롤업 — 대시보드 추이 차트가 login_history 대신 읽는 시간/일/주 집계
+ *
+ * - 증분 갱신: LoginHistoryWriter가 이력 묶음을 기록한 직후 apply() — 묶음 안에서 (구간, 이벤트, 사유)별로
+ *   합친 뒤 다건 UPSERT 한 번. 행 수는 이벤트 수가 아니라 구간 x 종류 수라 폭주 중에도 쓰기량이 작다.
+ * - 고유 사용자 수: 구간끼리 더할 수 없어 구간 단위마다 따로 센다. 진행 중 구간에서 본 사용자를
+ *   login_stats_user_seen에 INSERT IGNORE — 영향 행 수만큼 user_count를 올린다. 닫힌 구간의 기록은 매시 삭제.
+ * - 백필: login_history에서 주 단위 트랜잭션으로 재계산 (삭제 후 GROUP BY INSERT). 증분 갱신과 겹치지 않도록
+ *   이번 주 이전까지만 허용한다.
+ * - 조회: 구간 수 x 종류 수 행만 읽고 빈 구간은 0으로 채운다 (최대 MAX_POINTS개 구간).
+ * 통계 갱신 실패는 이력 기록에 영향을 주지 않는다 (fail-open, 필요하면 백필로 재계산).
+ */
+@Slf4j
+@Service
+public class LoginStatsService implements StatsProvider {
+
+    /** 구간 단위 — code는 테이블의 granularity 값 */
+    public enum Granularity {
+        HOUR("H"), DAY("D"), WEEK("W");
+
+        private final String code;
+
+        Granularity(String code) {
+            this.code = code;
+        }
+
+        public String code() {
+            return code;
+        }
+
+        /** 구간 시작 시각 (주는 월요일 0시 — LoginStatsMapper.xml bucketExpr과 같은 규칙) */
+        public LocalDateTime bucketStart(LocalDateTime time) {
+            return switch (this) {
+                case HOUR -> time.truncatedTo(ChronoUnit.HOURS);
+                case DAY -> time.toLocalDate().atStartOfDay();
+                case WEEK -> time.toLocalDate().with(TemporalAdjusters.previousOrSame(DayOfWeek.MONDAY)).atStartOfDay();
+            };
+        }
+
+        public LocalDateTime next(LocalDateTime bucketStart) {
+            return switch (this) {
+                case HOUR -> bucketStart.plusHours(1);
+                case DAY -> bucketStart.plusDays(1);
+                case WEEK -> bucketStart.plusWeeks(1);
+            };
+        }
+
+        public static Granularity parse(String value) {
+            if (value == null || value.isBlank()) {
+                return HOUR;
+            }
+            for (Granularity granularity : values()) {
+                if (granularity.name().equalsIgnoreCase(value) || granularity.code.equalsIgnoreCase(value)) {
+                    return granularity;
+                }
+            }
+            throw new IllegalArgumentException("지원하지 않는 집계 단위입니다: " + value + " (HOUR / DAY / WEEK)");
+        }
+    }
+
+    private static final String BACKFILL_LOCK = "login-stats-backfill";
+    private static final long BACKFILL_LEASE_SECONDS = 600;   // 주 단위마다 갱신
+    private static final int PURGE_BATCH = 5000;
+    private static final int MAX_POINTS = 1000;
+
+    private final LoginStatsMapper loginStatsMapper;
+    private final JobLockService jobLockService;
+    private final TransactionTemplate transactionTemplate;
+    private final int maxUsersPerStatement;
+    private final ExecutorService backfillExecutor;
+    private final AtomicBoolean backfillRunning = new AtomicBoolean();
+
+    private final LongAdder appliedRows = new LongAdder();
+    private final LongAdder appliedBatches = new LongAdder();
+    private final LongAdder failedBatches = new LongAdder();
+    private final LongAdder newUsers = new LongAdder();
+    private final LongAdder purgedSeen = new LongAdder();
+    private final LongAdder backfilledWeeks = new LongAdder();
+    private final LatencyHistogram applyTime = new LatencyHistogram();
+    private final AtomicReference<String> lastBackfill = new AtomicReference<>();
+
+    public LoginStatsService(LoginStatsMapper loginStatsMapper,
+                             JobLockService jobLockService,
+                             TransactionTemplate transactionTemplate,
+                             @Value("${worksystem.login-stats.max-users-per-statement:500}") int maxUsersPerStatement) {
+        this.loginStatsMapper = loginStatsMapper;
+        this.jobLockService = jobLockService;
+        this.transactionTemplate = transactionTemplate;
+        this.maxUsersPerStatement = maxUsersPerStatement;
+        this.backfillExecutor = new ThreadPoolExecutor(1, 1, 0L, TimeUnit.MILLISECONDS,
+                new LinkedBlockingQueue<>(),
+                r -> {
+                    Thread t = new Thread(r, "login-stats-backfill");
+                    t.setDaemon(true);
+                    return t;
+                });
+    }
+
+    // ===== 증분 갱신 =====
+
+    /**
+     * 기록된 이력 묶음을 통계에 반영 (LoginHistoryWriter 기록 스레드에서 호출) — 실패는 로그만
+     */
+    public void apply(List<LoginHistoryDTO> batch) {
+        if (batch.isEmpty()) {
+            return;
+        }
+        long start = System.nanoTime();
+        try {
+            transactionTemplate.executeWithoutResult(status -> applyInTransaction(batch));
+            appliedRows.add(batch.size());
+            appliedBatches.increment();
+        } catch (Exception e) {
+            failedBatches.increment();
+            log.error("로그인 통계 갱신 실패 - 이력 {}건 미반영 (백필로 재계산 가능)", batch.size(), e);
+        } finally {
+            applyTime.record(System.nanoTime() - start);
+        }
+    }
+
+    private void applyInTransaction(List<LoginHistoryDTO> batch) {
+        // 키 정렬 순서로 갱신 — 여러 노드가 같은 구간 행을 잠가도 순서가 같아 교착이 생기지 않음
+        TreeMap<String, LoginStatRowDTO> counts = new TreeMap<>();
+        TreeMap<String, Set<String>> users = new TreeMap<>();
+        for (LoginHistoryDTO row : batch) {
+            LocalDateTime createdAt = row.getCreatedAt() != null ? row.getCreatedAt() : LocalDateTime.now();
+            String failReason = row.getFailReason() != null ? row.getFailReason() : "";
+            for (Granularity granularity : Granularity.values()) {
+                LocalDateTime bucketStart = granularity.bucketStart(createdAt);
+                String userKey = granularity.code + '|' + bucketStart + '|' + row.getEventType();
+                LoginStatRowDTO count = counts.computeIfAbsent(userKey + '|' + failReason, k -> LoginStatRowDTO.builder()
+                        .granularity(granularity.code)
+                        .bucketStart(bucketStart)
+                        .eventType(row.getEventType())
+                        .failReason(failReason)
+                        .build());
+                count.setCount(count.getCount() + 1);
+                if (row.getUserId() != null && !row.getUserId().isEmpty()) {
+                    users.computeIfAbsent(userKey, k -> new TreeSet<>()).add(row.getUserId());
+                }
+            }
+        }
+        loginStatsMapper.upsertCounts(new ArrayList<>(counts.values()));
+
+        for (Map.Entry<String, Set<String>> entry : users.entrySet()) {
+            String[] key = entry.getKey().split("\\|", 3);
+            LocalDateTime bucketStart = LocalDateTime.parse(key[1]);
+            List<String> userIds = new ArrayList<>(entry.getValue());
+            int added = 0;
+            for (int from = 0; from < userIds.size(); from += maxUsersPerStatement) {
+                List<String> chunk = userIds.subList(from, Math.min(from + maxUsersPerStatement, userIds.size()));
+                added += loginStatsMapper.insertSeenUsers(key[0], bucketStart, key[2], chunk);
+            }
+            if (added > 0) {
+                loginStatsMapper.addUserCount(key[0], bucketStart, key[2], added);
+                newUsers.add(added);
+            }
+        }
+    }
+
+    /**
+     * 닫힌 구간의 사용자 기록 정리 — 직전 구간까지는 남긴다 (기록기 지연으로 늦게 도착한 이력의 중복 집계 방지).
+     * 행 삭제만 하는 멱등 작업이라 노드 간 잠금 없이 돈다.
+     */
+    @Scheduled(cron = "${worksystem.login-stats.purge-cron:0 5 * * * *}")
+    public void purgeSeenUsers() {
+        LocalDateTime now = LocalDateTime.now();
+        try {
+            for (Granularity granularity : Granularity.values()) {
+                LocalDateTime current = granularity.bucketStart(now);
+                LocalDateTime before = granularity.bucketStart(current.minusSeconds(1));
+                int deleted;
+                do {
+                    deleted = loginStatsMapper.deleteSeenBefore(granularity.code, before, PURGE_BATCH);
+                    purgedSeen.add(deleted);
+                } while (deleted == PURGE_BATCH);
+            }
+        } catch (Exception e) {
+            log.error("로그인 통계 사용자 기록 정리 실패", e);
+        }
+    }
+
+    // ===== 조회 =====
+
+    /**
+     * 구간별 추이 (기간 미지정 시 시간 단위 최근 2일 / 일 단위 최근 30일 / 주 단위 최근 12주)
+     */
+    @Transactional(readOnly = true)
+    public List<LoginStatPointDTO> query(String granularityValue, LocalDate fromDate, LocalDate toDate) {
+        Granularity granularity = Granularity.parse(granularityValue);
+        LocalDate to = toDate != null ? toDate : LocalDate.now();
+        LocalDate from = fromDate != null ? fromDate : switch (granularity) {
+            case HOUR -> to.minusDays(1);
+            case DAY -> to.minusDays(29);
+            case WEEK -> to.minusWeeks(11);
+        };
+        if (from.isAfter(to)) {
+            throw new IllegalArgumentException("시작일이 종료일보다 늦습니다.");
+        }
+        LocalDateTime start = granularity.bucketStart(from.atStartOfDay());
+        LocalDateTime end = to.plusDays(1).atStartOfDay();
+
+        // 빈 구간도 0으로 표시 — 차트 x축이 끊기지 않도록
+        Map<LocalDateTime, LoginStatPointDTO> points = new LinkedHashMap<>();
+        for (LocalDateTime bucket = start; bucket.isBefore(end); bucket = granularity.next(bucket)) {
+            if (points.size() >= MAX_POINTS) {
+                throw new IllegalArgumentException("조회 구간이 너무 많습니다. 기간을 줄이거나 더 큰 집계 단위를 선택하세요. (최대 "
+                        + MAX_POINTS + "개)");
+            }
+            points.put(bucket, LoginStatPointDTO.builder()
+                    .bucketStart(bucket)
+                    .failReasons(new TreeMap<>())
+                    .build());
+        }
+
+        for (LoginStatRowDTO row : loginStatsMapper.findCounts(granularity.code, start, end)) {
+            LoginStatPointDTO point = points.get(row.getBucketStart());
+            if (point == null) {
+                continue;
+            }
+            switch (row.getEventType()) {
+                case "LOGIN" -> point.setLoginCount(point.getLoginCount() + row.getCount());
+                case "LOGIN_FAIL" -> {
+                    point.setFailCount(point.getFailCount() + row.getCount());
+                    String reason = row.getFailReason().isEmpty() ? "UNKNOWN" : row.getFailReason();
+                    point.getFailReasons().merge(reason, row.getCount(), Long::sum);
+                }
+                case "LOGOUT" -> point.setLogoutCount(point.getLogoutCount() + row.getCount());
+                default -> { }
+            }
+        }
+        for (LoginStatRowDTO row : loginStatsMapper.findUserCounts(granularity.code, start, end)) {
+            LoginStatPointDTO point = points.get(row.getBucketStart());
+            if (point == null) {
+                continue;
+            }
+            if ("LOGIN".equals(row.getEventType())) {
+                point.setLoginUsers(row.getCount());
+            } else if ("LOGIN_FAIL".equals(row.getEventType())) {
+                point.setFailUsers(row.getCount());
+            }
+        }
+        return new ArrayList<>(points.values());
+    }
+
+    // ===== 백필 =====
+
+    /**
+     * login_history에서 통계 재계산 (비동기 — 진행 상황은 getStats().lastBackfill)
+     * 기간은 주 경계(월요일)로 넓히고, 증분 갱신 중인 이번 주는 제외한다. 이미 실행 중이면 400.
+     *
+     * @return 실제 재계산할 주 구간 [from, to) 설명
+     */
+    public String startBackfill(LocalDate fromDate, LocalDate toDate) {
+        if (fromDate == null || toDate == null) {
+            throw new IllegalArgumentException("백필 기간(fromDate, toDate)을 지정하세요.");
+        }
+        if (fromDate.isAfter(toDate)) {
+            throw new IllegalArgumentException("시작일이 종료일보다 늦습니다.");
+        }
+        LocalDateTime currentWeek = Granularity.WEEK.bucketStart(LocalDateTime.now());
+        LocalDateTime from = Granularity.WEEK.bucketStart(fromDate.atStartOfDay());
+        LocalDateTime to = Granularity.WEEK.next(Granularity.WEEK.bucketStart(toDate.atStartOfDay()));
+        if (to.isAfter(currentWeek)) {
+            to = currentWeek;
+        }
+        if (!from.isBefore(to)) {
+            throw new IllegalArgumentException("백필할 수 있는 기간이 없습니다. (이번 주 이전만 재계산 가능)");
+        }
+        if (!backfillRunning.compareAndSet(false, true)) {
+            throw new IllegalArgumentException("통계 백필이 이미 실행 중입니다.");
+        }
+        LocalDateTime rangeFrom = from;
+        LocalDateTime rangeTo = to;
+        String range = rangeFrom.toLocalDate() + " ~ " + rangeTo.toLocalDate().minusDays(1);
+        backfillExecutor.execute(() -> {
+            try {
+                backfill(rangeFrom, rangeTo, range);
+            } finally {
+                backfillRunning.set(false);
+            }
+        });
+        return range;
+    }
+
+    private void backfill(LocalDateTime from, LocalDateTime to, String range) {
+        if (!jobLockService.tryAcquire(BACKFILL_LOCK, BACKFILL_LEASE_SECONDS)) {
+            lastBackfill.set(range + " 건너뜀 (다른 노드에서 실행 중)");
+            log.warn("로그인 통계 백필 건너뜀 - 다른 노드에서 실행 중");
+            return;
+        }
+        long start = System.currentTimeMillis();
+        log.info("로그인 통계 백필 시작 - {}", range);
+        try {
+            for (LocalDateTime week = from; week.isBefore(to); week = week.plusWeeks(1)) {
+                LocalDateTime weekStart = week;
+                LocalDateTime weekEnd = week.plusWeeks(1);
+                // 주 단위 한 트랜잭션 — 중간에 실패해도 이미 끝난 주는 유지, 차트는 삭제~재삽입 사이를 보지 않음
+                transactionTemplate.executeWithoutResult(status -> {
+                    for (Granularity granularity : Granularity.values()) {
+                        loginStatsMapper.deleteCounts(granularity.code, weekStart, weekEnd);
+                        loginStatsMapper.deleteUserCounts(granularity.code, weekStart, weekEnd);
+                        loginStatsMapper.insertCountsFromHistory(granularity.code, weekStart, weekEnd);
+                        loginStatsMapper.insertUserCountsFromHistory(granularity.code, weekStart, weekEnd);
+                    }
+                });
+                backfilledWeeks.increment();
+                lastBackfill.set(range + " 진행 중 (" + weekStart.toLocalDate() + " 주 완료)");
+                jobLockService.tryAcquire(BACKFILL_LOCK, BACKFILL_LEASE_SECONDS);   // 임대 연장
+            }
+            lastBackfill.set(range + " 완료 (" + (System.currentTimeMillis() - start) + "ms)");
+            log.info("로그인 통계 백필 완료 - {}, {}ms", range, System.currentTimeMillis() - start);
+        } catch (Exception e) {
+            lastBackfill.set(range + " 실패 - " + e.getMessage());
+            log.error("로그인 통계 백필 실패 - {}", range, e);
+        } finally {
+            jobLockService.release(BACKFILL_LOCK);
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        backfillExecutor.shutdownNow();
+    }
+
+    @Override
+    public String getStatsName() {
+        return "login-stats";
+    }
+
+    /** 모니터링용 통계 */
+    @Override
+    public Map<String, Object> getStats() {
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("appliedRows", appliedRows.sum());
+        stats.put("appliedBatches", appliedBatches.sum());
+        stats.put("failedBatches", failedBatches.sum());
+        stats.put("newUsers", newUsers.sum());
+        stats.put("applyTime", applyTime.snapshot());
+        stats.put("purgedSeen", purgedSeen.sum());
+        stats.put("backfillRunning", backfillRunning.get());
+        stats.put("backfilledWeeks", backfilledWeeks.sum());
+        stats.put("lastBackfill", lastBackfill.get());
+        return stats;
+    }
+}
@@ -24,6 +24,9 @@ public class MenuService {
     @Autowired
     private MenuMapper menuMapper;
 
+    @Autowired
+    private PermissionMatrix permissionMatrix;
+
     /**
      * 모든 메뉴를 계층 구조로 반환
      */
@@ -57,17 +60,17 @@ public class MenuService {
     }
 
     /**
-     * 특정 메뉴에 대한 사용자 권한 확인
+     * 특정 메뉴에 대한 사용자 권한 확인 (PermissionMatrix 메모리 확인 — 활성 메뉴 + 읽기 권한)
      */
     public boolean hasMenuAccess(String userId, String menuId) {
-        return menuMapper.checkUserMenuAccess(userId, menuId) > 0;
+        return permissionMatrix.hasMenuAccess(userId, menuId);
     }
 
     /**
-     * 사용자의 메뉴별 권한 정보 조회 (읽기/쓰기/삭제)
+     * 사용자의 메뉴별 권한 정보 조회 (읽기/쓰기/삭제, PermissionMatrix 메모리 확인)
      */
     public MenuDTO getMenuPermissions(String userId, String menuId) {
-        return menuMapper.findMenuPermissionsByUserAndMenu(userId, menuId);
+        return permissionMatrix.getMenuPermissions(userId, menuId);
     }
 
 
@@ -149,6 +152,7 @@ public class MenuService {
         }
         Menu menu = convertToEntity(menuDTO);
         menuMapper.insert(menu);
+        permissionMatrix.requestRebuild();
         return convertToDTO(menu);
     }
 
@@ -158,6 +162,7 @@ public class MenuService {
     public MenuDTO updateMenu(MenuDTO menuDTO) {
         Menu menu = convertToEntity(menuDTO);
         menuMapper.update(menu);
+        permissionMatrix.requestRebuild();
         return convertToDTO(menu);
     }
 
@@ -166,6 +171,8 @@ public class MenuService {
      */
     public void deleteMenu(Long id) {
         menuMapper.deleteById(id);
+        // 메뉴 삭제 시 권한 행도 FK CASCADE로 사라짐
+        permissionMatrix.requestRebuild();
     }
 
     /**
@@ -0,0 +1,295 @@
+package com.worksystem.service;
+
+import com.worksystem.common.StatsProvider;
+import com.worksystem.dto.GroupMenuPermissionDTO;
+import com.worksystem.dto.MenuDTO;
+import com.worksystem.entity.Menu;
+import com.worksystem.mapper.MenuMapper;
+import com.worksystem.mapper.PermissionMatrixMapper;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 메뉴/게시판 권한 행렬 — 권한 확인마다 3테이블 조인을 돌리지 않도록 메모리에 들고 있는 RBAC 스냅샷
+ *
+ * - 메뉴마다 그룹 비트셋 4개(권한 행 존재/읽기/쓰기/삭제), 사용자마다 소속 그룹 비트셋.
+ *   확인은 "사용자 그룹 ∩ 메뉴의 허용 그룹"이 비어 있지 않은지 — 비트 연산 몇 번.
+ * - 스냅샷은 불변 객체로 새로 만들어 volatile 참조를 한 번에 교체한다 (읽는 쪽 잠금 없음, 반쯤 바뀐 상태 없음).
+ * - 재구성: 권한/그룹 매핑/메뉴를 바꾸는 서비스가 requestRebuild()를 부르면 커밋 후 한 번 다시 적재.
+ *   같은 시점에 몰린 요청은 한 번의 적재로 합친다. 적재는 별도 읽기 전용 트랜잭션 하나에서 읽어 세 표가 일관된다.
+ * - 다른 노드에서 바뀐 권한은 refresh-interval-ms 주기 재적재로 반영된다 (그 사이에는 이전 권한으로 판단).
+ * 적재에 실패하면 이전 스냅샷을 그대로 쓰고 다음 요청/주기에 다시 시도한다.
+ */
+@Slf4j
+@Component
+public class PermissionMatrix implements StatsProvider {
+
+    private final PermissionMatrixMapper permissionMatrixMapper;
+    private final MenuMapper menuMapper;
+    private final TransactionTemplate loadTemplate;
+
+    private volatile Snapshot snapshot;
+    // 적재 요청 세대 / 마지막 적재가 반영한 세대 — 적재 중 들어온 요청만 다시 적재
+    private final AtomicLong requestedVersion = new AtomicLong();
+    private long builtVersion = -1;
+
+    private final LongAdder rebuilds = new LongAdder();
+    private final LongAdder coalesced = new LongAdder();
+    private final LongAdder failures = new LongAdder();
+    private final LongAdder checks = new LongAdder();
+    private final AtomicLong lastRebuildMillis = new AtomicLong();
+    private final AtomicLong lastRebuildAt = new AtomicLong();
+
+    public PermissionMatrix(PermissionMatrixMapper permissionMatrixMapper,
+                            MenuMapper menuMapper,
+                            PlatformTransactionManager transactionManager) {
+        this.permissionMatrixMapper = permissionMatrixMapper;
+        this.menuMapper = menuMapper;
+        // 커밋 후 콜백에서도 호출되므로 항상 새 트랜잭션 (원래 트랜잭션 자원에 묻어가지 않도록)
+        this.loadTemplate = new TransactionTemplate(transactionManager);
+        this.loadTemplate.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        this.loadTemplate.setReadOnly(true);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void onApplicationReady() {
+        refresh();
+    }
+
+    /** 주기 재적재 — 다른 노드에서 바뀐 권한 반영 */
+    @Scheduled(fixedDelayString = "${worksystem.permission-matrix.refresh-interval-ms:60000}",
+            initialDelayString = "${worksystem.permission-matrix.refresh-interval-ms:60000}")
+    public void refresh() {
+        requestedVersion.incrementAndGet();
+        rebuildIfStale();
+    }
+
+    /**
+     * 권한/그룹 매핑/메뉴 변경 후 호출 — 트랜잭션 안이면 커밋 후, 밖이면 즉시 재적재 (롤백되면 아무것도 안 함)
+     */
+    public void requestRebuild() {
+        afterCommit(this::refresh);
+    }
+
+    // ===== 권한 확인 (메뉴 활성 여부와 무관 — 게시판 권한 확인과 같은 기준) =====
+
+    public boolean canRead(String userId, String menuId) {
+        return check(userId, menuId, Snapshot.READ);
+    }
+
+    public boolean canWrite(String userId, String menuId) {
+        return check(userId, menuId, Snapshot.WRITE);
+    }
+
+    public boolean canDelete(String userId, String menuId) {
+        return check(userId, menuId, Snapshot.DELETE);
+    }
+
+    /** 활성 메뉴이고 읽기 권한이 있으면 true (메뉴 접근 확인) */
+    public boolean hasMenuAccess(String userId, String menuId) {
+        Snapshot current = current();
+        Integer menu = current.menuIndex.get(menuId);
+        return menu != null && current.active.get(menu) && check(userId, menuId, Snapshot.READ);
+    }
+
+    /**
+     * 사용자의 메뉴 권한 (메뉴 정보 + 그룹 권한 OR). 비활성 메뉴이거나 사용자 그룹에 권한 행이 없으면 null
+     */
+    public MenuDTO getMenuPermissions(String userId, String menuId) {
+        checks.increment();
+        Snapshot current = current();
+        Integer menu = current.menuIndex.get(menuId);
+        BitSet groups = current.userGroups.get(userId);
+        if (menu == null || groups == null || !current.active.get(menu)
+                || !groups.intersects(current.groups[Snapshot.GRANTED][menu])) {
+            return null;
+        }
+        Menu source = current.menus[menu];
+        MenuDTO dto = new MenuDTO(source.getId(), source.getMenuId(), source.getTitle(), source.getUrl(),
+                source.getIcon(), source.getParentId(), source.getSortOrder(), source.getIsActive(), null);
+        dto.setCanRead(groups.intersects(current.groups[Snapshot.READ][menu]));
+        dto.setCanWrite(groups.intersects(current.groups[Snapshot.WRITE][menu]));
+        dto.setCanDelete(groups.intersects(current.groups[Snapshot.DELETE][menu]));
+        return dto;
+    }
+
+    private boolean check(String userId, String menuId, int kind) {
+        checks.increment();
+        Snapshot current = current();
+        Integer menu = current.menuIndex.get(menuId);
+        BitSet groups = current.userGroups.get(userId);
+        return menu != null && groups != null && groups.intersects(current.groups[kind][menu]);
+    }
+
+    private Snapshot current() {
+        Snapshot current = snapshot;
+        if (current == null) {
+            // 기동 직후 ApplicationReadyEvent 전에 들어온 요청 — 그 자리에서 적재
+            refresh();
+            current = snapshot;
+            if (current == null) {
+                throw new IllegalStateException("권한 정보를 불러오지 못했습니다.");
+            }
+        }
+        return current;
+    }
+
+    // ===== 재구성 =====
+
+    private void rebuildIfStale() {
+        long target = requestedVersion.get();
+        synchronized (this) {
+            if (builtVersion >= target) {
+                // 대기하는 동안 다른 스레드가 이 요청 이후 상태로 이미 적재함
+                coalesced.increment();
+                return;
+            }
+            long version = requestedVersion.get();
+            long start = System.currentTimeMillis();
+            try {
+                snapshot = loadTemplate.execute(status -> Snapshot.build(menuMapper.findAllByOrderBySortOrderAsc(),
+                        permissionMatrixMapper.findAllPermissions(),
+                        permissionMatrixMapper.findAllUserGroupMappings()));
+                builtVersion = version;
+                rebuilds.increment();
+                lastRebuildAt.set(System.currentTimeMillis());
+            } catch (Exception e) {
+                failures.increment();
+                log.error("권한 행렬 적재 실패 - 이전 스냅샷 유지", e);
+            } finally {
+                lastRebuildMillis.set(System.currentTimeMillis() - start);
+            }
+        }
+    }
+
+    private void afterCommit(Runnable action) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    action.run();
+                }
+            });
+        } else {
+            action.run();
+        }
+    }
+
+    @Override
+    public String getStatsName() {
+        return "permission-matrix";
+    }
+
+    /** 모니터링용 통계 */
+    @Override
+    public Map<String, Object> getStats() {
+        Snapshot current = snapshot;
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("menus", current == null ? 0 : current.menus.length);
+        stats.put("groups", current == null ? 0 : current.groupCount);
+        stats.put("users", current == null ? 0 : current.userGroups.size());
+        stats.put("permissionRows", current == null ? 0 : current.permissionRows);
+        stats.put("checks", checks.sum());
+        stats.put("rebuilds", rebuilds.sum());
+        stats.put("coalesced", coalesced.sum());
+        stats.put("failures", failures.sum());
+        stats.put("lastRebuildMs", lastRebuildMillis.get());
+        stats.put("lastRebuildAt", lastRebuildAt.get());
+        return stats;
+    }
+
+    /**
+     * 불변 권한 스냅샷 — groups[kind][메뉴 번호] = 해당 권한을 가진 그룹 번호 비트셋
+     */
+    private static final class Snapshot {
+
+        static final int GRANTED = 0;
+        static final int READ = 1;
+        static final int WRITE = 2;
+        static final int DELETE = 3;
+
+        final Map<String, Integer> menuIndex;
+        final Menu[] menus;
+        final BitSet active;
+        final BitSet[][] groups;
+        final Map<String, BitSet> userGroups;
+        final int groupCount;
+        final int permissionRows;
+
+        private Snapshot(Map<String, Integer> menuIndex, Menu[] menus, BitSet active, BitSet[][] groups,
+                         Map<String, BitSet> userGroups, int groupCount, int permissionRows) {
+            this.menuIndex = menuIndex;
+            this.menus = menus;
+            this.active = active;
+            this.groups = groups;
+            this.userGroups = userGroups;
+            this.groupCount = groupCount;
+            this.permissionRows = permissionRows;
+        }
+
+        static Snapshot build(List<Menu> menuList, List<GroupMenuPermissionDTO> permissions,
+                              List<Map<String, String>> mappings) {
+            Map<String, Integer> menuIndex = new HashMap<>(menuList.size() * 2);
+            Menu[] menus = menuList.toArray(new Menu[0]);
+            BitSet active = new BitSet(menus.length);
+            for (int i = 0; i < menus.length; i++) {
+                menuIndex.put(menus[i].getMenuId(), i);
+                if (Boolean.TRUE.equals(menus[i].getIsActive())) {
+                    active.set(i);
+                }
+            }
+
+            BitSet[][] groups = new BitSet[4][menus.length];
+            for (BitSet[] kind : groups) {
+                for (int i = 0; i < kind.length; i++) {
+                    kind[i] = new BitSet();
+                }
+            }
+            Map<String, Integer> groupIndex = new HashMap<>();
+            for (GroupMenuPermissionDTO permission : permissions) {
+                Integer menu = menuIndex.get(permission.getMenuId());
+                if (menu == null) {
+                    continue;
+                }
+                int group = groupIndex.computeIfAbsent(permission.getGroupId(), k -> groupIndex.size());
+                groups[GRANTED][menu].set(group);
+                if (Boolean.TRUE.equals(permission.getCanRead())) {
+                    groups[READ][menu].set(group);
+                }
+                if (Boolean.TRUE.equals(permission.getCanWrite())) {
+                    groups[WRITE][menu].set(group);
+                }
+                if (Boolean.TRUE.equals(permission.getCanDelete())) {
+                    groups[DELETE][menu].set(group);
+                }
+            }
+
+            // 권한 행이 하나도 없는 그룹은 어떤 확인에도 영향이 없으므로 사용자 쪽에서 뺀다
+            Map<String, BitSet> userGroups = new HashMap<>();
+            for (Map<String, String> mapping : mappings) {
+                Integer group = groupIndex.get(mapping.get("groupId"));
+                if (group != null) {
+                    userGroups.computeIfAbsent(mapping.get("userId"), k -> new BitSet()).set(group);
+                }
+            }
+            return new Snapshot(Map.copyOf(menuIndex), menus, active, groups,
+                    Map.copyOf(userGroups), groupIndex.size(), permissions.size());
+        }
+    }
+}
@@ -0,0 +1,27 @@
+package com.worksystem.service;
+
+import org.springframework.context.ApplicationEvent;
+
+import java.util.Collection;
+import java.util.Set;
+
+/**
+ * 권한 변경 이벤트 — 그룹 메뉴 권한/그룹 활성 여부/사용자 그룹 매핑이 바뀌면 GroupService, UserService가 발행한다.
+ * SessionEventDispatcher가 커밋 후 해당 사용자의 열린 창에 "permissions-changed"를 보낸다.
+ */
+public class PermissionsChangedEvent extends ApplicationEvent {
+
+    private final Set<String> userIds;
+
+    /**
+     * @param userIds 권한이 바뀐 사용자 ID
+     */
+    public PermissionsChangedEvent(Object source, Collection<String> userIds) {
+        super(source);
+        this.userIds = Set.copyOf(userIds);
+    }
+
+    public Set<String> getUserIds() {
+        return userIds;
+    }
+}
@@ -0,0 +1,245 @@
+package com.worksystem.service;
+
+import com.worksystem.common.BoundedLruCache;
+import com.worksystem.common.StatsProvider;
+import com.worksystem.entity.RememberMeToken;
+import com.worksystem.mapper.RememberMeTokenMapper;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Remember-Me 영속 토큰 저장소 — persistent_logins 테이블 + 노드별 근거리 캐시(near-cache)
+ *
+ * - 조회: 캐시(최대 건수 LRU + 짧은 TTL) 우선, 없을 때만 DB. 자동 로그인 검증은 보통 DB 왕복 없이 끝난다.
+ * - last_used: 사용 시 메모리 버퍼에만 기록하고 flush-interval-ms마다 UPDATE 한 문장으로 일괄 반영
+ *   (touch-interval-seconds 안의 반복 사용은 버퍼에도 올리지 않음). 종료 시 잔여분 반영.
+ * - 폐기: 사용자 단위 DELETE 한 문장 + 이 노드 캐시 즉시 제거.
+ *   다른 노드의 캐시는 최대 cache-ttl-seconds 동안 남을 수 있으므로 TTL은 짧게 유지할 것.
+ * - 만료 토큰(last_used + 유효기간 경과)은 주기적으로 LIMIT 단위 DELETE (여러 노드가 동시에 돌아도 무해).
+ */
+@Slf4j
+@Component
+public class RememberMeTokenStore implements StatsProvider {
+
+    private static final int FLUSH_CHUNK_SIZE = 500;
+    private static final int PURGE_CHUNK_SIZE = 1000;
+
+    private final RememberMeTokenMapper rememberMeTokenMapper;
+    private final long cacheTtlMillis;
+    private final long touchIntervalMillis;
+    private final long validityMillis;
+    private final BoundedLruCache<String, CachedToken> cache;
+
+    // series → 반영 대기 중인 last_used (epoch millis)
+    private final Map<String, Long> pendingTouches = new ConcurrentHashMap<>();
+
+    private final LongAdder touchesFlushed = new LongAdder();
+    private final LongAdder flushes = new LongAdder();
+    private final LongAdder revocations = new LongAdder();
+    private final LongAdder expiredPurged = new LongAdder();
+
+    public RememberMeTokenStore(RememberMeTokenMapper rememberMeTokenMapper,
+                                @Value("${worksystem.remember-me.cache-max-size:10000}") int maxSize,
+                                @Value("${worksystem.remember-me.cache-ttl-seconds:60}") long cacheTtlSeconds,
+                                @Value("${worksystem.remember-me.touch-interval-seconds:60}") long touchIntervalSeconds,
+                                @Value("${worksystem.remember-me.validity-seconds:604800}") long validitySeconds) {
+        this.rememberMeTokenMapper = rememberMeTokenMapper;
+        this.cacheTtlMillis = cacheTtlSeconds * 1000L;
+        this.touchIntervalMillis = touchIntervalSeconds * 1000L;
+        this.validityMillis = validitySeconds * 1000L;
+        this.cache = new BoundedLruCache<>(cacheTtlMillis > 0 ? maxSize : 0);
+    }
+
+    /** 토큰 발급 (로그인 시 remember-me 체크) */
+    public void createToken(RememberMeToken token) {
+        rememberMeTokenMapper.insertToken(token);
+        cache.put(token.getSeries(), CachedToken.of(token, System.currentTimeMillis() + cacheTtlMillis));
+    }
+
+    /** series로 조회 — 캐시 우선, 없으면 DB (없으면 null) */
+    public RememberMeToken findBySeries(String series) {
+        if (series == null) {
+            return null;
+        }
+        long now = System.currentTimeMillis();
+        CachedToken cached = cache.get(series, c -> c.expiresAt >= now);
+        if (cached != null) {
+            return cached.toToken();
+        }
+
+        RememberMeToken token = rememberMeTokenMapper.findBySeries(series);
+        if (token == null) {
+            return null;
+        }
+        // DB보다 최신인 미반영 last_used가 있으면 그 값을 우선
+        Long pending = pendingTouches.get(series);
+        if (pending != null) {
+            token.setLastUsed(toLocalDateTime(pending));
+        }
+        cache.put(series, CachedToken.of(token, now + cacheTtlMillis));
+        return token;
+    }
+
+    /**
+     * 사용 기록 — 버퍼에만 적재 (DB 반영은 flushTouches)
+     * 직전 기록 후 touch-interval 이내면 무시한다.
+     */
+    public void touch(RememberMeToken token) {
+        long now = System.currentTimeMillis();
+        long lastUsed = toEpochMillis(token.getLastUsed());
+        if (now - lastUsed < touchIntervalMillis) {
+            return;
+        }
+        pendingTouches.put(token.getSeries(), now);
+        cache.replace(token.getSeries(), cached -> cached.withLastUsed(now));
+    }
+
+    /** 토큰 1건 폐기 (만료 쿠키/로그아웃한 브라우저) */
+    public void removeSeries(String series) {
+        rememberMeTokenMapper.deleteBySeries(series);
+        pendingTouches.remove(series);
+        cache.remove(series);
+    }
+
+    /**
+     * 사용자 토큰 전체 폐기 (비밀번호 변경·초기화/사용자 삭제 — 모든 기기) — DELETE 한 문장
+     * 트랜잭션 안에서 호출되면 커밋 직후 캐시를 한 번 더 비운다 (커밋 전 재적재 경합 방지).
+     */
+    public int removeUserTokens(String username) {
+        if (username == null) {
+            return 0;
+        }
+        int deleted = rememberMeTokenMapper.deleteByUsername(username);
+        cache.invalidateIf(c -> c.username.equalsIgnoreCase(username));
+        if (deleted > 0) {
+            revocations.add(deleted);
+            log.info("Remember-Me 토큰 폐기 - username: {}, count: {}", username, deleted);
+        }
+        return deleted;
+    }
+
+    /** 버퍼에 모인 last_used를 일괄 반영 */
+    @Scheduled(fixedDelayString = "${worksystem.remember-me.flush-interval-ms:30000}")
+    public void flushTouches() {
+        if (pendingTouches.isEmpty()) {
+            return;
+        }
+        List<RememberMeToken> batch = new ArrayList<>();
+        Iterator<Map.Entry<String, Long>> it = pendingTouches.entrySet().iterator();
+        while (it.hasNext()) {
+            Map.Entry<String, Long> e = it.next();
+            // remove(key, value): 읽은 뒤 더 새 값이 들어왔으면 남겨서 다음 주기에 반영
+            if (pendingTouches.remove(e.getKey(), e.getValue())) {
+                batch.add(RememberMeToken.builder()
+                        .series(e.getKey())
+                        .lastUsed(toLocalDateTime(e.getValue()))
+                        .build());
+            }
+            if (batch.size() >= FLUSH_CHUNK_SIZE) {
+                writeTouches(batch);
+                batch = new ArrayList<>();
+            }
+        }
+        if (!batch.isEmpty()) {
+            writeTouches(batch);
+        }
+    }
+
+    /** 만료 토큰 정리 — 한 번에 PURGE_CHUNK_SIZE건씩 (매시 정각) */
+    @Scheduled(cron = "${worksystem.remember-me.purge-cron:0 0 * * * *}")
+    public void purgeExpired() {
+        LocalDateTime before = LocalDateTime.now().minusSeconds(validityMillis / 1000);
+        int total = 0;
+        int deleted;
+        do {
+            deleted = rememberMeTokenMapper.deleteExpired(before, PURGE_CHUNK_SIZE);
+            total += deleted;
+        } while (deleted == PURGE_CHUNK_SIZE);
+        if (total > 0) {
+            expiredPurged.add(total);
+            log.info("만료 Remember-Me 토큰 정리 - count: {}", total);
+        }
+    }
+
+    @Override
+    public String getStatsName() {
+        return "remember-me";
+    }
+
+    /** 모니터링용 통계 */
+    @Override
+    public Map<String, Object> getStats() {
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("cache", cache.getStats());
+        stats.put("cacheTtlSeconds", cacheTtlMillis / 1000);
+        stats.put("pendingTouches", pendingTouches.size());
+        stats.put("touchesFlushed", touchesFlushed.sum());
+        stats.put("flushes", flushes.sum());
+        stats.put("revocations", revocations.sum());
+        stats.put("expiredPurged", expiredPurged.sum());
+        return stats;
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        flushTouches();
+    }
+
+    private void writeTouches(List<RememberMeToken> batch) {
+        try {
+            rememberMeTokenMapper.updateLastUsedBatch(batch);
+            touchesFlushed.add(batch.size());
+            flushes.increment();
+        } catch (Exception e) {
+            // 재시도를 위해 되돌림 (그 사이 더 새 값이 들어왔으면 그 값 유지)
+            for (RememberMeToken t : batch) {
+                pendingTouches.putIfAbsent(t.getSeries(), toEpochMillis(t.getLastUsed()));
+            }
+            log.warn("Remember-Me last_used 일괄 반영 실패 - count: {}, error: {}", batch.size(), e.getMessage());
+        }
+    }
+
+    private static long toEpochMillis(LocalDateTime time) {
+        return time == null ? 0L : time.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+    }
+
+    private static LocalDateTime toLocalDateTime(long epochMillis) {
+        return LocalDateTime.ofInstant(Instant.ofEpochMilli(epochMillis), ZoneId.systemDefault());
+    }
+
+    /** 캐시 엔트리 — 불변 스냅샷 (last_used 갱신 시 교체) */
+    private record CachedToken(String series, String username, String token, long lastUsed, long expiresAt) {
+
+        static CachedToken of(RememberMeToken t, long expiresAt) {
+            return new CachedToken(t.getSeries(), t.getUsername(), t.getToken(),
+                    toEpochMillis(t.getLastUsed()), expiresAt);
+        }
+
+        CachedToken withLastUsed(long newLastUsed) {
+            return new CachedToken(series, username, token, newLastUsed, expiresAt);
+        }
+
+        RememberMeToken toToken() {
+            return RememberMeToken.builder()
+                    .series(series)
+                    .username(username)
+                    .token(token)
+                    .lastUsed(toLocalDateTime(lastUsed))
+                    .build();
+        }
+    }
+}
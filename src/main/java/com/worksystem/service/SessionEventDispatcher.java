@@ -0,0 +1,426 @@
+package com.worksystem.service;
+
+import com.worksystem.common.StatsProvider;
+import com.worksystem.config.SessionChangedEvent;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.http.MediaType;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.session.FindByIndexNameSessionRepository;
+import org.springframework.session.Session;
+import org.springframework.session.events.SessionDestroyedEvent;
+import org.springframework.session.events.SessionExpiredEvent;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 세션 이벤트 푸시(SSE) — 브라우저 창마다 연결 1개, 세션 만료/권한 변경을 서버에서 먼저 알린다.
+ *
+ * - 연결은 비동기 요청(SseEmitter)이라 요청 스레드를 붙잡지 않는다. 전송은 sender-threads개 공용 풀에서만 한다.
+ * - 세션 만료: 세션 저장소의 삭제/만료 이벤트(SessionDestroyedEvent)와 SessionLogService의 강제 만료에서 즉시 푸시.
+ *   이벤트가 없는 경로(JDBC 직접 저장소, 일괄 DELETE, 다른 노드에서의 만료)는 heartbeat 주기의 생존 확인으로 잡는다
+ *   (ActiveSessionRegistry에 없을 때만 저장소 조회로 확정).
+ * - 권한 변경: PermissionsChangedEvent를 커밋 후 해당 사용자의 연결에만 푸시 (이 노드에 붙은 연결만).
+ * - 연결마다 보낼 이벤트를 자기 대기열(outbox)에 모으고 한 번에 스레드 하나만 쓴다 — 느린 연결 하나가 여러 스레드를 묶지 않음.
+ *   heartbeat는 대기 중/전송 중인 것이 있으면 건너뛴다.
+ * - 쓰기 기한: SseEmitter.send는 블로킹 쓰기라 멈춘 클라이언트(절전 노트북 등)는 컨테이너 쓰기 타임아웃까지 스레드를 잡는다.
+ *   write-timeout-ms를 넘긴 쓰기는 연결을 끊은 것으로 처리(이후 이벤트 버림)하고, 그 스레드가 풀려날 때까지
+ *   전송 풀에 스레드를 하나 보충한다 — 멈춘 연결이 몇 개 있어도 다른 세션의 만료 푸시가 밀리지 않음.
+ * 연결 요청 자체가 세션 접근 시각을 갱신하므로, 재연결이 잦지 않도록 연결에는 시간 제한을 두지 않는다.
+ */
+@Slf4j
+@Component
+public class SessionEventDispatcher implements StatsProvider {
+
+    public static final String EVENT_SESSION_EXPIRED = "session-expired";
+    public static final String EVENT_PERMISSIONS_CHANGED = "permissions-changed";
+
+    private final FindByIndexNameSessionRepository<? extends Session> sessionRepository;
+    private final ActiveSessionRegistry activeSessionRegistry;
+    private static final int MAX_STALLED_COMPENSATION = 16;
+
+    private final int maxPerSession;
+    private final long reconnectMillis;
+    private final int senderThreads;
+    private final long writeTimeoutNanos;
+    private final ThreadPoolExecutor sender;
+    // 기한 초과로 정리했지만 아직 쓰기에서 돌아오지 않은 연결 — 이 수만큼 전송 풀에 스레드 보충
+    private final Set<Connection> stalledWriters = ConcurrentHashMap.newKeySet();
+
+    /** 세션 ID → 열린 연결 (창/탭마다 1개) */
+    private final Map<String, Set<Connection>> bySession = new ConcurrentHashMap<>();
+
+    private final LongAdder connects = new LongAdder();
+    private final LongAdder evicted = new LongAdder();
+    private final LongAdder dropped = new LongAdder();
+    private final LongAdder expiredPushes = new LongAdder();
+    private final LongAdder permissionPushes = new LongAdder();
+    private final LongAdder heartbeats = new LongAdder();
+    private final LongAdder heartbeatsSkipped = new LongAdder();
+    private final LongAdder livenessLookups = new LongAdder();
+    private final LongAdder stalledWrites = new LongAdder();
+
+    public SessionEventDispatcher(FindByIndexNameSessionRepository<? extends Session> sessionRepository,
+                                  ActiveSessionRegistry activeSessionRegistry,
+                                  @Value("${worksystem.session-events.sender-threads:2}") int senderThreads,
+                                  @Value("${worksystem.session-events.max-per-session:8}") int maxPerSession,
+                                  @Value("${worksystem.session-events.reconnect-ms:5000}") long reconnectMillis,
+                                  @Value("${worksystem.session-events.write-timeout-ms:5000}") long writeTimeoutMillis) {
+        this.sessionRepository = sessionRepository;
+        this.activeSessionRegistry = activeSessionRegistry;
+        this.maxPerSession = maxPerSession;
+        this.reconnectMillis = reconnectMillis;
+        this.senderThreads = senderThreads;
+        this.writeTimeoutNanos = TimeUnit.MILLISECONDS.toNanos(writeTimeoutMillis);
+        AtomicInteger seq = new AtomicInteger();
+        this.sender = new ThreadPoolExecutor(senderThreads, senderThreads, 0L, TimeUnit.MILLISECONDS,
+                new LinkedBlockingQueue<>(),
+                r -> {
+                    Thread t = new Thread(r, "session-events-" + seq.incrementAndGet());
+                    t.setDaemon(true);
+                    return t;
+                });
+    }
+
+    /**
+     * 연결 등록 — 세션당 max-per-session개를 넘으면 가장 오래된 연결을 닫는다.
+     */
+    public SseEmitter connect(String sessionId, String userId) {
+        SseEmitter emitter = new SseEmitter(0L);   // 0 = 시간 제한 없음
+        Connection connection = new Connection(sessionId, userId, emitter);
+        emitter.onCompletion(() -> remove(connection));
+        emitter.onTimeout(() -> remove(connection));
+        emitter.onError(e -> remove(connection));
+
+        Set<Connection> connections = bySession.compute(sessionId, (k, set) -> {
+            Set<Connection> target = set != null ? set : ConcurrentHashMap.newKeySet();
+            target.add(connection);
+            return target;
+        });
+        connects.increment();
+        if (connections.size() > maxPerSession) {
+            connections.stream()
+                    .min(Comparator.comparingLong(Connection::connectedAt))
+                    .ifPresent(oldest -> {
+                        evicted.increment();
+                        remove(oldest);
+                        oldest.emitter().complete();
+                    });
+        }
+        send(connection, SseEmitter.event().reconnectTime(reconnectMillis).comment("connected"), false);
+        return emitter;
+    }
+
+    // ===== 이벤트 =====
+
+    /** 로그아웃/강제 만료/동시 세션 초과/시간 만료 — CachingSessionRepository, MemorySessionRepository가 발행 */
+    @EventListener
+    public void onSessionDestroyed(SessionDestroyedEvent event) {
+        sessionExpired(event.getSessionId(), event instanceof SessionExpiredEvent ? "expired" : "deleted");
+    }
+
+    /** 로그인 시 세션 ID 변경(고정 공격 방지) — 연결을 새 ID로 옮긴다 */
+    @EventListener
+    public void onSessionChanged(SessionChangedEvent event) {
+        String previousSessionId = event.getPreviousSessionId();
+        if (previousSessionId == null) {
+            return;
+        }
+        Set<Connection> moved = bySession.remove(previousSessionId);
+        if (moved == null) {
+            return;
+        }
+        String sessionId = event.getSession().getId();
+        moved.forEach(connection -> connection.sessionId = sessionId);
+        bySession.merge(sessionId, moved, (existing, added) -> {
+            existing.addAll(added);
+            return existing;
+        });
+    }
+
+    /** 트랜잭션 밖에서 발행된 경우에도 바로 전달 (fallbackExecution) */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onPermissionsChanged(PermissionsChangedEvent event) {
+        Set<String> userIds = event.getUserIds();
+        if (userIds.isEmpty()) {
+            return;
+        }
+        for (Set<Connection> connections : bySession.values()) {
+            for (Connection connection : connections) {
+                if (userIds.contains(connection.userId())) {
+                    permissionPushes.increment();
+                    send(connection, SseEmitter.event().name(EVENT_PERMISSIONS_CHANGED).data("{}"), false);
+                }
+            }
+        }
+    }
+
+    /** 세션의 모든 연결에 만료를 알리고 닫는다 (중복 호출 무해) */
+    public void sessionExpired(String sessionId, String reason) {
+        Set<Connection> connections = bySession.remove(sessionId);
+        if (connections == null) {
+            return;
+        }
+        for (Connection connection : connections) {
+            expiredPushes.increment();
+            send(connection, SseEmitter.event().name(EVENT_SESSION_EXPIRED)
+                    .data(Map.of("reason", reason), MediaType.APPLICATION_JSON), true);
+        }
+    }
+
+    // ===== 주기 작업 =====
+
+    /**
+     * heartbeat — 프록시 유휴 절단 방지 + 끊긴 연결 정리 + 이벤트 없이 사라진 세션 확인
+     */
+    @Scheduled(fixedDelayString = "${worksystem.session-events.heartbeat-ms:20000}",
+               initialDelayString = "${worksystem.session-events.heartbeat-ms:20000}")
+    public void heartbeat() {
+        for (Map.Entry<String, Set<Connection>> entry : bySession.entrySet()) {
+            if (!isAlive(entry.getKey())) {
+                sessionExpired(entry.getKey(), "expired");
+                continue;
+            }
+            for (Connection connection : entry.getValue()) {
+                if (connection.draining.get()) {
+                    // 보낼 것이 남았거나 쓰는 중 — 그 전송이 연결 유지 역할도 한다
+                    heartbeatsSkipped.increment();
+                    continue;
+                }
+                heartbeats.increment();
+                send(connection, SseEmitter.event().comment("hb"), false);
+            }
+        }
+    }
+
+    /**
+     * 쓰기 기한 초과 연결 정리 — 연결을 목록에서 빼고 이후 이벤트는 버린다.
+     * 묶인 스레드는 컨테이너 쓰기 타임아웃에 풀려나므로 그때까지 전송 풀에 스레드를 보충한다
+     * (보충 수는 이 메서드만 조정 — 매 주기 아직 쓰는 중인 정리 연결 수로 다시 맞춘다).
+     * emitter를 여기서 완료시키지 않는다 — 쓰는 스레드가 emitter를 잡고 있어 이 스레드까지 묶인다.
+     */
+    @Scheduled(fixedDelayString = "${worksystem.session-events.write-timeout-ms:5000}",
+               initialDelayString = "${worksystem.session-events.write-timeout-ms:5000}")
+    public void reapStalledWrites() {
+        long now = System.nanoTime();
+        for (Set<Connection> connections : bySession.values()) {
+            for (Connection connection : connections) {
+                long started = connection.writeStartedAt;
+                if (started != 0 && now - started > writeTimeoutNanos && !connection.stalled) {
+                    connection.stalled = true;
+                    stalledWrites.increment();
+                    remove(connection);
+                    stalledWriters.add(connection);
+                    log.warn("SSE 쓰기 기한 초과 - 연결 정리 (sessionId: {}, userId: {}, {}ms)",
+                            connection.sessionId, connection.userId(), TimeUnit.NANOSECONDS.toMillis(now - started));
+                    // 판단 직후 쓰기가 끝나 전송 작업이 이미 빠져나갔으면 닫기 작업을 띄운다 (쓰는 중이면 그 작업이 닫음)
+                    schedule(connection);
+                }
+            }
+        }
+        stalledWriters.removeIf(connection -> connection.writeStartedAt == 0);
+        resizeSender(senderThreads + Math.min(stalledWriters.size(), MAX_STALLED_COMPENSATION));
+    }
+
+    /** 연결된 세션 중 사라진 것 즉시 확인 — 이벤트 없는 일괄 만료 직후 호출 */
+    public void checkConnectedSessions() {
+        for (String sessionId : bySession.keySet()) {
+            if (!isAlive(sessionId)) {
+                sessionExpired(sessionId, "deleted");
+            }
+        }
+    }
+
+    private boolean isAlive(String sessionId) {
+        if (activeSessionRegistry.contains(sessionId)) {
+            return true;
+        }
+        livenessLookups.increment();
+        try {
+            return sessionRepository.findById(sessionId) != null;
+        } catch (Exception e) {
+            // 저장소 장애 시 만료로 단정하지 않음 — 다음 주기에 다시 확인
+            log.warn("세션 생존 확인 실패 - sessionId: {}, {}", sessionId, e.getMessage());
+            return true;
+        }
+    }
+
+    // ===== 전송 =====
+
+    /** 연결 대기열에 넣고, 그 연결을 쓰는 작업이 없으면 하나 띄운다 (연결당 동시에 스레드 1개) */
+    private void send(Connection connection, SseEmitter.SseEventBuilder event, boolean complete) {
+        if (connection.stalled) {
+            return;
+        }
+        connection.outbox.add(new Outgoing(event, complete));
+        schedule(connection);
+    }
+
+    private void schedule(Connection connection) {
+        if (!connection.draining.compareAndSet(false, true)) {
+            return;
+        }
+        try {
+            sender.execute(() -> drain(connection));
+        } catch (RejectedExecutionException e) {
+            connection.outbox.clear();
+            remove(connection);   // 종료 중
+        }
+    }
+
+    private void drain(Connection connection) {
+        try {
+            Outgoing next;
+            while (!connection.stalled && (next = connection.outbox.poll()) != null) {
+                connection.writeStartedAt = System.nanoTime();
+                try {
+                    connection.emitter().send(next.event());
+                    if (next.complete()) {
+                        connection.emitter().complete();
+                        connection.outbox.clear();
+                        return;
+                    }
+                } catch (IOException | IllegalStateException e) {
+                    // 클라이언트가 끊었거나 이미 완료된 연결 — 정리는 컨테이너가 한다
+                    dropped.increment();
+                    connection.outbox.clear();
+                    remove(connection);
+                    return;
+                } finally {
+                    connection.writeStartedAt = 0;
+                }
+            }
+        } finally {
+            // draining을 먼저 내린다 — 이후 정리 주기가 stalled를 세우면 그쪽 schedule이 닫기 작업을 띄운다
+            connection.draining.set(false);
+            if (connection.stalled) {
+                closeStalled(connection);
+            } else if (!connection.outbox.isEmpty()) {
+                // poll이 비었다고 본 직후 들어온 이벤트 — 다시 띄운다
+                schedule(connection);
+            }
+        }
+    }
+
+    /** 기한 초과로 정리된 연결 — 쓰기가 끝난 뒤 한 번만 닫는다 (보충 스레드는 다음 정리 주기에 회수) */
+    private void closeStalled(Connection connection) {
+        if (!connection.closed.compareAndSet(false, true)) {
+            return;
+        }
+        connection.outbox.clear();
+        try {
+            connection.emitter().complete();
+        } catch (Exception ignored) {
+            // 이미 끊긴 연결
+        }
+    }
+
+    /** 늘릴 때는 최대→기본, 줄일 때는 기본→최대 순서 (기본 크기는 최대를 넘을 수 없음) */
+    private void resizeSender(int size) {
+        if (size > sender.getMaximumPoolSize()) {
+            sender.setMaximumPoolSize(size);
+            sender.setCorePoolSize(size);
+        } else if (size < sender.getCorePoolSize()) {
+            sender.setCorePoolSize(size);
+            sender.setMaximumPoolSize(size);
+        }
+    }
+
+    private void remove(Connection connection) {
+        bySession.computeIfPresent(connection.sessionId, (k, set) -> {
+            set.remove(connection);
+            return set.isEmpty() ? null : set;
+        });
+    }
+
+    @Override
+    public String getStatsName() {
+        return "session-events";
+    }
+
+    /** 모니터링용 통계 */
+    @Override
+    public Map<String, Object> getStats() {
+        int connections = 0;
+        for (Set<Connection> set : bySession.values()) {
+            connections += set.size();
+        }
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("sessions", bySession.size());
+        stats.put("connections", connections);
+        stats.put("senderThreads", sender.getMaximumPoolSize());
+        stats.put("sendQueue", sender.getQueue().size());
+        stats.put("connects", connects.sum());
+        stats.put("evicted", evicted.sum());
+        stats.put("dropped", dropped.sum());
+        stats.put("expiredPushes", expiredPushes.sum());
+        stats.put("permissionPushes", permissionPushes.sum());
+        stats.put("heartbeats", heartbeats.sum());
+        stats.put("heartbeatsSkipped", heartbeatsSkipped.sum());
+        stats.put("livenessLookups", livenessLookups.sum());
+        stats.put("stalledWrites", stalledWrites.sum());
+        stats.put("stalledWriters", stalledWriters.size());
+        return stats;
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        sender.shutdown();
+        for (Set<Connection> connections : bySession.values()) {
+            connections.forEach(connection -> connection.emitter().complete());
+        }
+        bySession.clear();
+    }
+
+    private static final class Connection {
+        private volatile String sessionId;
+        private final String userId;
+        private final SseEmitter emitter;
+        private final long connectedAt = System.currentTimeMillis();
+        private final Queue<Outgoing> outbox = new ConcurrentLinkedQueue<>();
+        private final AtomicBoolean draining = new AtomicBoolean();
+        private volatile long writeStartedAt;   // 쓰는 중이면 System.nanoTime(), 아니면 0
+        private volatile boolean stalled;
+        private final AtomicBoolean closed = new AtomicBoolean();
+
+        private Connection(String sessionId, String userId, SseEmitter emitter) {
+            this.sessionId = sessionId;
+            this.userId = userId;
+            this.emitter = emitter;
+        }
+
+        String userId() {
+            return userId;
+        }
+
+        SseEmitter emitter() {
+            return emitter;
+        }
+
+        long connectedAt() {
+            return connectedAt;
+        }
+    }
+
+    private record Outgoing(SseEmitter.SseEventBuilder event, boolean complete) {
+    }
+}
@@ -1,35 +1,78 @@
 package com.worksystem.service;
 
+import com.worksystem.common.CsvUtils;
 import com.worksystem.common.RequestUtils;
-import com.worksystem.dto.ActiveSessionDTO;
+import com.worksystem.config.CachingSessionRepository;
+import com.worksystem.config.ClientIpResolver;
+import com.worksystem.config.LoginPhaseMetrics;
+import com.worksystem.config.MemorySessionRepository;
+import com.worksystem.dto.ActiveSessionPageDTO;
 import com.worksystem.dto.LoginHistoryDTO;
+import com.worksystem.dto.LoginHistoryPageDTO;
 import com.worksystem.mapper.SessionLogMapper;
 import jakarta.servlet.http.HttpServletRequest;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.apache.ibatis.cursor.Cursor;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.session.FindByIndexNameSessionRepository;
 import org.springframework.session.Session;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
 import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.time.temporal.ChronoUnit;
+import java.util.Base64;
 import java.util.HashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Locale;
 import java.util.Map;
 import java.util.NoSuchElementException;
+import java.util.Set;
 
 /**
- * 접속 로그 서비스 — 로그인 이력 기록/조회 + 활성 세션 조회/강제 만료
+ * 접속 로그 서비스 — 로그인 이력 기록/조회 + 활성 세션 조회/강제 만료(단건·일괄)
  *
  * 기록 메서드(record*)는 인증 흐름 안에서 호출되므로 실패해도 로그인/로그아웃을 막지 않도록
  * 내부에서 catch한다 (의도적 fail-open — 표준 '예외 전파'의 예외, 설계 §2-N1).
+ * 실제 INSERT는 LoginHistoryWriter가 비동기로 모아서 한다 (화면 반영은 flush 주기만큼 늦을 수 있음).
  */
 @Slf4j
 @Service
 @RequiredArgsConstructor
 public class SessionLogService {
 
+    private static final int MAX_SESSION_PAGE_SIZE = 500;
+    private static final int MAX_HISTORY_PAGE_SIZE = 1000;
+    private static final int MAX_CONTAINS_DAYS = 31;   // 사용자 ID 포함 검색(기간 스캔) 최대 기간
+    private static final int MAX_BULK_USER_IDS = 1000;
+    private static final int BULK_IN_CHUNK_SIZE = 500;      // IN 목록 크기
+    private static final int BULK_DELETE_CHUNK_SIZE = 1000; // 한 문장 삭제 상한 (잠금 범위 제한)
+    private static final String ADMIN_GROUP_ID = "ADMIN";
+    private static final DateTimeFormatter CSV_TIME_FORMAT = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss");
+
     private final SessionLogMapper sessionLogMapper;
     private final FindByIndexNameSessionRepository<? extends Session> sessionRepository;
+    private final LoginPhaseMetrics loginPhaseMetrics;
+    private final ActiveSessionRegistry activeSessionRegistry;
+    private final RememberMeTokenStore rememberMeTokenStore;
+    private final SessionEventDispatcher sessionEventDispatcher;
+    private final LoginHistoryWriter loginHistoryWriter;
+    private final LoginAnomalyDetector loginAnomalyDetector;
+    private final ClientIpResolver clientIpResolver;
+
+    @Value("${server.servlet.session.timeout:30m}")
+    private Duration sessionTimeout;
 
     // ===== 이력 기록 (fail-open) =====
 
@@ -47,42 +90,196 @@ public class SessionLogService {
 
     private void record(String userId, String eventType, String failReason,
                         HttpServletRequest request, String sessionId) {
+        long start = System.nanoTime();
         try {
-            sessionLogMapper.insertHistory(
-                    RequestUtils.truncate(userId, 20),   // 실패 시 공격자 입력일 수 있음 — 컬럼 길이로 절단
-                    eventType,
-                    failReason,
-                    RequestUtils.getClientIp(request),
-                    RequestUtils.getUserAgent(request),
-                    sessionId);
+            String clientIp = clientIpResolver.resolve(request);
+            // 실패 시 공격자 입력(또는 누락)일 수 있음 — NOT NULL 컬럼 길이로 절단 (한 건이 일괄 INSERT 전체를 실패시키지 않도록)
+            String historyUserId = userId != null ? RequestUtils.truncate(userId, 20) : "";
+            // 대기열 적재만 — INSERT는 LoginHistoryWriter가 모아서 수행 (인증 흐름에서 커넥션을 잡지 않음)
+            loginHistoryWriter.enqueue(LoginHistoryDTO.builder()
+                    .userId(historyUserId)
+                    .eventType(eventType)
+                    .failReason(failReason)
+                    .ipAddress(clientIp)
+                    .userAgent(RequestUtils.getUserAgent(request))
+                    .sessionId(sessionId)
+                    .createdAt(LocalDateTime.now())
+                    .build());
+            // 이상 징후 탐지 — 같은 이벤트로 메모리 카운터만 갱신 (DB 조회 없음)
+            if ("LOGIN_FAIL".equals(eventType)) {
+                loginAnomalyDetector.onLoginFail(clientIp, historyUserId);
+            } else if ("LOGIN".equals(eventType)) {
+                loginAnomalyDetector.onLogin(clientIp, historyUserId);
+            }
         } catch (Exception e) {
             // 이력 기록 실패가 인증 흐름을 막지 않도록 로그만 남김
             log.error("접속 이력 기록 실패 - userId: {}, event: {}", userId, eventType, e);
+        } finally {
+            loginPhaseMetrics.record(LoginPhaseMetrics.Phase.HISTORY_INSERT, System.nanoTime() - start);
         }
     }
 
     // ===== 이력 조회 =====
 
     /**
-     * 로그인 이력 조회 — 기간 미지정 시 최근 7일, 최신순 LIMIT 1000 (매퍼)
+     * 이력 사용자 ID 검색 방식 — EXACT/PREFIX는 idx_lh_user 범위 스캔, CONTAINS는 기간 스캔(idx_lh_created)이라
+     * 조회 기간을 MAX_CONTAINS_DAYS일로 제한한다.
      */
-    public List<LoginHistoryDTO> getHistory(String userId, LocalDate fromDate, LocalDate toDate) {
+    public enum UserMatch {
+        EXACT, PREFIX, CONTAINS;
+
+        public static UserMatch parse(String value) {
+            if (value == null || value.isBlank()) {
+                return EXACT;
+            }
+            try {
+                return valueOf(value.trim().toUpperCase(Locale.ROOT));
+            } catch (IllegalArgumentException e) {
+                throw new IllegalArgumentException("지원하지 않는 사용자 검색 방식입니다: " + value + " (EXACT / PREFIX / CONTAINS)");
+            }
+        }
+    }
+
+    /**
+     * 로그인 이력 페이지 조회 — 기간 미지정 시 최근 7일, 최신순 키셋 페이징.
+     * cursor는 이전 응답의 nextCursor (첫 페이지는 null). 필터는 매 페이지 같은 값을 보낼 것.
+     */
+    public LoginHistoryPageDTO getHistory(String userId, String userMatch, LocalDate fromDate, LocalDate toDate,
+                                          String cursor, int size) {
+        if (size < 1 || size > MAX_HISTORY_PAGE_SIZE) {
+            throw new IllegalArgumentException("페이지 크기가 올바르지 않습니다. (size: 1~" + MAX_HISTORY_PAGE_SIZE + ")");
+        }
+        Map<String, Object> params = historyParams(userId, UserMatch.parse(userMatch), fromDate, toDate);
+        if (cursor != null && !cursor.isBlank()) {
+            decodeHistoryCursor(cursor, params);
+        }
+        params.put("limit", size + 1);   // 1건 더 읽어 다음 페이지 유무 판단
+
+        List<LoginHistoryDTO> rows = sessionLogMapper.findHistory(params);
+        String nextCursor = null;
+        if (rows.size() > size) {
+            rows = rows.subList(0, size);
+            nextCursor = encodeHistoryCursor(rows.get(size - 1));
+        }
+        return LoginHistoryPageDTO.builder()
+                .rows(rows)
+                .nextCursor(nextCursor)
+                .size(size)
+                .build();
+    }
+
+    /**
+     * 로그인 이력 CSV 내보내기 — 화면 조회와 같은 필터, 시간순 전체.
+     * MyBatis Cursor로 한 행씩 읽어 바로 쓰므로 메모리 사용은 건수와 무관하다.
+     * Cursor는 SqlSession이 열려 있는 동안만 유효하므로 읽기 전용 트랜잭션 안에서 끝까지 소비한다
+     * (내보내는 동안 커넥션 1개 점유 — ADMIN 전용 기능).
+     *
+     * @return 기록한 행 수
+     */
+    @Transactional(readOnly = true)
+    public long exportHistoryCsv(String userId, String userMatch, LocalDate fromDate, LocalDate toDate,
+                                 OutputStream out) throws IOException {
+        Map<String, Object> params = historyParams(userId, UserMatch.parse(userMatch), fromDate, toDate);
+        Writer writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8), 64 * 1024);
+        writer.write('\uFEFF');   // BOM — 엑셀에서 UTF-8 한글이 깨지지 않도록
+        CsvUtils.writeRow(writer, "시각", "사용자 ID", "이벤트", "실패 사유", "IP", "User-Agent", "세션 ID");
+        long rows = 0;
+        try (Cursor<LoginHistoryDTO> cursor = sessionLogMapper.streamHistory(params)) {
+            for (LoginHistoryDTO row : cursor) {
+                CsvUtils.writeRow(writer,
+                        row.getCreatedAt() != null ? row.getCreatedAt().format(CSV_TIME_FORMAT) : null,
+                        row.getUserId(), row.getEventType(), row.getFailReason(),
+                        row.getIpAddress(), row.getUserAgent(), row.getSessionId());
+                rows++;
+            }
+        }
+        writer.flush();
+        log.info("로그인 이력 내보내기 - userId: {}, 기간: {} ~ {}, {}건", userId, fromDate, toDate, rows);
+        return rows;
+    }
+
+    /** 이력 필터 검증만 (잘못된 검색 방식/포함 검색 기간 초과 → IllegalArgumentException) */
+    public void validateHistoryFilter(String userId, String userMatch, LocalDate fromDate, LocalDate toDate) {
+        historyParams(userId, UserMatch.parse(userMatch), fromDate, toDate);
+    }
+
+    /** 이력 조회/내보내기 공통 조건 — 기간 미지정 시 최근 7일 (실행 계획 테스트도 같은 조건 사용) */
+    static Map<String, Object> historyParams(String userId, UserMatch userMatch,
+                                             LocalDate fromDate, LocalDate toDate) {
         Map<String, Object> params = new HashMap<>();
-        params.put("userId", userId);
-        params.put("fromDate", fromDate != null ? fromDate : LocalDate.now().minusDays(7));
-        params.put("toDate", toDate);
-        return sessionLogMapper.findHistory(params);
+        LocalDate from = fromDate != null ? fromDate : LocalDate.now().minusDays(7);
+        String trimmed = userId != null ? userId.trim() : "";
+        if (!trimmed.isEmpty()) {
+            if (userMatch == UserMatch.CONTAINS) {
+                LocalDate to = toDate != null ? toDate : LocalDate.now();
+                if (ChronoUnit.DAYS.between(from, to) >= MAX_CONTAINS_DAYS) {
+                    throw new IllegalArgumentException("사용자 ID 포함 검색은 최대 " + MAX_CONTAINS_DAYS
+                            + "일까지 조회할 수 있습니다. 기간을 줄이거나 일치/앞부분 검색을 사용하세요.");
+                }
+            }
+            params.put("userMatch", userMatch.name());
+            params.put("userPattern", switch (userMatch) {
+                case EXACT -> trimmed;
+                case PREFIX -> escapeLike(trimmed) + "%";
+                case CONTAINS -> "%" + escapeLike(trimmed) + "%";
+            });
+        }
+        // 파티션 프루닝이 되도록 DATETIME 경계로 변환 — 종료일은 당일 포함(다음날 0시 미만)
+        params.put("fromTime", from.atStartOfDay());
+        params.put("toTimeExclusive", toDate != null ? toDate.plusDays(1).atStartOfDay() : null);
+        return params;
+    }
+
+    /** LIKE 와일드카드를 문자 그대로 찾도록 이스케이프 (ESCAPE '!' — SessionLogMapper.xml historyFilter) */
+    private static String escapeLike(String value) {
+        return value.replace("!", "!!").replace("%", "!%").replace("_", "!_");
+    }
+
+    /** 커서 = Base64URL("created_at|history_seq") — 화면은 해석하지 않고 그대로 돌려보낸다 */
+    static String encodeHistoryCursor(LoginHistoryDTO last) {
+        String raw = last.getCreatedAt() + "|" + last.getHistorySeq();
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    static void decodeHistoryCursor(String cursor, Map<String, Object> params) {
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            int separator = raw.lastIndexOf('|');
+            params.put("cursorTime", LocalDateTime.parse(raw.substring(0, separator)));
+            params.put("cursorSeq", Long.parseLong(raw.substring(separator + 1)));
+        } catch (RuntimeException e) {
+            throw new IllegalArgumentException("잘못된 커서입니다.");
+        }
     }
 
     // ===== 활성 세션 =====
 
     /**
-     * 활성 세션 목록 — 조회자 본인의 세션에 current=true 표시 (화면에서 강제 만료 불가 안내)
+     * 활성 세션 페이지 — 활성 세션 레지스트리(메모리) 조회, 조회자 본인의 세션에 current=true 표시
+     * (화면에서 강제 만료 불가 안내). 페이지 크기는 1~MAX_SESSION_PAGE_SIZE
      */
-    public List<ActiveSessionDTO> getActiveSessions(String currentSessionId) {
-        List<ActiveSessionDTO> sessions = sessionLogMapper.findActiveSessions();
-        sessions.forEach(s -> s.setCurrent(s.getSessionId().equals(currentSessionId)));
-        return sessions;
+    public ActiveSessionPageDTO getActiveSessions(String currentSessionId, String userId, Integer minIdleMinutes,
+                                                  int page, int size) {
+        if (page < 0 || size < 1 || size > MAX_SESSION_PAGE_SIZE) {
+            throw new IllegalArgumentException("페이지 범위가 올바르지 않습니다. (size: 1~" + MAX_SESSION_PAGE_SIZE + ")");
+        }
+        if (minIdleMinutes != null && minIdleMinutes < 0) {
+            throw new IllegalArgumentException("유휴 시간은 0 이상이어야 합니다.");
+        }
+        ActiveSessionPageDTO result = activeSessionRegistry.query(
+                userId != null ? userId.trim() : null, minIdleMinutes, page, size);
+        result.getSessions().forEach(s -> s.setCurrent(s.getSessionId().equals(currentSessionId)));
+        return result;
+    }
+
+    /**
+     * 세션별 직렬화 크기 요약 (SPRING_SESSION_ATTRIBUTES 집계 — 관리자 모니터링용)
+     */
+    public Map<String, Object> getSessionSizeStats() {
+        if (sessionRepository instanceof MemorySessionRepository memory) {
+            return memory.getSizeStats();
+        }
+        return sessionLogMapper.findSessionSizeStats();
     }
 
     /**
@@ -98,6 +295,127 @@ public class SessionLogService {
             throw new NoSuchElementException("세션을 찾을 수 없습니다: " + sessionId);
         }
         sessionRepository.deleteById(sessionId);
+        // 캐시 없는 JDBC 저장소는 삭제 이벤트가 없으므로 열린 창에 직접 알림 (이벤트와 중복되어도 무해)
+        sessionEventDispatcher.sessionExpired(sessionId, "deleted");
         log.info("세션 강제 만료 - sessionId: {}", sessionId);
     }
+
+    // ===== 일괄 강제 만료 =====
+    // JDBC 저장소는 집합 DELETE(인덱스 조건)로 처리 — 세션별 findById/deleteById 없음. 속성은 FK CASCADE.
+    // 저장소를 거치지 않으므로 다른 노드의 근거리 캐시는 다음 요청의 버전 재검증에서 무효화되고,
+    // 활성 세션 레지스트리는 삭제 직후 대사로 맞춘다. 모두 조회자 본인의 세션은 제외한다.
+
+    /**
+     * 사용자 ID 목록의 세션 일괄 만료 (계정 침해 대응 등) — 자동 로그인으로 바로 복귀하지 않도록
+     * Remember-Me 토큰도 함께 폐기한다.
+     */
+    public int expireSessionsByUsers(List<String> userIds, String currentSessionId) {
+        Set<String> targets = new LinkedHashSet<>();
+        if (userIds != null) {
+            for (String userId : userIds) {
+                if (userId != null && !userId.isBlank()) {
+                    targets.add(userId.trim());
+                }
+            }
+        }
+        if (targets.isEmpty()) {
+            throw new IllegalArgumentException("만료할 사용자 ID를 1개 이상 입력해주세요.");
+        }
+        if (targets.size() > MAX_BULK_USER_IDS) {
+            throw new IllegalArgumentException("한 번에 최대 " + MAX_BULK_USER_IDS + "명까지 만료할 수 있습니다.");
+        }
+
+        int expired = 0;
+        if (sessionRepository instanceof MemorySessionRepository memory) {
+            expired = memory.deleteIf(row -> targets.contains(row.getUserId())
+                    && !row.getSessionId().equals(currentSessionId));
+        } else {
+            List<String> ids = List.copyOf(targets);
+            for (int from = 0; from < ids.size(); from += BULK_IN_CHUNK_SIZE) {
+                List<String> chunk = ids.subList(from, Math.min(from + BULK_IN_CHUNK_SIZE, ids.size()));
+                expired += sessionLogMapper.deleteSessionsByUsers(chunk, currentSessionId);
+            }
+        }
+        targets.forEach(rememberMeTokenStore::removeUserTokens);
+        return afterBulkExpire("users(" + targets.size() + ")", expired);
+    }
+
+    /**
+     * 접속 IP의 세션 일괄 만료 — 로그인 이력(LOGIN 행의 session_id)으로 세션을 찾는다.
+     * IP는 위조 가능한 참고값이므로 공용 NAT 뒤의 다른 사용자도 함께 만료될 수 있다 (설계 §10).
+     */
+    public int expireSessionsByIp(String ipAddress, String currentSessionId) {
+        if (ipAddress == null || ipAddress.isBlank() || ipAddress.trim().length() > 45) {
+            throw new IllegalArgumentException("IP 주소를 올바르게 입력해주세요.");
+        }
+        String ip = ipAddress.trim();
+        int expired;
+        if (sessionRepository instanceof MemorySessionRepository memory) {
+            Set<String> sessionIds = Set.copyOf(sessionLogMapper.findLoginSessionIdsByIp(ip));
+            expired = memory.deleteIf(row -> sessionIds.contains(row.getSessionId())
+                    && !row.getSessionId().equals(currentSessionId));
+        } else {
+            expired = sessionLogMapper.deleteSessionsByIp(ip, currentSessionId);
+        }
+        return afterBulkExpire("ip(" + ip + ")", expired);
+    }
+
+    /**
+     * 유휴 세션 일괄 만료 — 마지막 접근 후 minIdleMinutes분 이상 지난 로그인 세션.
+     * 이 노드의 접근 시각 쓰기 지연분은 먼저 반영한다 (다른 노드 분은 최대 access-write-interval만큼 늦을 수 있음).
+     */
+    public int expireIdleSessions(int minIdleMinutes, String currentSessionId) {
+        if (minIdleMinutes < 1) {
+            throw new IllegalArgumentException("유휴 시간은 1분 이상이어야 합니다.");
+        }
+        long lastAccessBefore = System.currentTimeMillis() - minIdleMinutes * 60_000L;
+        int expired = 0;
+        if (sessionRepository instanceof MemorySessionRepository memory) {
+            expired = memory.deleteIf(row -> row.getLastAccessTime() < lastAccessBefore
+                    && !row.getSessionId().equals(currentSessionId));
+        } else {
+            if (sessionRepository instanceof CachingSessionRepository<?> caching) {
+                caching.flushTouches();
+            }
+            // EXPIRY_TIME = LAST_ACCESS_TIME + 타임아웃 — IX2 범위 상한으로 후보를 좁힘
+            long expiryBefore = lastAccessBefore + sessionTimeout.toMillis() + 1;
+            int deleted;
+            do {
+                deleted = sessionLogMapper.deleteIdleSessions(lastAccessBefore, expiryBefore,
+                        currentSessionId, BULK_DELETE_CHUNK_SIZE);
+                expired += deleted;
+            } while (deleted == BULK_DELETE_CHUNK_SIZE);
+        }
+        return afterBulkExpire("idle(" + minIdleMinutes + "m)", expired);
+    }
+
+    /**
+     * 관리자(ADMIN 그룹) 외 전체 로그인 세션 일괄 만료 (조직 개편 전 일괄 로그아웃 등)
+     */
+    public int expireAllExceptAdmins(String currentSessionId) {
+        int expired = 0;
+        if (sessionRepository instanceof MemorySessionRepository memory) {
+            Set<String> admins = Set.copyOf(sessionLogMapper.findUserIdsByGroup(ADMIN_GROUP_ID));
+            expired = memory.deleteIf(row -> !admins.contains(row.getUserId())
+                    && !row.getSessionId().equals(currentSessionId));
+        } else {
+            int deleted;
+            do {
+                deleted = sessionLogMapper.deleteSessionsExceptGroup(ADMIN_GROUP_ID, currentSessionId,
+                        BULK_DELETE_CHUNK_SIZE);
+                expired += deleted;
+            } while (deleted == BULK_DELETE_CHUNK_SIZE);
+        }
+        return afterBulkExpire("all-except-admins", expired);
+    }
+
+    private int afterBulkExpire(String criteria, int expired) {
+        // 메모리 저장소는 세션별 삭제 이벤트로 이미 반영됨
+        if (expired > 0 && !(sessionRepository instanceof MemorySessionRepository)) {
+            activeSessionRegistry.reconcile();
+            sessionEventDispatcher.checkConnectedSessions();
+        }
+        log.info("세션 일괄 강제 만료 - 기준: {}, 건수: {}", criteria, expired);
+        return expired;
+    }
 }
@@ -0,0 +1,85 @@
+package com.worksystem.service;
+
+import com.worksystem.common.BoundedLruCache;
+import com.worksystem.common.StatsProvider;
+import com.worksystem.dto.UserAgentDTO;
+import com.worksystem.mapper.UserAgentMapper;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * User-Agent 사전 — login_history에는 500자 문자열 대신 user_agents의 정수 키(ua_id)만 저장한다.
+ *
+ * 운영 환경의 User-Agent 종류는 수십 개라 최대 cache-size개 LRU로 거의 전부 메모리에서 찾는다.
+ * 처음 보는 문자열만 user_agents에 등록(1문장)하며, 호출자는 LoginHistoryWriter 기록 스레드라
+ * 인증 흐름은 조회/등록을 기다리지 않는다. 등록 실패 시 null(이력은 User-Agent 없이 기록 — fail-open).
+ * 로그인 실패 요청의 User-Agent는 임의 값일 수 있어 사전 행이 늘 수 있지만, 캐시는 크기 제한으로 메모리가 일정하다.
+ */
+@Slf4j
+@Component
+public class UserAgentDictionary implements StatsProvider {
+
+    private final UserAgentMapper userAgentMapper;
+    private final BoundedLruCache<String, Integer> ids;
+
+    private final LongAdder failures = new LongAdder();
+
+    public UserAgentDictionary(UserAgentMapper userAgentMapper,
+                               @Value("${worksystem.login-history.user-agent-cache-size:1000}") int maxSize) {
+        this.userAgentMapper = userAgentMapper;
+        this.ids = new BoundedLruCache<>(maxSize);
+    }
+
+    /**
+     * User-Agent → ua_id (없으면 등록). 빈 값이거나 등록 실패면 null
+     */
+    public Integer resolve(String userAgent) {
+        if (userAgent == null || userAgent.isEmpty()) {
+            return null;
+        }
+        Integer id = ids.get(userAgent);
+        if (id != null) {
+            return id;
+        }
+        try {
+            UserAgentDTO row = UserAgentDTO.builder()
+                    .uaHash(sha256(userAgent))
+                    .userAgent(userAgent)
+                    .build();
+            userAgentMapper.intern(row);
+            if (row.getUaId() == null) {
+                throw new IllegalStateException("ua_id가 반환되지 않았습니다.");
+            }
+            ids.put(userAgent, row.getUaId());
+            return row.getUaId();
+        } catch (Exception e) {
+            failures.increment();
+            log.warn("User-Agent 사전 등록 실패 - User-Agent 없이 기록: {}", e.getMessage());
+            return null;
+        }
+    }
+
+    private static byte[] sha256(String value) throws NoSuchAlgorithmException {
+        return MessageDigest.getInstance("SHA-256").digest(value.getBytes(StandardCharsets.UTF_8));
+    }
+
+    @Override
+    public String getStatsName() {
+        return "user-agents";
+    }
+
+    /** 모니터링용 통계 */
+    @Override
+    public Map<String, Object> getStats() {
+        Map<String, Object> stats = ids.getStats();
+        stats.put("failures", failures.sum());
+        return stats;
+    }
+}
@@ -0,0 +1,99 @@
+package com.worksystem.service;
+
+import com.worksystem.common.BoundedLruCache;
+import com.worksystem.common.StatsProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * UserDetails 캐시 — loadUserByUsername의 사용자 조회 + 그룹 조인(2회 왕복)을 로그인마다 반복하지 않도록
+ * 빌드 결과를 프로세스 메모리에 보관한다 (최대 건수 LRU + TTL).
+ *
+ * 주의: 캐시에는 불변 스냅샷만 두고 조회 시마다 새 UserDetails를 만든다.
+ * ProviderManager가 인증 후 eraseCredentials()로 principal의 password를 null로 지우므로
+ * 같은 인스턴스를 돌려주면 다음 로그인이 빈 비밀번호로 검증되는 문제가 생긴다.
+ *
+ * 무효화는 사용자/비밀번호/그룹 변경 지점(UserService, GroupService)에서 호출한다.
+ * 트랜잭션 안에서 호출되면 커밋 직후 한 번 더 제거 — 커밋 전 다른 스레드가 옛 값을 다시 적재하는 경합 방지.
+ */
+@Component
+public class UserDetailsCache implements StatsProvider {
+
+    private final long ttlMillis;
+    private final BoundedLruCache<String, Entry> entries;
+
+    public UserDetailsCache(@Value("${worksystem.user-cache.max-size:1000}") int maxSize,
+                            @Value("${worksystem.user-cache.ttl-seconds:300}") long ttlSeconds) {
+        this.ttlMillis = ttlSeconds * 1000L;
+        this.entries = new BoundedLruCache<>(ttlMillis > 0 ? maxSize : 0);
+    }
+
+    /** 캐시 조회 — 없거나 만료되었으면 null (호출자가 DB 조회 후 put) */
+    public UserDetails get(String userId) {
+        if (!entries.isEnabled() || userId == null) {
+            return null;
+        }
+        long now = System.currentTimeMillis();
+        Entry entry = entries.get(userId, e -> e.expiresAt >= now);
+        return entry == null ? null : entry.toUserDetails();
+    }
+
+    /** 빌드된 UserDetails를 스냅샷으로 보관 */
+    public void put(UserDetails userDetails) {
+        if (!entries.isEnabled()) {
+            return;
+        }
+        Entry entry = new Entry(userDetails.getUsername(), userDetails.getPassword(),
+                List.copyOf(userDetails.getAuthorities()), userDetails.isEnabled(),
+                userDetails.isAccountNonLocked(), System.currentTimeMillis() + ttlMillis);
+        entries.put(entry.userId, entry);
+    }
+
+    /** 특정 사용자 무효화 (사용자 정보/비밀번호/그룹 매핑 변경 시) */
+    public void evict(String userId) {
+        if (userId == null) {
+            return;
+        }
+        entries.invalidate(userId);
+    }
+
+    /** 전체 무효화 (그룹 삭제처럼 다수 사용자의 권한이 바뀌는 경우) */
+    public void evictAll() {
+        entries.invalidateAll();
+    }
+
+    @Override
+    public String getStatsName() {
+        return "user-cache";
+    }
+
+    /** 관리 화면/모니터링용 통계 */
+    @Override
+    public Map<String, Object> getStats() {
+        Map<String, Object> stats = entries.getStats();
+        stats.put("ttlSeconds", ttlMillis / 1000);
+        return stats;
+    }
+
+    /** 캐시 엔트리 — 불변 스냅샷 (UserDetails 인스턴스 자체는 보관하지 않음) */
+    private record Entry(String userId, String password, List<GrantedAuthority> authorities,
+                         boolean enabled, boolean accountNonLocked, long expiresAt) {
+
+        UserDetails toUserDetails() {
+            return org.springframework.security.core.userdetails.User.builder()
+                    .username(userId)
+                    .password(password)
+                    .authorities(authorities)
+                    .accountExpired(false)
+                    .accountLocked(!accountNonLocked)
+                    .credentialsExpired(false)
+                    .disabled(!enabled)
+                    .build();
+        }
+    }
+}
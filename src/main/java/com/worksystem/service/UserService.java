@@ -1,15 +1,18 @@
 package com.worksystem.service;
 
+import com.worksystem.config.LoginPhaseMetrics;
 import com.worksystem.dto.UserDTO;
 import com.worksystem.entity.User;
 import com.worksystem.mapper.UserMapper;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.security.core.GrantedAuthority;
 import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.core.userdetails.UserDetailsPasswordService;
 import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
-import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import org.slf4j.Logger;
@@ -25,35 +28,61 @@ import java.util.Collection;
  */
 @Service
 @Transactional
-public class UserService implements UserDetailsService {
+public class UserService implements UserDetailsService, UserDetailsPasswordService {
 
     private static final Logger logger = LoggerFactory.getLogger(UserService.class);
 
     @Autowired
     private UserMapper userMapper;
 
+    @Autowired
+    private UserDetailsCache userDetailsCache;
+
+    @Autowired
+    private RememberMeTokenStore rememberMeTokenStore;
+
+    // 그룹 매핑 변경 시 권한 행렬 재적재 (커밋 후)
+    @Autowired
+    private PermissionMatrix permissionMatrix;
+
+    @Autowired
+    private LoginPhaseMetrics loginPhaseMetrics;
+
+    // 그룹 매핑 변경 알림 (SessionEventDispatcher → 열린 창의 메뉴 갱신)
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
+    // BCrypt 해시/검증은 전용 유한 풀에서 실행 (PasswordEncoderConfig)
+    @Autowired
+    private PasswordEncoder passwordEncoder;
+
     /**
      * Spring Security UserDetailsService 구현
+     * 폼 로그인/Remember-Me 자동 로그인마다 호출되므로 UserDetailsCache를 먼저 확인한다.
      */
     @Override
     @Transactional(readOnly = true)
     public UserDetails loadUserByUsername(String userId) throws UsernameNotFoundException {
-        logger.info("=== CustomUserDetailsService.loadUserByUsername 호출됨: {}", userId);
-        
+        UserDetails cached = userDetailsCache.get(userId);
+        if (cached != null) {
+            logger.debug("UserDetails 캐시 적중: {}", userId);
+            return cached;
+        }
+
+        long start = System.nanoTime();
         User user = userMapper.findByUserId(userId);
+        loginPhaseMetrics.record(LoginPhaseMetrics.Phase.USER_LOOKUP, System.nanoTime() - start);
         if (user == null) {
             logger.warn("사용자를 찾을 수 없음: {}", userId);
             throw new UsernameNotFoundException("사용자를 찾을 수 없습니다: " + userId);
         }
         
-        logger.info("=== 데이터베이스에서 사용자 조회 결과: {}", user);
-        
         // 사용자의 그룹 권한 조회
+        start = System.nanoTime();
         List<String> groupIds = userMapper.findGroupIdsByUserId(userId);
+        loginPhaseMetrics.record(LoginPhaseMetrics.Phase.GROUP_LOOKUP, System.nanoTime() - start);
         Collection<GrantedAuthority> authorities = getAuthorities(groupIds);
         
-        logger.info("=== 사용자 권한 설정: {}", authorities);
-        
         UserDetails userDetails = org.springframework.security.core.userdetails.User.builder()
                 .username(user.getUserId())
                 .password(user.getPassword())
@@ -64,12 +93,30 @@ public class UserService implements UserDetailsService {
                 .disabled(!user.isActive())
                 .build();
         
-        logger.info("=== UserDetails 생성 완료: username={}, authorities={}", 
+        // 비밀번호 해시가 포함되므로 User 엔터티 전체는 로그에 남기지 않음
+        logger.debug("UserDetails 생성 완료: username={}, authorities={}",
                    userDetails.getUsername(), userDetails.getAuthorities());
         
+        userDetailsCache.put(userDetails);
         return userDetails;
     }
 
+    /**
+     * Spring Security UserDetailsPasswordService 구현 — 로그인 성공 시 재해시 저장
+     * 저장된 해시의 BCrypt 강도가 현재 목표보다 낮으면 RehashingAuthenticationProvider가
+     * 입력 비밀번호를 새 강도로 해시해 호출한다 (PasswordEncoderConfig.upgradeEncoding).
+     */
+    @Override
+    public UserDetails updatePassword(UserDetails user, String newPassword) {
+        userMapper.updatePassword(user.getUsername(), newPassword);
+        userDetailsCache.evict(user.getUsername());
+        logger.info("비밀번호 해시 강도 갱신 - userId: {}", user.getUsername());
+
+        return org.springframework.security.core.userdetails.User.withUserDetails(user)
+                .password(newPassword)
+                .build();
+    }
+
     /**
      * 그룹 목록으로부터 권한 생성
      */
@@ -79,13 +126,11 @@ public class UserService implements UserDetailsService {
         // 각 그룹을 ROLE로 변환
         for (String groupId : groupIds) {
             authorities.add(new SimpleGrantedAuthority("ROLE_" + groupId.toUpperCase()));
-            logger.info("권한 추가: ROLE_{}", groupId.toUpperCase());
         }
         
         // 그룹이 없는 경우 기본 권한 부여
         if (authorities.isEmpty()) {
             authorities.add(new SimpleGrantedAuthority("ROLE_USER"));
-            logger.info("기본 권한 추가: ROLE_USER");
         }
         
         return authorities;
@@ -149,13 +194,20 @@ public class UserService implements UserDetailsService {
     public void updateUser(User user) {
         user.setUpdatedAt(LocalDateTime.now());
         userMapper.update(user);
+        userDetailsCache.evict(user.getUserId());
     }
 
     /**
      * 사용자 삭제
      */
     public void deleteUser(Long id) {
+        User user = userMapper.findById(id);
         userMapper.deleteById(id);
+        if (user != null) {
+            userDetailsCache.evict(user.getUserId());
+            permissionMatrix.requestRebuild();
+            rememberMeTokenStore.removeUserTokens(user.getUserId());
+        }
     }
 
     /**
@@ -199,6 +251,16 @@ public class UserService implements UserDetailsService {
                 // 사용자 삭제 (비활성화)
                 deleteUser(userDTO.getUserId());
             }
+            // 활성 여부/그룹 매핑이 바뀌었을 수 있으므로 로그인 캐시 무효화
+            userDetailsCache.evict(userDTO.getUserId());
+        }
+        permissionMatrix.requestRebuild();
+        List<String> changedUserIds = userDTOs.stream()
+                .filter(userDTO -> "U".equals(userDTO.getStatus()) && userDTO.getUserId() != null)
+                .map(UserDTO::getUserId)
+                .toList();
+        if (!changedUserIds.isEmpty()) {
+            eventPublisher.publishEvent(new PermissionsChangedEvent(this, changedUserIds));
         }
         return true;
     }
@@ -318,6 +380,9 @@ public class UserService implements UserDetailsService {
             }
         }
         
+        userDetailsCache.evict(userId);
+        permissionMatrix.requestRebuild();
+        eventPublisher.publishEvent(new PermissionsChangedEvent(this, List.of(userId)));
         logger.info("사용자 수정 완료 - userId: {}", userId);
         
         return userMapper.findUserWithGroupsByUserId(userId);
@@ -336,6 +401,9 @@ public class UserService implements UserDetailsService {
         }
         
         userMapper.deleteByUserId(userId);
+        userDetailsCache.evict(userId);
+        permissionMatrix.requestRebuild();
+        rememberMeTokenStore.removeUserTokens(userId);
         logger.info("사용자 삭제 완료 - userId: {}", userId);
     }
 
@@ -374,15 +442,17 @@ public class UserService implements UserDetailsService {
             throw new IllegalArgumentException("존재하지 않는 사용자입니다: " + userId);
         }
 
-        BCryptPasswordEncoder encoder = new BCryptPasswordEncoder();
-        if (currentPassword == null || !encoder.matches(currentPassword, user.getPassword())) {
+        if (currentPassword == null || !passwordEncoder.matches(currentPassword, user.getPassword())) {
             throw new IllegalArgumentException("현재 비밀번호가 일치하지 않습니다.");
         }
         if (newPassword == null || newPassword.length() < 8) {
             throw new IllegalArgumentException("새 비밀번호는 8자 이상이어야 합니다.");
         }
 
-        userMapper.updatePassword(userId, encoder.encode(newPassword));
+        userMapper.updatePassword(userId, passwordEncoder.encode(newPassword));
+        userDetailsCache.evict(userId);
+        // 다른 기기의 자동 로그인 토큰 폐기
+        rememberMeTokenStore.removeUserTokens(userId);
         logger.info("비밀번호 변경 완료 - userId: {}", userId);
     }
 
@@ -398,15 +468,15 @@ public class UserService implements UserDetailsService {
             throw new IllegalArgumentException("존재하지 않는 사용자입니다: " + userId);
         }
 
-        BCryptPasswordEncoder encoder = new BCryptPasswordEncoder();
-        
         // 기본 비밀번호로 초기화 (암호화된 "password123")
         // String newPassword = "password123";
         // String encodedPassword = "$2a$10$CQCJQuzIytFGwGYoA19XuODNWuXBbZgVDMXdd3jow8AdDXdZAsrKq";
         String newPassword = userId + "1234!"; // userId 기반 초기화
-        String encodedPassword = encoder.encode(newPassword);   
+        String encodedPassword = passwordEncoder.encode(newPassword);   
 
         userMapper.updatePassword(userId, encodedPassword);
+        userDetailsCache.evict(userId);
+        rememberMeTokenStore.removeUserTokens(userId);
         
         logger.info("비밀번호 초기화 완료 - userId: {}", userId);
         
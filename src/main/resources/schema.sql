@@ -278,22 +278,79 @@ INSERT INTO common_codes (group_code, code, code_name, sort_order) VALUES
 ('DEPT_TYPE',   'PLAN',  '기획부',       2),
 ('DEPT_TYPE',   'SALES', '영업부',       3);
 
+-- ============================================================
+-- User-Agent 사전 (login_history.ua_id — 수십 종의 500자 문자열을 행마다 반복 저장하지 않도록)
+-- UserAgentDictionary가 처음 보는 문자열만 등록. 유일 키는 문자열 대신 SHA-256(32바이트)
+-- ============================================================
+CREATE TABLE user_agents (
+    ua_id        INT AUTO_INCREMENT PRIMARY KEY,
+    ua_hash      BINARY(32)   NOT NULL COMMENT 'SHA-256(user_agent)',
+    user_agent   VARCHAR(500) NOT NULL COMMENT 'User-Agent (RequestUtils.getUserAgent — 500자 절단)',
+    UNIQUE KEY uk_ua_hash (ua_hash)
+) COMMENT='User-Agent 사전';
+
 -- ============================================================
 -- 로그인 이력 (이벤트 행 단위: LOGIN / LOGIN_FAIL / LOGOUT)
 -- 주의: 세션 타임아웃/강제 만료는 기록되지 않음 (명시적 이벤트만)
+-- 월 단위 RANGE 파티션 (pYYYYMM = 해당 월, pmax = 미래 예비) — LoginHistoryPartitionManager가
+-- 매일 앞으로의 월 파티션을 pmax에서 분할해 만들고 보존 기간이 지난 파티션을 삭제/보관한다.
+-- 파티션 키가 모든 유일 키에 포함되어야 하므로 PK = (history_seq, created_at).
+-- 보조 색인 끝에 history_seq DESC를 명시 — InnoDB가 붙이는 PK 열은 오름차순이라 생략하면
+-- 페이지 정렬(created_at DESC, history_seq DESC)과 어긋나 매 페이지 남은 구간 전체를 filesort 한다.
 -- ============================================================
 CREATE TABLE login_history (
-    history_seq  BIGINT AUTO_INCREMENT PRIMARY KEY,
+    history_seq  BIGINT AUTO_INCREMENT,
     user_id      VARCHAR(20)  NOT NULL COMMENT '사용자 ID (실패 시 시도한 ID — users FK 아님: 미존재 ID 기록 + 사용자 삭제 후 이력 보존)',
     event_type   VARCHAR(20)  NOT NULL COMMENT 'LOGIN / LOGIN_FAIL / LOGOUT',
     fail_reason  VARCHAR(100) NULL COMMENT '실패 사유 (BAD_CREDENTIALS / DISABLED 등 — 미존재 ID는 보안상 BAD_CREDENTIALS로 통합)',
     ip_address   VARCHAR(45)  NULL COMMENT '접속 IP (IPv6 대응 45자)',
-    user_agent   VARCHAR(500) NULL COMMENT 'User-Agent',
+    ua_id        INT          NULL COMMENT 'User-Agent 사전 키 (user_agents — 파티션 테이블은 FK 불가라 참조만)',
     session_id   CHAR(36)     NULL COMMENT '세션 ID (성공 시 — 참고용)',
-    created_at   TIMESTAMP DEFAULT CURRENT_TIMESTAMP COMMENT '발생 시각',
-    INDEX idx_lh_user (user_id, created_at DESC),
-    INDEX idx_lh_created (created_at DESC)
-) COMMENT='로그인 이력';
+    created_at   DATETIME NOT NULL DEFAULT CURRENT_TIMESTAMP COMMENT '발생 시각 (파티션 키 — RANGE COLUMNS는 DATETIME만 가능)',
+    PRIMARY KEY (history_seq, created_at),
+    INDEX idx_lh_user (user_id, created_at DESC, history_seq DESC),
+    INDEX idx_lh_created (created_at DESC, history_seq DESC),
+    INDEX idx_lh_ip (ip_address, event_type) COMMENT 'IP 기준 세션 일괄 강제 만료'
+) COMMENT='로그인 이력'
+PARTITION BY RANGE COLUMNS (created_at) (
+    PARTITION p202609 VALUES LESS THAN ('2026-10-01'),
+    PARTITION p202610 VALUES LESS THAN ('2026-11-01'),
+    PARTITION p202611 VALUES LESS THAN ('2026-12-01'),
+    PARTITION p202612 VALUES LESS THAN ('2027-01-01'),
+    PARTITION pmax VALUES LESS THAN (MAXVALUE)
+);
+
+-- ============================================================
+-- 로그인 통계 롤업 (대시보드 추이 차트 — login_history GROUP BY 대신 읽음)
+-- granularity: H=시간, D=일, W=주(월요일 0시 시작). bucket_start = 구간 시작 시각.
+-- LoginHistoryWriter가 이력을 기록할 때 같은 묶음으로 증분 갱신, 과거분은 LoginStatsService 백필.
+-- ============================================================
+CREATE TABLE login_stats (
+    granularity  CHAR(1)      NOT NULL COMMENT 'H / D / W',
+    bucket_start DATETIME     NOT NULL COMMENT '구간 시작 시각',
+    event_type   VARCHAR(20)  NOT NULL COMMENT 'LOGIN / LOGIN_FAIL / LOGOUT',
+    fail_reason  VARCHAR(100) NOT NULL DEFAULT '' COMMENT '실패 사유 (없으면 빈 문자열 — PK 구성용)',
+    event_count  BIGINT       NOT NULL DEFAULT 0,
+    PRIMARY KEY (granularity, bucket_start, event_type, fail_reason)
+) COMMENT='로그인 이벤트 수 롤업';
+
+-- 구간별 고유 사용자 수 (구간끼리 더할 수 없으므로 구간 단위마다 따로 유지)
+CREATE TABLE login_stats_users (
+    granularity  CHAR(1)     NOT NULL,
+    bucket_start DATETIME    NOT NULL,
+    event_type   VARCHAR(20) NOT NULL,
+    user_count   INT         NOT NULL DEFAULT 0,
+    PRIMARY KEY (granularity, bucket_start, event_type)
+) COMMENT='로그인 고유 사용자 수 롤업';
+
+-- 진행 중인 구간에서 이미 센 사용자 (INSERT IGNORE 영향 행 수 = 새 사용자 수). 닫힌 구간은 주기적으로 삭제
+CREATE TABLE login_stats_user_seen (
+    granularity  CHAR(1)     NOT NULL,
+    bucket_start DATETIME    NOT NULL,
+    event_type   VARCHAR(20) NOT NULL,
+    user_id      VARCHAR(20) NOT NULL,
+    PRIMARY KEY (granularity, bucket_start, event_type, user_id)
+) COMMENT='로그인 고유 사용자 집계용 (진행 중 구간만)';
 
 -- ============================================================
 -- 게시판 정의 (자유게시판/Q&A 등을 데이터로 동적 정의)
@@ -347,6 +404,7 @@ CREATE TABLE SPRING_SESSION (
     MAX_INACTIVE_INTERVAL INT NOT NULL,
     EXPIRY_TIME BIGINT NOT NULL,
     PRINCIPAL_NAME VARCHAR(100),
+    SESSION_VERSION BIGINT NOT NULL DEFAULT 0, -- 속성 변경 버전 (세션 근거리 캐시 재검증용 — Spring Session 표준 외 컬럼)
     CONSTRAINT SPRING_SESSION_PK PRIMARY KEY (PRIMARY_ID)
 );
 
@@ -361,3 +419,20 @@ CREATE TABLE SPRING_SESSION_ATTRIBUTES (
     CONSTRAINT SPRING_SESSION_ATTRIBUTES_PK PRIMARY KEY (SESSION_PRIMARY_ID, ATTRIBUTE_NAME),
     CONSTRAINT SPRING_SESSION_ATTRIBUTES_FK FOREIGN KEY (SESSION_PRIMARY_ID) REFERENCES SPRING_SESSION(PRIMARY_ID) ON DELETE CASCADE
 );
+
+-- Remember-Me 영속 토큰 (token = 쿠키 값의 SHA-256, last_used 기준 만료)
+CREATE TABLE persistent_logins (
+    series VARCHAR(64) NOT NULL PRIMARY KEY COMMENT '기기(브라우저)별 식별자',
+    username VARCHAR(50) NOT NULL COMMENT '사용자 ID',
+    token VARCHAR(64) NOT NULL COMMENT '토큰 해시',
+    last_used TIMESTAMP NOT NULL COMMENT '최근 사용 일시',
+    INDEX idx_pl_username (username),
+    INDEX idx_pl_last_used (last_used)
+) COMMENT='Remember-Me 영속 토큰';
+
+-- 배치 작업 노드 간 잠금 (임대 방식 — 만료 세션 정리 등 @Scheduled 작업의 중복 실행 방지)
+CREATE TABLE job_locks (
+    lock_name VARCHAR(64) NOT NULL PRIMARY KEY COMMENT '작업 이름',
+    owner VARCHAR(128) NULL COMMENT '보유 노드',
+    locked_until TIMESTAMP(3) NOT NULL COMMENT '임대 만료 시각'
+) COMMENT='배치 작업 잠금';
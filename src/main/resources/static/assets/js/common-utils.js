@@ -307,7 +307,10 @@ window.apiRequest = async function(url, options = {}) {
             
             if (status === 401) {
                 showError('인증이 필요합니다. 다시 로그인해주세요.');
-                // 로그인 페이지로 리다이렉트 로직 추가 가능
+                // iframe 탭이면 메인 창이 세션 상태를 확인해 로그인 화면으로 보낸다 (session-events.js)
+                if (window.top !== window && window.top.sessionEvents) {
+                    window.top.sessionEvents.verify();
+                }
             } else if (status === 403) {
                 showError('권한이 없습니다.');
             } else if (status === 404) {
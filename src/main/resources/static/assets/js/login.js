@@ -20,6 +20,9 @@ const passwordError = document.getElementById('passwordError');
 
 // 그룹 표시명은 서버(/api/auth/user 응답의 primaryGroupName)가 단일 소스 — JS 하드코딩 맵 제거
 
+// 로그인 응답에 함께 받을 공통코드 enum 그룹 — 메인 화면(menu.js)이 window.commonCodeEnums로 보관
+const BOOTSTRAP_ENUM_GROUPS = ['GROUP_LEVEL'];
+
 // 초기화
 document.addEventListener('DOMContentLoaded', function() {
     initializeLoginPage();
@@ -128,67 +131,51 @@ async function authenticateUser(userId, password) {
         if (rememberMeCheckbox.checked) {
             formData.append('remember-me', 'on');
         }
+        formData.append('enums', BOOTSTRAP_ENUM_GROUPS.join(','));
         
+        // JSON 로그인 — 성공 시 응답 본문에 사용자/메뉴/enum 부트스트랩이 함께 온다 (추가 왕복 없음)
         const response = await fetch('/api/auth/login', {
             method: 'POST',
             body: formData,
+            headers: { 'Accept': 'application/json' },
             credentials: 'same-origin' // 세션 쿠키 포함
         });
         
+        // 서버 혼잡(해시 풀 포화)
+        if (response.status === 503) {
+            return {
+                success: false,
+                error: '접속자가 많아 로그인이 지연되고 있습니다. 잠시 후 다시 시도해주세요.'
+            };
+        }
+
+        // 로그인 시도 제한
+        if (response.status === 429) {
+            return {
+                success: false,
+                error: '로그인 시도가 너무 많습니다. 잠시 후 다시 시도해주세요.'
+            };
+        }
+
         if (response.ok) {
-            // 로그인 성공 시 사용자 정보 가져오기
-            console.log('로그인 성공, 사용자 정보 요청 중...');
-            
-            const userInfoResponse = await fetch('/api/auth/user', {
-                method: 'GET',
-                credentials: 'same-origin'
-            });
-            
-            console.log('사용자 정보 응답 상태:', userInfoResponse.status);
-            
-            if (userInfoResponse.ok) {
-                try {
-                    const userInfo = await userInfoResponse.json();
-                    console.log('사용자 정보:', userInfo);
-                    // DB 컬럼 role -> group_id 변경에 따른 처리
-                    return { 
-                        success: true, 
-                        user: userInfo 
-                    };
-                } catch (jsonError) {
-                    console.error('사용자 정보 JSON 파싱 에러:', jsonError);
-                    const responseText = await userInfoResponse.text();
-                    console.error('응답 내용:', responseText);
-                    
-                    // JSON 파싱 실패 시 기본 정보 사용
-                    return { 
-                        success: true, 
-                        user: { 
-                            userId: userId, 
-                            name: userId,
-                            primaryGroupName: '',
-                            department: ''
-                        } 
-                    };
+            // 표준 ApiResponse {success, message, data} — data = {user, menus, enums, redirect}
+            const body = await response.json();
+            const bootstrap = body.data || {};
+
+            // 메인 화면(menu.js)이 첫 로드에 1회 사용
+            sessionStorage.setItem('worksystem.bootstrap', JSON.stringify(bootstrap));
+
+            return {
+                success: true,
+                user: bootstrap.user || {
+                    userId: userId,
+                    name: userId,
+                    primaryGroupName: '',
+                    department: ''
                 }
-            } else {
-                console.error('사용자 정보 요청 실패, 상태:', userInfoResponse.status);
-                const errorText = await userInfoResponse.text();
-                console.error('에러 응답:', errorText);
-                
-                // 사용자 정보를 가져올 수 없는 경우 기본 정보 사용
-                return { 
-                    success: true, 
-                        user: { 
-                            userId: userId, 
-                            name: userId,
-                            primaryGroupName: '',
-                            department: ''
-                        } 
-                };
-            }
+            };
         } else {
-            // 로그인 실패
+            // 로그인 실패 (401)
             return {
                 success: false,
                 error: '아이디 또는 비밀번호가 올바르지 않습니다.'
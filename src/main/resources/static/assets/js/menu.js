@@ -3,8 +3,28 @@
 // 메뉴 정보 저장 변수 - API에서 로드됨
 window.menuItems = [];
 
+// 로그인 응답에 담겨 온 공통코드 enum {그룹코드: {code:[], text:[]}} — 없으면 빈 객체
+window.commonCodeEnums = {};
+
 // 메뉴 API에서 데이터 로드
 async function loadMenusFromAPI() {
+    // 직전 JSON 로그인 응답에 담겨 온 메뉴가 있으면 API 호출 없이 사용 (1회성)
+    const bootstrap = sessionStorage.getItem('worksystem.bootstrap');
+    if (bootstrap) {
+        sessionStorage.removeItem('worksystem.bootstrap');
+        try {
+            const data = JSON.parse(bootstrap);
+            window.commonCodeEnums = data.enums || {};
+            const menus = data.menus;
+            if (Array.isArray(menus)) {
+                window.menuItems = convertAPIMenusToFormat(menus);
+                return true;
+            }
+        } catch (e) {
+            console.warn('로그인 부트스트랩 메뉴 파싱 실패 — API로 조회:', e);
+        }
+    }
+
     try {
         const response = await fetch('/api/menus/user-accessible');
         if (response.ok) {
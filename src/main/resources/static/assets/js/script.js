@@ -388,6 +388,9 @@ function cleanupPageResources(contentId) {
 
 // 로그아웃 함수
 async function logout() {
+    if (window.sessionEvents) {
+        window.sessionEvents.close();
+    }
     try {
         await axios.post('/api/auth/logout');
         window.location.href = '/login.html';
@@ -0,0 +1,96 @@
+// session-events.js - 세션 이벤트 스트림(SSE) 구독 (메인 창 전용, 창마다 연결 1개)
+//
+// 서버(/api/session-events)가 보내는 이벤트
+// - session-expired     : 세션 만료/강제 만료/로그아웃 → 안내 후 로그인 화면으로 (iframe 탭 포함 창 전체)
+// - permissions-changed : 메뉴 권한 변경 → 사이드바 메뉴 다시 로드
+// 연결이 끊기면 브라우저가 자동 재연결한다. 재연결이 거절되면(로그인 페이지로 리다이렉트 등) 세션 상태를 직접 확인한다.
+
+(function () {
+    let source = null;
+    let closedByUser = false;
+    let handled = false;
+
+    function connect() {
+        if (!window.EventSource || source) {
+            return;
+        }
+        source = new EventSource('/api/session-events');
+
+        source.addEventListener('session-expired', function (event) {
+            let reason = 'expired';
+            try {
+                reason = JSON.parse(event.data).reason || reason;
+            } catch (e) {
+                // 형식이 다르면 기본 문구
+            }
+            handleExpired(reason);
+        });
+
+        source.addEventListener('permissions-changed', function () {
+            console.log('권한 변경 알림 수신 - 메뉴 다시 로드');
+            if (typeof window.refreshMenus === 'function') {
+                window.refreshMenus();
+            }
+        });
+
+        source.onerror = function () {
+            // CONNECTING이면 브라우저가 재연결 중 — CLOSED면 재연결이 거절된 것
+            if (source && source.readyState === EventSource.CLOSED) {
+                source = null;
+                verifySession();
+            }
+        };
+    }
+
+    // 세션이 살아 있으면 잠시 후 다시 연결, 아니면 만료 처리
+    async function verifySession() {
+        if (closedByUser || handled) {
+            return;
+        }
+        try {
+            const response = await fetch('/api/auth/user', {
+                headers: { 'Accept': 'application/json' },
+                credentials: 'same-origin'
+            });
+            const data = response.ok ? await response.json() : null;
+            if (response.status === 401 || (data && data.authenticated === false)) {
+                handleExpired('expired');
+                return;
+            }
+        } catch (e) {
+            // 네트워크 오류 — 서버 복구 후 재시도
+        }
+        setTimeout(connect, 10000);
+    }
+
+    function handleExpired(reason) {
+        if (closedByUser || handled) {
+            return;
+        }
+        handled = true;
+        close();
+        alert(reason === 'deleted'
+            ? '관리자에 의해 세션이 종료되었거나 다른 곳에서 로그인하여 로그아웃되었습니다.'
+            : '세션이 만료되었습니다. 다시 로그인해주세요.');
+        window.location.href = '/login.html';
+    }
+
+    function close() {
+        if (source) {
+            source.close();
+            source = null;
+        }
+    }
+
+    window.sessionEvents = {
+        // 로그아웃 직전 호출 — 자기 로그아웃으로 인한 만료 알림은 띄우지 않음
+        close: function () {
+            closedByUser = true;
+            close();
+        },
+        // iframe 탭에서 401을 받았을 때 호출 (common-utils.js)
+        verify: verifySession
+    };
+
+    document.addEventListener('DOMContentLoaded', connect);
+})();
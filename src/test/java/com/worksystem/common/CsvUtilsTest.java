@@ -0,0 +1,56 @@
+package com.worksystem.common;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.StringWriter;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * CSV 출력 — RFC 4180 따옴표 처리와 수식 주입 방지 접두어.
+ */
+class CsvUtilsTest {
+
+    private static String row(Object... values) throws IOException {
+        StringWriter out = new StringWriter();
+        CsvUtils.writeRow(out, values);
+        return out.toString();
+    }
+
+    @Test
+    void writesPlainValuesWithCrlf() throws IOException {
+        assertThat(row("admin", 42, "LOGIN")).isEqualTo("admin,42,LOGIN\r\n");
+    }
+
+    @Test
+    void writesNullAsEmptyField() throws IOException {
+        assertThat(row("a", null, "c")).isEqualTo("a,,c\r\n");
+        assertThat(row((Object) null)).isEqualTo("\r\n");
+    }
+
+    @Test
+    void quotesSeparatorsQuotesAndLineBreaks() throws IOException {
+        assertThat(row("a,b")).isEqualTo("\"a,b\"\r\n");
+        assertThat(row("say \"hi\"")).isEqualTo("\"say \"\"hi\"\"\"\r\n");
+        assertThat(row("line1\nline2")).isEqualTo("\"line1\nline2\"\r\n");
+        assertThat(row("Mozilla/5.0 (Windows NT 10.0; Win64; x64)")).isEqualTo("Mozilla/5.0 (Windows NT 10.0; Win64; x64)\r\n");
+    }
+
+    @Test
+    void prefixesFormulaLikeValues() throws IOException {
+        assertThat(row("=SUM(A1:A9)")).isEqualTo("'=SUM(A1:A9)\r\n");
+        assertThat(row("+1")).isEqualTo("'+1\r\n");
+        assertThat(row("-2")).isEqualTo("'-2\r\n");
+        assertThat(row("@cmd")).isEqualTo("'@cmd\r\n");
+        assertThat(row("\tx")).isEqualTo("'\tx\r\n");
+        // 접두어를 붙인 뒤에도 따옴표 규칙 적용
+        assertThat(row("=HYPERLINK(\"http://x\",\"y\")")).isEqualTo("\"'=HYPERLINK(\"\"http://x\"\",\"\"y\"\")\"\r\n");
+        assertThat(row("\rx")).isEqualTo("\"'\rx\"\r\n");
+    }
+
+    @Test
+    void leavesInnerFormulaCharactersAlone() throws IOException {
+        assertThat(row("a=b", "user@example.com", "2026-03-01")).isEqualTo("a=b,user@example.com,2026-03-01\r\n");
+    }
+}
@@ -0,0 +1,89 @@
+package com.worksystem.config;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * 로그인 시도 제한 — IP/userId 버킷 소비·거절 순서, 성공 시 초기화, 이상 징후 차단(block).
+ * 보충 간격(window)을 길게 잡아 테스트 중 토큰이 다시 차지 않도록 한다.
+ */
+class LoginThrottleTest {
+
+    private static final long LONG_WINDOW = 3600;
+
+    private static LoginThrottle throttle(int ipCapacity, int userCapacity) {
+        return new LoginThrottle(true, ipCapacity, LONG_WINDOW, userCapacity, LONG_WINDOW, 10_000);
+    }
+
+    @Test
+    void rejectsByIpAfterCapacity() {
+        LoginThrottle throttle = throttle(3, 100);
+
+        for (int i = 0; i < 3; i++) {
+            assertThat(throttle.tryAcquire("10.0.0.1", "user" + i)).isNull();
+        }
+        assertThat(throttle.tryAcquire("10.0.0.1", "other")).isEqualTo(LoginThrottle.Rejection.IP);
+        assertThat(throttle.tryAcquire("10.0.0.2", "other")).isNull();
+    }
+
+    @Test
+    void rejectsByUserAcrossIps() {
+        LoginThrottle throttle = throttle(100, 2);
+
+        assertThat(throttle.tryAcquire("10.0.0.1", "admin")).isNull();
+        assertThat(throttle.tryAcquire("10.0.0.2", "admin")).isNull();
+        assertThat(throttle.tryAcquire("10.0.0.3", "admin")).isEqualTo(LoginThrottle.Rejection.USER);
+        assertThat(throttle.tryAcquire("10.0.0.3", "guest")).isNull();
+    }
+
+    @Test
+    void userKeyIgnoresCaseAndSurroundingBlanks() {
+        LoginThrottle throttle = throttle(100, 1);
+
+        assertThat(throttle.tryAcquire("10.0.0.1", "Admin")).isNull();
+        assertThat(throttle.tryAcquire("10.0.0.1", " admin ")).isEqualTo(LoginThrottle.Rejection.USER);
+    }
+
+    @Test
+    void ipRejectionDoesNotSpendUserToken() {
+        LoginThrottle throttle = throttle(1, 2);
+
+        assertThat(throttle.tryAcquire("10.0.0.1", "admin")).isNull();
+        assertThat(throttle.tryAcquire("10.0.0.1", "admin")).isEqualTo(LoginThrottle.Rejection.IP);
+        assertThat(throttle.tryAcquire("10.0.0.2", "admin")).isNull();
+    }
+
+    @Test
+    void successResetsUserBucket() {
+        LoginThrottle throttle = throttle(100, 1);
+
+        assertThat(throttle.tryAcquire("10.0.0.1", "admin")).isNull();
+        throttle.onSuccess("ADMIN");
+        assertThat(throttle.tryAcquire("10.0.0.1", "admin")).isNull();
+    }
+
+    @Test
+    void blockRejectsIpEvenWithTokensLeft() {
+        LoginThrottle throttle = throttle(100, 100);
+
+        assertThat(throttle.tryAcquire("10.0.0.1", "admin")).isNull();
+        throttle.block("10.0.0.1", 600);
+        assertThat(throttle.tryAcquire("10.0.0.1", "admin")).isEqualTo(LoginThrottle.Rejection.IP);
+        // 처음 보는 IP도 차단하면 바로 거절
+        throttle.block("10.0.0.9", 600);
+        assertThat(throttle.tryAcquire("10.0.0.9", "guest")).isEqualTo(LoginThrottle.Rejection.IP);
+        assertThat(throttle.tryAcquire("10.0.0.2", "admin")).isNull();
+        assertThat(throttle.getStats()).containsEntry("blocks", 2L);
+    }
+
+    @Test
+    void disabledAllowsEverything() {
+        LoginThrottle throttle = new LoginThrottle(false, 1, LONG_WINDOW, 1, LONG_WINDOW, 10_000);
+
+        throttle.block("10.0.0.1", 600);
+        for (int i = 0; i < 5; i++) {
+            assertThat(throttle.tryAcquire("10.0.0.1", "admin")).isNull();
+        }
+    }
+}
@@ -0,0 +1,140 @@
+package com.worksystem.service;
+
+import com.worksystem.config.SessionChangedEvent;
+import com.worksystem.dto.ActiveSessionDTO;
+import com.worksystem.dto.ActiveSessionPageDTO;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.session.FindByIndexNameSessionRepository;
+import org.springframework.session.MapSession;
+import org.springframework.session.events.SessionCreatedEvent;
+import org.springframework.session.events.SessionDeletedEvent;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * 활성 세션 레지스트리 — 이벤트로 쌓은 색인의 최근순 페이지, 사용자/유휴 필터와 건수, 만료 제외·정리.
+ * 세션 저장소/매퍼는 대사(reconcile)에서만 쓰므로 없이 만든다.
+ *
+ * 유휴 판정은 분 단위라 테스트 도중 분이 바뀌면 유휴 시간이 1분 늘 수 있다 —
+ * 세션 간 접근 시각을 3분씩 띄우고 경계에서 먼 값으로 필터해 결과가 달라지지 않게 한다.
+ */
+class ActiveSessionRegistryTest {
+
+    private static final long MINUTE = 60_000L;
+
+    private ActiveSessionRegistry registry;
+    private long now;
+
+    @BeforeEach
+    void setUp() {
+        registry = new ActiveSessionRegistry(null, null);
+        now = System.currentTimeMillis();
+    }
+
+    /** s0..s{count-1} — s{i}는 i*3분 전 접근 (s0이 가장 최근) */
+    private void createSessions(String userId, String prefix, int count) {
+        for (int i = 0; i < count; i++) {
+            registry.onSessionCreated(new SessionCreatedEvent(this,
+                    session(prefix + i, userId, now - i * 3 * MINUTE - 30_000L, Duration.ofHours(1))));
+        }
+    }
+
+    private static MapSession session(String id, String userId, long lastAccess, Duration maxInactive) {
+        MapSession session = new MapSession(id);
+        session.setCreationTime(Instant.ofEpochMilli(lastAccess));
+        session.setLastAccessedTime(Instant.ofEpochMilli(lastAccess));
+        session.setMaxInactiveInterval(maxInactive);
+        if (userId != null) {
+            session.setAttribute(FindByIndexNameSessionRepository.PRINCIPAL_NAME_INDEX_NAME, userId);
+        }
+        return session;
+    }
+
+    private static List<String> ids(ActiveSessionPageDTO page) {
+        return page.getSessions().stream().map(ActiveSessionDTO::getSessionId).toList();
+    }
+
+    @Test
+    void pagesByMostRecentAccess() {
+        createSessions("admin", "s", 5);
+
+        ActiveSessionPageDTO first = registry.query(null, null, 0, 2);
+        assertThat(ids(first)).containsExactly("s0", "s1");
+        assertThat(first.getTotal()).isEqualTo(5L);
+        assertThat(first.getTotalActive()).isEqualTo(5L);
+        assertThat(ids(registry.query(null, null, 1, 2))).containsExactly("s2", "s3");
+        assertThat(ids(registry.query(null, null, 2, 2))).containsExactly("s4");
+        assertThat(ids(registry.query(null, null, 3, 2))).isEmpty();
+    }
+
+    @Test
+    void idleFilterListsAndCountsOlderSessions() {
+        createSessions("admin", "s", 5);
+
+        // s1은 3~5분, s2는 6~8분 유휴
+        ActiveSessionPageDTO page = registry.query(null, 6, 0, 2);
+        assertThat(ids(page)).containsExactly("s2", "s3");
+        assertThat(page.getTotal()).isEqualTo(3L);
+        assertThat(page.getTotalActive()).isEqualTo(5L);
+        assertThat(ids(registry.query(null, 6, 1, 2))).containsExactly("s4");
+        assertThat(registry.query(null, 0, 0, 10).getTotal()).isEqualTo(5L);
+    }
+
+    @Test
+    void userFilterPagesWithinUser() {
+        createSessions("admin", "a", 3);
+        createSessions("guest", "g", 2);
+
+        ActiveSessionPageDTO page = registry.query("admin", null, 1, 2);
+        assertThat(ids(page)).containsExactly("a2");
+        assertThat(page.getTotal()).isEqualTo(3L);
+        assertThat(page.getTotalActive()).isEqualTo(5L);
+
+        ActiveSessionPageDTO idle = registry.query("admin", 6, 0, 10);
+        assertThat(ids(idle)).containsExactly("a2");
+        assertThat(idle.getTotal()).isEqualTo(1L);
+        assertThat(registry.query("nobody", null, 0, 10).getTotal()).isEqualTo(0L);
+    }
+
+    @Test
+    void anonymousSessionsAreNotKept() {
+        registry.onSessionCreated(new SessionCreatedEvent(this, session("anon", null, now, Duration.ofHours(1))));
+
+        assertThat(registry.query(null, null, 0, 10).getTotal()).isEqualTo(0L);
+        assertThat(registry.contains("anon")).isFalse();
+    }
+
+    @Test
+    void destroyAndIdChangeUpdateIndexes() {
+        createSessions("admin", "s", 3);
+
+        registry.onSessionDestroyed(new SessionDeletedEvent(this, new MapSession("s1")));
+        registry.onSessionChanged(new SessionChangedEvent(this,
+                session("s0-new", "admin", now - 30_000L, Duration.ofHours(1)), "s0"));
+
+        assertThat(ids(registry.query(null, null, 0, 10))).containsExactly("s0-new", "s2");
+        assertThat(registry.query("admin", 6, 0, 10).getTotal()).isEqualTo(1L);
+        assertThat(registry.contains("s0")).isFalse();
+        assertThat(registry.contains("s1")).isFalse();
+    }
+
+    @Test
+    void expiredSessionsAreHiddenThenPruned() {
+        createSessions("admin", "s", 2);
+        registry.onSessionCreated(new SessionCreatedEvent(this,
+                session("old", "admin", now - 20 * MINUTE, Duration.ofMinutes(10))));
+
+        assertThat(ids(registry.query(null, null, 0, 10))).containsExactly("s0", "s1");
+        assertThat(registry.contains("old")).isFalse();
+
+        registry.pruneExpired();
+        ActiveSessionPageDTO page = registry.query(null, 6, 0, 10);
+        assertThat(page.getTotal()).isEqualTo(0L);
+        assertThat(page.getTotalActive()).isEqualTo(2L);
+    }
+}
@@ -0,0 +1,104 @@
+package com.worksystem.service;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * 이상 징후 슬라이딩 창 — 버킷 밀어내기, 고유 사용자 수 추정, 유형별 경보 간격.
+ * 버킷 번호는 호출자가 정하므로(nanoTime / bucket) 시간과 무관하게 검증한다.
+ */
+class LoginAnomalyWindowTest {
+
+    @Test
+    void countsFailuresWithinWindow() {
+        LoginAnomalyDetector.Window window = new LoginAnomalyDetector.Window(3, false);
+
+        for (long bucket = 100; bucket <= 102; bucket++) {
+            window.advance(bucket);
+            window.addFailure(bucket, null);
+            window.addFailure(bucket, null);
+        }
+        assertThat(window.failTotal()).isEqualTo(6);
+
+        window.advance(103);   // 100 버킷이 창 밖으로
+        assertThat(window.failTotal()).isEqualTo(4);
+        window.advance(104);
+        assertThat(window.failTotal()).isEqualTo(2);
+    }
+
+    @Test
+    void gapLongerThanWindowClearsEverything() {
+        LoginAnomalyDetector.Window window = new LoginAnomalyDetector.Window(3, true);
+        window.advance(10);
+        window.addFailure(10, "admin");
+
+        window.advance(13);
+
+        assertThat(window.failTotal()).isEqualTo(0);
+        assertThat(window.estimateUsers()).isEqualTo(0);
+    }
+
+    @Test
+    void olderBucketDoesNotRewind() {
+        LoginAnomalyDetector.Window window = new LoginAnomalyDetector.Window(3, false);
+        window.advance(50);
+        window.addFailure(50, null);
+
+        window.advance(49);
+        window.advance(50);
+
+        assertThat(window.failTotal()).isEqualTo(1);
+    }
+
+    @Test
+    void estimatesDistinctUsers() {
+        LoginAnomalyDetector.Window window = new LoginAnomalyDetector.Window(6, true);
+        window.advance(0);
+        for (int i = 0; i < 20; i++) {
+            window.addFailure(0, "admin");
+        }
+        assertThat(window.estimateUsers()).isEqualTo(1);
+
+        for (int i = 0; i < 10; i++) {
+            window.addFailure(0, "user" + i);
+        }
+        // 64칸 비트맵 추정 — 해시 충돌로 정확하지 않으므로 범위로 본다
+        assertThat(window.estimateUsers()).isBetween(8, 14);
+    }
+
+    @Test
+    void usersLeaveWithTheirBucket() {
+        LoginAnomalyDetector.Window window = new LoginAnomalyDetector.Window(2, true);
+        window.advance(0);
+        window.addFailure(0, "alice");
+        window.advance(1);
+        window.addFailure(1, "bob");
+        int both = window.estimateUsers();
+
+        window.advance(2);
+
+        assertThat(both).isEqualTo(2);
+        assertThat(window.estimateUsers()).isEqualTo(1);
+    }
+
+    @Test
+    void withoutUserTrackingEstimateIsZero() {
+        LoginAnomalyDetector.Window window = new LoginAnomalyDetector.Window(3, false);
+        window.advance(0);
+        window.addFailure(0, "admin");
+
+        assertThat(window.estimateUsers()).isEqualTo(0);
+    }
+
+    @Test
+    void alertsOncePerWindowPerType() {
+        LoginAnomalyDetector.Window window = new LoginAnomalyDetector.Window(5, true);
+
+        assertThat(window.shouldAlert(0, 100)).isTrue();
+        assertThat(window.shouldAlert(0, 104)).isFalse();
+        assertThat(window.shouldAlert(1, 104)).isTrue();
+        assertThat(window.shouldAlert(0, 105)).isTrue();
+        assertThat(window.shouldAlert(1, 108)).isFalse();
+    }
+}
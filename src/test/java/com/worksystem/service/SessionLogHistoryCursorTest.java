@@ -0,0 +1,74 @@
+package com.worksystem.service;
+
+import com.worksystem.dto.LoginHistoryDTO;
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.Base64;
+import java.util.HashMap;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * 로그인 이력 keyset 커서 — (created_at, history_seq) 왕복과 URL 안전 형식, 잘못된 커서 거절(400).
+ */
+class SessionLogHistoryCursorTest {
+
+    private static Map<String, Object> roundTrip(LocalDateTime createdAt, long historySeq) {
+        String cursor = SessionLogService.encodeHistoryCursor(LoginHistoryDTO.builder()
+                .createdAt(createdAt)
+                .historySeq(historySeq)
+                .build());
+        Map<String, Object> params = new HashMap<>();
+        SessionLogService.decodeHistoryCursor(cursor, params);
+        return params;
+    }
+
+    private static String encode(String raw) {
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    @Test
+    void roundTripsTimeAndSequence() {
+        LocalDateTime createdAt = LocalDateTime.of(2026, 3, 1, 9, 15, 42, 123_000_000);
+
+        Map<String, Object> params = roundTrip(createdAt, 9_876_543_210L);
+
+        assertThat(params).containsEntry("cursorTime", createdAt);
+        assertThat(params).containsEntry("cursorSeq", 9_876_543_210L);
+    }
+
+    @Test
+    void roundTripsWholeMinute() {
+        // LocalDateTime.toString은 0초를 생략한다 ("2026-03-01T09:15")
+        LocalDateTime createdAt = LocalDateTime.of(2026, 3, 1, 9, 15);
+
+        assertThat(roundTrip(createdAt, 1L)).containsEntry("cursorTime", createdAt);
+    }
+
+    @Test
+    void cursorIsUrlSafe() {
+        String cursor = SessionLogService.encodeHistoryCursor(LoginHistoryDTO.builder()
+                .createdAt(LocalDateTime.of(2026, 12, 31, 23, 59, 59, 999_999_000))
+                .historySeq(Long.MAX_VALUE)
+                .build());
+
+        assertThat(cursor).doesNotContain("+", "/", "=");
+    }
+
+    @Test
+    void rejectsMalformedCursors() {
+        for (String cursor : new String[] {
+                "not base64!",
+                encode("2026-03-01T09:15:42"),
+                encode("yesterday|1"),
+                encode("2026-03-01T09:15:42|abc")}) {
+            assertThatThrownBy(() -> SessionLogService.decodeHistoryCursor(cursor, new HashMap<>()))
+                    .isInstanceOf(IllegalArgumentException.class)
+                    .hasMessage("잘못된 커서입니다.");
+        }
+    }
+}
@@ -0,0 +1,108 @@
+package com.worksystem.service;
+
+import com.worksystem.dto.LoginHistoryDTO;
+import com.worksystem.mapper.SessionLogMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.mybatis.spring.boot.test.autoconfigure.MybatisTest;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * 로그인 이력 페이지 조회 실행 계획 — 검색 방식별 색인 선택과 filesort 없음(색인 순서로 limit에서 멈춤)을 EXPLAIN으로 확인.
+ * schema.sql이 적용된 MySQL 필요 (application.properties 접속 정보, ./gradlew mysqlTest). 넣은 행은 롤백된다.
+ */
+@Tag("mysql")
+@MybatisTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+class SessionLogHistoryPlanTest {
+
+    private static final String USER = "plan-test-user";
+
+    @Autowired
+    private SessionLogMapper sessionLogMapper;
+
+    @BeforeEach
+    void insertRows() {
+        List<LoginHistoryDTO> rows = new ArrayList<>();
+        LocalDateTime now = LocalDateTime.now().withNano(0);
+        for (int i = 0; i < 50; i++) {
+            rows.add(LoginHistoryDTO.builder()
+                    .userId(i % 2 == 0 ? USER : "plan-other-" + i)
+                    .eventType("LOGIN")
+                    .ipAddress("10.0.0." + i)
+                    .createdAt(now.minusMinutes(i % 10))   // 같은 시각 여러 행 — history_seq 이어 읽기
+                    .build());
+        }
+        sessionLogMapper.insertHistoryBatch(rows);
+    }
+
+    @Test
+    void exactUsesUserIndexWithoutFilesort() {
+        Map<String, Object> plan = plan(SessionLogService.UserMatch.EXACT, false);
+        assertThat(plan.get("key")).isEqualTo("idx_lh_user");
+        assertNoFilesort(plan);
+    }
+
+    @Test
+    void exactNextPageUsesUserIndexWithoutFilesort() {
+        Map<String, Object> plan = plan(SessionLogService.UserMatch.EXACT, true);
+        assertThat(plan.get("key")).isEqualTo("idx_lh_user");
+        assertNoFilesort(plan);
+    }
+
+    @Test
+    void containsUsesCreatedIndexWithoutFilesort() {
+        Map<String, Object> plan = plan(SessionLogService.UserMatch.CONTAINS, true);
+        assertThat(plan.get("key")).isEqualTo("idx_lh_created");
+        assertNoFilesort(plan);
+    }
+
+    @Test
+    void noUserFilterUsesCreatedIndexWithoutFilesort() {
+        Map<String, Object> params = SessionLogService.historyParams(null, SessionLogService.UserMatch.EXACT, null, null);
+        params.put("cursorTime", LocalDateTime.now());
+        params.put("cursorSeq", Long.MAX_VALUE);
+        params.put("limit", 101);
+        Map<String, Object> plan = historyTable(sessionLogMapper.explainHistory(params));
+        assertThat(plan.get("key")).isEqualTo("idx_lh_created");
+        assertNoFilesort(plan);
+    }
+
+    @Test
+    void prefixUsesUserIndexRange() {
+        // 여러 사용자에 걸친 범위라 정렬은 filesort (일치하는 사용자 행만 읽음)
+        Map<String, Object> plan = plan(SessionLogService.UserMatch.PREFIX, false);
+        assertThat(plan.get("key")).isEqualTo("idx_lh_user");
+    }
+
+    private Map<String, Object> plan(SessionLogService.UserMatch match, boolean withCursor) {
+        String userId = match == SessionLogService.UserMatch.EXACT ? USER : "plan-test";
+        Map<String, Object> params = SessionLogService.historyParams(userId, match, null, null);
+        if (withCursor) {
+            params.put("cursorTime", LocalDateTime.now());
+            params.put("cursorSeq", Long.MAX_VALUE);
+        }
+        params.put("limit", 101);
+        return historyTable(sessionLogMapper.explainHistory(params));
+    }
+
+    private static Map<String, Object> historyTable(List<Map<String, Object>> explain) {
+        return explain.stream()
+                .filter(row -> "h".equals(row.get("table")))
+                .findFirst()
+                .orElseThrow(() -> new AssertionError("login_history 행이 없는 실행 계획: " + explain));
+    }
+
+    private static void assertNoFilesort(Map<String, Object> plan) {
+        assertThat(String.valueOf(plan.get("Extra"))).doesNotContain("Using filesort");
+    }
+}